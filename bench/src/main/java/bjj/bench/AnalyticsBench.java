@@ -0,0 +1,71 @@
+package bjj.bench;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.Move;
+import bjj.engine.Analytics;
+import bjj.engine.Outcome;
+import bjj.engine.SessionCursor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyticsBench {
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        Analytics analytics;
+        Move[] moves;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            analytics = new Analytics();
+            moves = new JsonMoveCatalog().all().toArray(new Move[0]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Local {
+        Analytics analytics;
+        SessionCursor cursor;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            analytics = new Analytics();
+            cursor = new SessionCursor();
+        }
+
+        int next(int bound) {
+            next = next + 1 == bound ? 0 : next + 1;
+            return next;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordSingleThread(Shared shared, Local local) {
+        int i = local.next(shared.moves.length);
+        local.analytics.onStep(shared.moves[i], OUTCOMES[i & 3], 1_000L + i, local.cursor);
+    }
+
+    // All threads hit one instance: measures contention on the shared counters.
+    @Benchmark
+    @Threads(4)
+    public void recordContended(Shared shared, Local local) {
+        int i = local.next(shared.moves.length);
+        shared.analytics.onStep(shared.moves[i], OUTCOMES[i & 3], 1_000L + i, local.cursor);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordPerThread(Shared shared, Local local) {
+        int i = local.next(shared.moves.length);
+        local.analytics.onStep(shared.moves[i], OUTCOMES[i & 3], 1_000L + i, local.cursor);
+    }
+}
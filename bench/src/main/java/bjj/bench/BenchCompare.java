@@ -0,0 +1,45 @@
+package bjj.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Usage: java -cp target/benchmarks.jar bjj.bench.BenchCompare baseline.json candidate.json
+public final class BenchCompare {
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("usage: BenchCompare <baseline.json> <candidate.json>");
+            return;
+        }
+        Map<String, JsonNode> base = load(args[0]);
+        Map<String, JsonNode> cand = load(args[1]);
+        System.out.printf("%-70s %14s %14s %9s %s\n", "Benchmark", "Baseline", "Candidate", "Delta", "Unit");
+        for (Map.Entry<String, JsonNode> e : cand.entrySet()) {
+            JsonNode b = base.get(e.getKey());
+            double c = e.getValue().path("primaryMetric").path("score").asDouble();
+            String unit = e.getValue().path("primaryMetric").path("scoreUnit").asText();
+            if (b == null) {
+                System.out.printf("%-70s %14s %14.3f %9s %s\n", e.getKey(), "-", c, "new", unit);
+                continue;
+            }
+            double s = b.path("primaryMetric").path("score").asDouble();
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s\n", e.getKey(), s, c, (c - s) / s * 100.0, unit);
+        }
+    }
+
+    private static Map<String, JsonNode> load(String file) throws IOException {
+        Map<String, JsonNode> out = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(new File(file))) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(p -> key.append(' ').append(p.getKey()).append('=')
+                    .append(p.getValue().asText()));
+            key.append(" t").append(run.path("threads").asInt());
+            out.put(key.toString(), run);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,23 @@
+package bjj.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs the suite with the GC/allocation profiler on and JSON results written to
+// target/jmh-result.json (override with -rff). -Dbjj.bench.gc=false skips the profiler.
+public final class BenchMain {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder opts = new OptionsBuilder()
+                .parent(cli)
+                .resultFormat(cli.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(cli.getResult().orElse("target/jmh-result.json"));
+        if (Boolean.parseBoolean(System.getProperty("bjj.bench.gc", "true")))
+            opts.addProfiler(GCProfiler.class);
+        new Runner(opts.build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package bjj.bench;
+
+import bjj.data.BinaryCatalog;
+import bjj.data.JsonMoveCatalog;
+import bjj.data.MappedMoveCatalog;
+import bjj.data.MoveCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// "cold" forks a fresh JVM per measurement and times the very first construction,
+// which is what a short-lived worker pays; "warm" is steady state after JIT.
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CatalogLoadBench {
+
+    // Only the mapped benchmarks use this state, so the JSON cold runs stay cold.
+    @State(Scope.Benchmark)
+    public static class Compiled {
+        Path file;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            file = Files.createTempFile("bjj-moves", ".bin");
+            BinaryCatalog.write(new JsonMoveCatalog(), file);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(20)
+    public MoveCatalog jsonCold() {
+        return new JsonMoveCatalog();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public MoveCatalog jsonWarm() {
+        return new JsonMoveCatalog();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(20)
+    public MoveCatalog mappedCold(Compiled compiled) {
+        return new MappedMoveCatalog(compiled.file);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public MoveCatalog mappedWarm(Compiled compiled) {
+        return new MappedMoveCatalog(compiled.file);
+    }
+}
@@ -0,0 +1,135 @@
+package bjj.bench;
+
+import bjj.catalog.CatalogGenerator;
+import bjj.catalog.MoveCatalogLoader;
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.ControlFlag;
+import bjj.domain.Position;
+import bjj.domain.State;
+import bjj.engine.LogHistogram;
+import bjj.engine.MoveIndex;
+import bjj.engine.Simulator;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// One-shot scale table: for each catalog size, file size, load time and peak heap
+// for the DTO-tree path (parse + validate + construct) and the streaming path,
+// index build time, eligibleMoves latency percentiles and retained heap per move
+// (catalog + index, measured as the heap delta after full GCs). Sizes that do not
+// fit the heap are reported as such rather than aborting the run.
+//   java -Xmx8g -cp bench/target/benchmarks.jar bjj.bench.CatalogScale 1000 10000 100000 1000000
+public final class CatalogScale {
+    private static final int LOOKUPS = 200_000;
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = args.length == 0 ? new int[] {1_000, 10_000, 100_000, 1_000_000}
+                : java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        System.out.printf("Max heap %d MB%n", Runtime.getRuntime().maxMemory() >> 20);
+        System.out.printf("%9s %8s %9s %9s %9s %9s %9s %8s %8s %8s %10s%n", "moves", "file MB", "tree ms",
+                "tree pk", "strm ms", "strm pk", "index ms", "elig p50", "elig p99", "fan-out", "bytes/move");
+        for (int size : sizes) {
+            try {
+                row(size);
+            } catch (OutOfMemoryError e) {
+                System.out.printf("%9d  out of memory at -Xmx%dm%n", size, Runtime.getRuntime().maxMemory() >> 20);
+            }
+        }
+    }
+
+    private static void row(int size) throws IOException {
+        Path file = Files.createTempFile("bjj-scale", ".json");
+        try {
+            CatalogGenerator.write(CatalogGenerator.generate(size, 7L), file);
+            long before = usedAfterGc();
+
+            resetPeaks();
+            long t0 = System.nanoTime();
+            MoveCatalogLoader.Catalog cat = MoveCatalogLoader.load(file);
+            MoveCatalogLoader.validate(cat);
+            JsonMoveCatalog tree = new JsonMoveCatalog(cat);
+            long t1 = System.nanoTime();
+            long treePeak = peakHeap() - before;
+            cat = null;
+            tree = null;
+
+            usedAfterGc();
+            resetPeaks();
+            long t2 = System.nanoTime();
+            JsonMoveCatalog catalog = new JsonMoveCatalog(file);
+            long t3 = System.nanoTime();
+            long streamPeak = peakHeap() - before;
+            MoveIndex index = new MoveIndex(catalog.all());
+            long t4 = System.nanoTime();
+
+            Simulator sim = new Simulator(index);
+            State[] states = probeStates();
+            LogHistogram latency = new LogHistogram();
+            long fanOut = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                State s = states[i % states.length];
+                long s0 = System.nanoTime();
+                int n = sim.eligibleMoves(s).size();
+                latency.record(System.nanoTime() - s0);
+                fanOut += n;
+            }
+            long retained = usedAfterGc() - before;
+
+            System.out.printf("%9d %8.1f %9.1f %9.1f %9.1f %9.1f %9.1f %8d %8d %8.0f %10.0f%n", size,
+                    Files.size(file) / 1e6, (t1 - t0) / 1e6, treePeak / 1e6, (t3 - t2) / 1e6, streamPeak / 1e6,
+                    (t4 - t3) / 1e6, latency.percentile(0.50), latency.percentile(0.99), fanOut / (double) LOOKUPS,
+                    retained / (double) size);
+            // Keep the catalog reachable until after the heap measurement.
+            if (catalog.all().isEmpty() || index.size() != size)
+                throw new IllegalStateException("catalog lost moves");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Every position, bare and with the flag combinations generated moves are gated on.
+    static State[] probeStates() {
+        List<Set<ControlFlag>> flagSets = List.of(Set.of(), EnumSet.of(ControlFlag.COLLAR_GRIP, ControlFlag.SLEEVE_GRIP),
+                EnumSet.of(ControlFlag.UNDERHOOK, ControlFlag.CROSSFACE),
+                EnumSet.of(ControlFlag.HOOKS_IN, ControlFlag.SEATBELT), EnumSet.of(ControlFlag.KNEE_SHIELD));
+        List<State> states = new ArrayList<>();
+        for (Position p : Position.values()) {
+            for (Set<ControlFlag> f : flagSets)
+                states.add(new State(p, f, 0L, 0.0));
+        }
+        return states.toArray(State[]::new);
+    }
+
+    private static void resetPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP)
+                pool.resetPeakUsage();
+        }
+    }
+
+    // Sum of per-pool peaks: an upper bound on the true peak, as pools peak at different times.
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP)
+                peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    private static long usedAfterGc() {
+        MemoryMXBean mem = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return mem.getHeapMemoryUsage().getUsed();
+    }
+}
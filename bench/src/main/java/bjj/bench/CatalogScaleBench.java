@@ -0,0 +1,92 @@
+package bjj.bench;
+
+import bjj.catalog.CatalogGenerator;
+import bjj.catalog.MoveCatalogLoader;
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.Move;
+import bjj.engine.MoveIndex;
+import bjj.engine.Simulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Catalog handling at generated sizes. Memory per move and a one-shot break-point
+// table come from CatalogScale; this gives the steady-state timings behind it.
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CatalogScaleBench {
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int moves;
+
+    private MoveCatalogLoader.Catalog catalog;
+    private Path file;
+    private Simulator sim;
+    private bjj.domain.State[] states;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        catalog = CatalogGenerator.generate(moves, 7L);
+        file = Files.createTempFile("bjj-scale", ".json");
+        CatalogGenerator.write(catalog, file);
+        sim = new Simulator(new MoveIndex(new JsonMoveCatalog(catalog).all()));
+        states = CatalogScale.probeStates();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public MoveCatalogLoader.Catalog parse() throws IOException {
+        return MoveCatalogLoader.load(file);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public MoveCatalogLoader.Catalog validate() {
+        MoveCatalogLoader.validate(catalog);
+        return catalog;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public JsonMoveCatalog construct() {
+        return new JsonMoveCatalog(catalog);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public JsonMoveCatalog streamingLoad() {
+        return new JsonMoveCatalog(file);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public List<Move> eligibleMoves() {
+        bjj.domain.State s = states[next];
+        next = next + 1 == states.length ? 0 : next + 1;
+        return sim.eligibleMoves(s);
+    }
+}
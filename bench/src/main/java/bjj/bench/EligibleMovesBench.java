@@ -0,0 +1,75 @@
+package bjj.bench;
+
+import bjj.domain.ControlFlag;
+import bjj.domain.Move;
+import bjj.domain.Position;
+import bjj.engine.MoveIndex;
+import bjj.engine.Simulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EligibleMovesBench {
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    public int moves;
+
+    private List<Move> all;
+    private MoveIndex index;
+    private Simulator sim;
+    private bjj.domain.State[] states;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        all = SyntheticMoves.generate(moves, 7L);
+        index = new MoveIndex(all);
+        sim = new Simulator(index);
+        Position[] positions = Position.values();
+        states = new bjj.domain.State[positions.length * 2];
+        for (int i = 0; i < positions.length; i++) {
+            states[2 * i] = new bjj.domain.State(positions[i], Set.of(), 0L, 0.0);
+            states[2 * i + 1] = new bjj.domain.State(positions[i],
+                    EnumSet.of(ControlFlag.UNDERHOOK, ControlFlag.SEATBELT), 0L, 0.0);
+        }
+    }
+
+    private bjj.domain.State nextState() {
+        bjj.domain.State s = states[next];
+        next = next + 1 == states.length ? 0 : next + 1;
+        return s;
+    }
+
+    @Benchmark
+    public List<Move> indexed() {
+        return sim.eligibleMoves(nextState());
+    }
+
+    @Benchmark
+    public Move[] indexedArray() {
+        bjj.domain.State s = nextState();
+        return index.eligibleArray(s.position().ordinal(), s.flagMask());
+    }
+
+    @Benchmark
+    public List<Move> linearScan() {
+        return sim.eligibleMoves(nextState(), all);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public MoveIndex buildIndex() {
+        return new MoveIndex(all);
+    }
+}
@@ -0,0 +1,89 @@
+package bjj.bench;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.Move;
+import bjj.domain.Position;
+import bjj.engine.DurationSampler;
+import bjj.engine.Outcome;
+import bjj.engine.Probability;
+import bjj.engine.SessionCursor;
+import bjj.engine.SimParams;
+import bjj.engine.Simulator;
+import bjj.engine.StepResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StepBench {
+    @Param({ "0", "60" })
+    public int fatigue;
+
+    private Simulator sim;
+    private SimParams params;
+    private Move[] moves;
+    private int[] ordinals;
+    private SplittableRandom rng;
+    private SessionCursor cursor;
+    private bjj.domain.State state;
+    private int next;
+    private double x;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sim = new Simulator(new JsonMoveCatalog());
+        params = new SimParams(60, new SimParams(0).skillByFamily(), fatigue);
+        List<Move> all = List.copyOf(sim.index().eligible(Position.CLOSED_GUARD_BOTTOM, 0L));
+        moves = all.toArray(new Move[0]);
+        ordinals = sim.index().eligibleOrdinals(Position.CLOSED_GUARD_BOTTOM.ordinal(), 0L);
+        rng = new SplittableRandom(42);
+        cursor = new SessionCursor();
+        state = new bjj.domain.State(Position.CLOSED_GUARD_BOTTOM, Set.of(), 0L, 0.3);
+    }
+
+    private Move nextMove() {
+        Move m = moves[next];
+        next = next + 1 == moves.length ? 0 : next + 1;
+        return m;
+    }
+
+    // Cursor is rewound each call so every step starts from the same position.
+    @Benchmark
+    public Outcome advance() {
+        cursor.load(state);
+        return sim.advance(cursor, nextMove(), params, rng);
+    }
+
+    @Benchmark
+    public StepResult stepWithState() {
+        return sim.step(state, nextMove(), params, rng);
+    }
+
+    @Benchmark
+    public double sigmoid() {
+        x += 0.001;
+        if (x > 8.0)
+            x = -8.0;
+        return Probability.sigmoid(x);
+    }
+
+    @Benchmark
+    public long triangular() {
+        Move m = nextMove();
+        return DurationSampler.triangular(rng, m.minMs(), m.typMs(), m.maxMs());
+    }
+
+    @Benchmark
+    public long durationTable() {
+        next = next + 1 == moves.length ? 0 : next + 1;
+        return sim.index().durations().sample(ordinals[next], rng);
+    }
+}
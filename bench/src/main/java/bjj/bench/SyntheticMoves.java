@@ -0,0 +1,29 @@
+package bjj.bench;
+
+import bjj.domain.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+final class SyntheticMoves {
+    static List<Move> generate(int count, long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        Position[] positions = Position.values();
+        MoveFamily[] families = MoveFamily.values();
+        ControlFlag[] flags = ControlFlag.values();
+        List<Move> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Position from = positions[rng.nextInt(positions.length)];
+            MoveFamily family = families[rng.nextInt(families.length)];
+            Position to = family == MoveFamily.SUBMISSION ? null : positions[rng.nextInt(positions.length)];
+            Set<ControlFlag> required = rng.nextInt(4) == 0 ? Set.of(flags[rng.nextInt(flags.length)]) : Set.of();
+            long min = 1_000L + rng.nextInt(5) * 1_000L;
+            long max = min + rng.nextInt(10) * 1_000L;
+            moves.add(new Move("syn." + i, "Synthetic " + i, from, to, family, rng.nextInt(20, 80), Set.of(),
+                    required, Set.of(), min, (min + max) / 2, max, 10.0, null, 0.0));
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,244 @@
+package bjj.catalog;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Deterministic synthetic catalogs for scale testing. Moves are spread over the
+// positions in fixed proportions (guards and dominant top positions get the widest
+// fan-out, as in real game trees), each position only uses families and targets
+// that make sense from it, and about two in five moves are gated on the grips or
+// hooks that position uses. Same (moves, seed) always gives the same catalog, and
+// every catalog passes MoveCatalogLoader.validate.
+public final class CatalogGenerator {
+    private static final String[] POSITIONS = {
+            "STANDING",
+            "CLOSED_GUARD_TOP", "CLOSED_GUARD_BOTTOM",
+            "OPEN_GUARD_TOP", "OPEN_GUARD_BOTTOM",
+            "HALF_GUARD_TOP", "HALF_GUARD_BOTTOM",
+            "SIDE_CONTROL_TOP", "SIDE_CONTROL_BOTTOM",
+            "MOUNT_TOP", "MOUNT_BOTTOM",
+            "BACK_CONTROL_TOP", "BACK_CONTROL_BOTTOM",
+            "TURTLE_TOP", "TURTLE_BOTTOM",
+            "KNEE_ON_BELLY_TOP", "KNEE_ON_BELLY_BOTTOM",
+            "NORTH_SOUTH_TOP", "NORTH_SOUTH_BOTTOM"
+    };
+    // Relative fan-out per position, in POSITIONS order.
+    private static final int[] WEIGHTS = { 6, 6, 9, 8, 10, 7, 8, 7, 5, 6, 4, 6, 3, 4, 3, 3, 2, 3, 2 };
+
+    private static final String[] GUARD_BOTTOM = { "CLOSED_GUARD_BOTTOM", "OPEN_GUARD_BOTTOM", "HALF_GUARD_BOTTOM" };
+    private static final String[] GUARD_TOP = { "CLOSED_GUARD_TOP", "OPEN_GUARD_TOP", "HALF_GUARD_TOP" };
+    private static final String[] DOMINANT_TOP = {
+            "SIDE_CONTROL_TOP", "MOUNT_TOP", "BACK_CONTROL_TOP", "KNEE_ON_BELLY_TOP", "NORTH_SOUTH_TOP", "TURTLE_TOP" };
+    private static final String[] PASS_TARGETS = { "SIDE_CONTROL_TOP", "KNEE_ON_BELLY_TOP", "MOUNT_TOP", "NORTH_SOUTH_TOP" };
+    private static final String[] ESCAPE_TARGETS = {
+            "CLOSED_GUARD_BOTTOM", "OPEN_GUARD_BOTTOM", "HALF_GUARD_BOTTOM", "TURTLE_BOTTOM", "STANDING" };
+    private static final String[] SWEEP_TARGETS = { "MOUNT_TOP", "SIDE_CONTROL_TOP", "OPEN_GUARD_TOP", "HALF_GUARD_TOP" };
+
+    private static final String[] GI_GRIPS = { "COLLAR_GRIP", "SLEEVE_GRIP" };
+    private static final String[] GUARD_FLAGS = { "COLLAR_GRIP", "SLEEVE_GRIP", "KNEE_SHIELD", "UNDERHOOK" };
+    private static final String[] TOP_FLAGS = { "UNDERHOOK", "CROSSFACE", "COLLAR_GRIP" };
+    private static final String[] BACK_FLAGS = { "HOOKS_IN", "SEATBELT", "COLLAR_GRIP" };
+    private static final String[] ALL_FLAGS = {
+            "UNDERHOOK", "CROSSFACE", "HOOKS_IN", "SEATBELT", "KNEE_SHIELD", "COLLAR_GRIP", "SLEEVE_GRIP" };
+
+    private static final String[] VARIANTS = {
+            "Classic", "Tight", "Leg Drag", "Over-Under", "Stack", "Float", "Long Step", "Rolling",
+            "Lasso", "Spider", "De La Riva", "X", "Z", "Reverse", "Kimura Trap", "Far Side" };
+    private static final String[] BASES_ENTRY = { "Double Leg", "Single Leg", "Guard Pull", "Ankle Pick", "Body Lock" };
+    private static final String[] BASES_PASS = { "Knee Cut", "Toreando", "Smash", "Over-Under Pass", "X Pass" };
+    private static final String[] BASES_SWEEP = { "Scissor", "Hip Bump", "Flower", "Tripod", "Butterfly", "Old School" };
+    private static final String[] BASES_ESCAPE = { "Elbow Escape", "Bridge", "Shrimp", "Granby Roll", "Reguard" };
+    private static final String[] BASES_TRANSITION = { "Step Over", "Switch", "Take the Back", "Knee Slide", "Spin" };
+    private static final String[] BASES_SUBMISSION = { "Armbar", "Triangle", "Kimura", "Choke", "Americana", "Heel Hook" };
+
+    private CatalogGenerator() {
+    }
+
+    public static MoveCatalogLoader.Catalog generate(int moves, long seed) {
+        if (moves < 1)
+            throw new IllegalArgumentException("moves must be positive");
+        SplittableRandom rng = new SplittableRandom(seed);
+        MoveCatalogLoader.Catalog cat = new MoveCatalogLoader.Catalog();
+        cat.version = "synthetic-" + moves + "-" + seed;
+        cat.moves = new ArrayList<>(moves);
+        int[] perPosition = apportion(moves);
+        int id = 0;
+        for (int p = 0; p < POSITIONS.length; p++) {
+            for (int k = 0; k < perPosition[p]; k++)
+                cat.moves.add(move(POSITIONS[p], id++, rng));
+        }
+        return cat;
+    }
+
+    public static void write(MoveCatalogLoader.Catalog cat, Path out) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        try (OutputStream os = Files.newOutputStream(out)) {
+            mapper.writeValue(os, cat);
+        }
+    }
+
+    // Largest-remainder split of `moves` by WEIGHTS, so fan-out is exact at every size.
+    static int[] apportion(int moves) {
+        int total = 0;
+        for (int w : WEIGHTS)
+            total += w;
+        int[] counts = new int[WEIGHTS.length];
+        long[] remainder = new long[WEIGHTS.length];
+        int assigned = 0;
+        for (int i = 0; i < WEIGHTS.length; i++) {
+            long share = (long) moves * WEIGHTS[i];
+            counts[i] = (int) (share / total);
+            remainder[i] = share % total;
+            assigned += counts[i];
+        }
+        while (assigned < moves) {
+            int best = 0;
+            for (int i = 1; i < WEIGHTS.length; i++) {
+                if (remainder[i] > remainder[best])
+                    best = i;
+            }
+            counts[best]++;
+            remainder[best] = -1;
+            assigned++;
+        }
+        return counts;
+    }
+
+    private static MoveCatalogLoader.MoveDTO move(String from, int id, SplittableRandom rng) {
+        String family = family(from, rng);
+        String[] bases = switch (family) {
+            case "ENTRY" -> BASES_ENTRY;
+            case "PASS" -> BASES_PASS;
+            case "SWEEP" -> BASES_SWEEP;
+            case "ESCAPE" -> BASES_ESCAPE;
+            case "TRANSITION" -> BASES_TRANSITION;
+            default -> BASES_SUBMISSION;
+        };
+        String base = pick(bases, rng);
+        String variant = pick(VARIANTS, rng);
+
+        MoveCatalogLoader.MoveDTO m = new MoveCatalogLoader.MoveDTO();
+        m.id = family.toLowerCase(Locale.ROOT) + "." + slug(base) + "." + slug(variant) + "." + id;
+        m.name = variant + " " + base;
+        m.family = family;
+        m.from = from;
+        m.prob = new MoveCatalogLoader.Prob();
+        m.prob.success = round(0.15 + 0.7 * (rng.nextDouble() + rng.nextDouble()) / 2);
+        m.prob.partial = round(rng.nextDouble() * Math.min(0.25, 1.0 - m.prob.success));
+        m.outcomes = new MoveCatalogLoader.Outcomes();
+        m.outcomes.success = outcome(family.equals("SUBMISSION") ? "END" : target(from, family, rng));
+        if (rng.nextInt(3) != 0)
+            m.outcomes.partial = outcome(from);
+        m.outcomes.fail = outcome(from);
+        m.points = switch (family) {
+            case "SWEEP", "ENTRY" -> 2;
+            case "PASS" -> 3;
+            case "TRANSITION" -> m.outcomes.success.to.equals("MOUNT_TOP")
+                    || m.outcomes.success.to.equals("BACK_CONTROL_TOP") ? 4 : 0;
+            default -> 0;
+        };
+        m.duration = new MoveCatalogLoader.Duration();
+        m.duration.min = 1 + rng.nextInt(8);
+        m.duration.max = m.duration.min + 1 + rng.nextInt(15);
+        gate(m, from, rng);
+        return m;
+    }
+
+    private static String family(String from, SplittableRandom rng) {
+        int r = rng.nextInt(100);
+        if (from.equals("STANDING"))
+            return r < 85 ? "ENTRY" : "TRANSITION";
+        if (contains(GUARD_BOTTOM, from))
+            return r < 45 ? "SWEEP" : r < 80 ? "SUBMISSION" : "TRANSITION";
+        if (contains(GUARD_TOP, from))
+            return r < 70 ? "PASS" : r < 85 ? "SUBMISSION" : "TRANSITION";
+        if (contains(DOMINANT_TOP, from))
+            return r < 60 ? "SUBMISSION" : "TRANSITION";
+        return r < 80 ? "ESCAPE" : "SWEEP";
+    }
+
+    private static String target(String from, String family, SplittableRandom rng) {
+        return switch (family) {
+            case "ENTRY" -> pick(rng.nextBoolean() ? GUARD_BOTTOM : PASS_TARGETS, rng);
+            case "PASS" -> pick(PASS_TARGETS, rng);
+            case "SWEEP" -> pick(SWEEP_TARGETS, rng);
+            case "ESCAPE" -> pick(ESCAPE_TARGETS, rng);
+            default -> {
+                String[] pool = contains(GUARD_BOTTOM, from) ? GUARD_BOTTOM
+                        : contains(GUARD_TOP, from) ? GUARD_TOP
+                        : from.equals("STANDING") ? GUARD_TOP : DOMINANT_TOP;
+                String to = pick(pool, rng);
+                yield to.equals(from) ? pool[(indexOf(pool, to) + 1) % pool.length] : to;
+            }
+        };
+    }
+
+    // About 35% require one flag the position actually uses, 8% require two, and 10%
+    // forbid one. Gi grips make a move gi-only; others are tagged gi, nogi or both.
+    private static void gate(MoveCatalogLoader.MoveDTO m, String from, SplittableRandom rng) {
+        String[] relevant = from.startsWith("BACK_CONTROL") || from.startsWith("TURTLE") ? BACK_FLAGS
+                : contains(GUARD_BOTTOM, from) ? GUARD_FLAGS : TOP_FLAGS;
+        int r = rng.nextInt(100);
+        List<String> requires = new ArrayList<>(2);
+        if (r < 43)
+            requires.add(pick(relevant, rng));
+        if (r < 8) {
+            String second = pick(relevant, rng);
+            if (!requires.contains(second))
+                requires.add(second);
+        }
+        if (!requires.isEmpty())
+            m.requires = requires;
+        if (rng.nextInt(10) == 0) {
+            String f = pick(ALL_FLAGS, rng);
+            if (!requires.contains(f))
+                m.forbids = List.of(f);
+        }
+        boolean gi = false;
+        for (String f : requires)
+            gi |= contains(GI_GRIPS, f);
+        int style = rng.nextInt(4);
+        m.tags = gi || style == 0 ? List.of("gi", m.family.toLowerCase(Locale.ROOT))
+                : style == 1 ? List.of("nogi", m.family.toLowerCase(Locale.ROOT))
+                : List.of("gi", "nogi", m.family.toLowerCase(Locale.ROOT));
+    }
+
+    private static MoveCatalogLoader.Outcome outcome(String to) {
+        MoveCatalogLoader.Outcome o = new MoveCatalogLoader.Outcome();
+        o.to = to;
+        return o;
+    }
+
+    private static String pick(String[] values, SplittableRandom rng) {
+        return values[rng.nextInt(values.length)];
+    }
+
+    private static boolean contains(String[] values, String v) {
+        return indexOf(values, v) >= 0;
+    }
+
+    private static int indexOf(String[] values, String v) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(v))
+                return i;
+        }
+        return -1;
+    }
+
+    private static String slug(String s) {
+        return s.toLowerCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+    }
+
+    private static double round(double p) {
+        return Math.round(p * 100) / 100.0;
+    }
+}
@@ -1,25 +1,37 @@
 package bjj.catalog;
 
+import bjj.domain.Position;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import java.io.InputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public final class MoveCatalogLoader {
     public static Catalog loadFromResources() throws IOException {
         try (InputStream in = MoveCatalogLoader.class.getClassLoader().getResourceAsStream("catalog/moves.json")) {
             if (in == null)
                 throw new IOException("catalog/moves.json not found on classpath");
-            Catalog cat = new ObjectMapper()
-                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true)
-                    .readValue(in, Catalog.class);
-            validate(cat);
-            return cat;
+            return read(in);
         }
     }
 
+    public static Catalog load(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(in);
+        }
+    }
+
+    private static Catalog read(InputStream in) throws IOException {
+        Catalog cat = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true)
+                .readValue(in, Catalog.class);
+        validate(cat);
+        return cat;
+    }
+
     public static void validate(Catalog cat) {
         if (cat == null)
             throw new IllegalArgumentException("null catalog");
@@ -28,66 +40,82 @@ public final class MoveCatalogLoader {
         if (cat.moves == null || cat.moves.isEmpty())
             throw new IllegalArgumentException("empty moves");
         Set<String> ids = new HashSet<>();
+        long positions = 0L;
         for (MoveDTO m : cat.moves) {
-            if (m.id == null || m.id.isBlank())
-                throw new IllegalArgumentException("move id missing");
+            positions |= validateMove(m);
             if (!ids.add(m.id))
                 throw new IllegalArgumentException("duplicate id: " + m.id);
-            if (m.name == null || m.name.isBlank())
-                throw new IllegalArgumentException("name missing for: " + m.id);
-            if (!isValidFamily(m.family))
-                throw new IllegalArgumentException("invalid family: " + m.family + " in " + m.id);
-            if (!isValidPosition(m.from))
-                throw new IllegalArgumentException("invalid from position: " + m.from + " in " + m.id);
-            if (m.prob == null)
-                throw new IllegalArgumentException("prob missing for: " + m.id);
-            if (m.prob.success < 0 || m.prob.success > 1)
-                throw new IllegalArgumentException("prob.success out of range in " + m.id);
-            if (m.prob.partial < 0 || m.prob.partial > 1)
-                throw new IllegalArgumentException("prob.partial out of range in " + m.id);
-            if (m.outcomes == null || m.outcomes.success == null || m.outcomes.fail == null)
-                throw new IllegalArgumentException("outcomes missing in " + m.id);
-            if (!isValidOutcome(m.outcomes.success.to))
-                throw new IllegalArgumentException("invalid success.to in " + m.id);
-            if (m.outcomes.partial != null && !isValidOutcome(m.outcomes.partial.to))
-                throw new IllegalArgumentException("invalid partial.to in " + m.id);
-            if (!isValidOutcome(m.outcomes.fail.to))
-                throw new IllegalArgumentException("invalid fail.to in " + m.id);
-            if ("SUBMISSION".equals(m.family)) {
-                if (!"END".equals(m.outcomes.success.to))
-                    throw new IllegalArgumentException("submission must END on success: " + m.id);
-                if ("END".equals(toOrNull(m.outcomes.partial)))
-                    throw new IllegalArgumentException("partial cannot END: " + m.id);
-                if ("END".equals(m.outcomes.fail.to))
-                    throw new IllegalArgumentException("fail cannot END: " + m.id);
-            } else {
-                if ("END".equals(m.outcomes.success.to))
-                    throw new IllegalArgumentException("only submissions may END: " + m.id);
+        }
+        if (positions == 0L)
+            throw new IllegalArgumentException("no positions referenced");
+    }
+
+    // Checks everything that concerns one move alone; returns the bit mask (by
+    // position ordinal) of the positions it starts from or leads to.
+    static long validateMove(MoveDTO m) {
+        if (m.id == null || m.id.isBlank())
+            throw new IllegalArgumentException("move id missing");
+        if (m.name == null || m.name.isBlank())
+            throw new IllegalArgumentException("name missing for: " + m.id);
+        if (!isValidFamily(m.family))
+            throw new IllegalArgumentException("invalid family: " + m.family + " in " + m.id);
+        if (!isValidPosition(m.from))
+            throw new IllegalArgumentException("invalid from position: " + m.from + " in " + m.id);
+        if (m.prob == null)
+            throw new IllegalArgumentException("prob missing for: " + m.id);
+        if (m.prob.success < 0 || m.prob.success > 1)
+            throw new IllegalArgumentException("prob.success out of range in " + m.id);
+        if (m.prob.partial < 0 || m.prob.partial > 1)
+            throw new IllegalArgumentException("prob.partial out of range in " + m.id);
+        if (m.outcomes == null || m.outcomes.success == null || m.outcomes.fail == null)
+            throw new IllegalArgumentException("outcomes missing in " + m.id);
+        if (!isValidOutcome(m.outcomes.success.to))
+            throw new IllegalArgumentException("invalid success.to in " + m.id);
+        if (m.outcomes.partial != null && !isValidOutcome(m.outcomes.partial.to))
+            throw new IllegalArgumentException("invalid partial.to in " + m.id);
+        if (!isValidOutcome(m.outcomes.fail.to))
+            throw new IllegalArgumentException("invalid fail.to in " + m.id);
+        if ("SUBMISSION".equals(m.family)) {
+            if (!"END".equals(m.outcomes.success.to))
+                throw new IllegalArgumentException("submission must END on success: " + m.id);
+            if ("END".equals(toOrNull(m.outcomes.partial)))
+                throw new IllegalArgumentException("partial cannot END: " + m.id);
+            if ("END".equals(m.outcomes.fail.to))
+                throw new IllegalArgumentException("fail cannot END: " + m.id);
+        } else {
+            if ("END".equals(m.outcomes.success.to))
+                throw new IllegalArgumentException("only submissions may END: " + m.id);
+        }
+        if (m.duration == null)
+            throw new IllegalArgumentException("duration missing in " + m.id);
+        if (m.duration.min < 1 || m.duration.max < 1 || m.duration.min > m.duration.max)
+            throw new IllegalArgumentException("invalid duration in " + m.id);
+        if (m.points < 0)
+            throw new IllegalArgumentException("points negative in " + m.id);
+        validateFlags(m);
+        return positionBit(m.from) | positionBit(m.outcomes.success.to)
+                | positionBit(toOrNull(m.outcomes.partial)) | positionBit(m.outcomes.fail.to);
+    }
+
+    private static void validateFlags(MoveDTO m) {
+        if (m.requires != null) {
+            for (String f : m.requires) {
+                if (!isValidFlag(f))
+                    throw new IllegalArgumentException("invalid required flag: " + f + " in " + m.id);
             }
-            if (m.duration == null)
-                throw new IllegalArgumentException("duration missing in " + m.id);
-            if (m.duration.min < 1 || m.duration.max < 1 || m.duration.min > m.duration.max)
-                throw new IllegalArgumentException("invalid duration in " + m.id);
-            if (m.points < 0)
-                throw new IllegalArgumentException("points negative in " + m.id);
         }
-        Set<String> referencedPositions = new HashSet<>();
-        for (MoveDTO m : cat.moves) {
-            addIfPosition(referencedPositions, m.outcomes.success.to);
-            if (m.outcomes.partial != null)
-                addIfPosition(referencedPositions, m.outcomes.partial.to);
-            addIfPosition(referencedPositions, m.outcomes.fail.to);
+        if (m.forbids != null) {
+            for (String f : m.forbids) {
+                if (!isValidFlag(f))
+                    throw new IllegalArgumentException("invalid forbidden flag: " + f + " in " + m.id);
+                if (m.requires != null && m.requires.contains(f))
+                    throw new IllegalArgumentException("flag both required and forbidden: " + f + " in " + m.id);
+            }
         }
-        Set<String> fromPositions = cat.moves.stream().map(x -> x.from).collect(Collectors.toSet());
-        Set<String> allMentioned = new HashSet<>(fromPositions);
-        allMentioned.addAll(referencedPositions);
-        if (allMentioned.isEmpty())
-            throw new IllegalArgumentException("no positions referenced");
     }
 
-    private static void addIfPosition(Set<String> set, String to) {
-        if (to != null && !"END".equals(to) && isValidPosition(to))
-            set.add(to);
+    private static long positionBit(String p) {
+        return p == null || "END".equals(p) ? 0L : 1L << Position.valueOf(p).ordinal();
     }
 
     private static boolean isValidOutcome(String to) {
@@ -101,6 +129,13 @@ public final class MoveCatalogLoader {
         };
     }
 
+    private static boolean isValidFlag(String f) {
+        return f != null && switch (f) {
+            case "UNDERHOOK", "CROSSFACE", "HOOKS_IN", "SEATBELT", "KNEE_SHIELD", "COLLAR_GRIP", "SLEEVE_GRIP" -> true;
+            default -> false;
+        };
+    }
+
     private static boolean isValidPosition(String p) {
         if (p == null)
             return false;
@@ -134,6 +169,9 @@ public final class MoveCatalogLoader {
         public Outcomes outcomes;
         public int points;
         public List<String> tags;
+        // ControlFlag names that must all hold / must not hold for the move to be eligible.
+        public List<String> requires;
+        public List<String> forbids;
         public Duration duration;
     }
 
@@ -0,0 +1,256 @@
+package bjj.catalog;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Single-pass catalog reader on Jackson's token stream. Each move is read into one
+// reused MoveDTO, checked with the same per-move rules as MoveCatalogLoader.validate,
+// and handed to the sink, which converts it straight into its final form. Nothing
+// proportional to the catalog is kept here beyond a position bit mask, so memory is
+// bounded by what the sink keeps and time is linear in the input. The sink also owns
+// the duplicate-id check, since it already keys its output by id. Scalars are coerced
+// as the databind loader coerces them, so both accept the same files: numbers and
+// booleans are read as text, numeric strings as numbers, null or "" as 0, and
+// fractions are truncated where an integer is expected.
+public final class StreamingCatalogLoader {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    public interface Sink {
+        // The DTO is reused for the next move: copy what you keep before returning.
+        // Returns false if a move with this id was already accepted.
+        boolean accept(MoveCatalogLoader.MoveDTO move);
+    }
+
+    private final JsonParser p;
+    private final MoveCatalogLoader.MoveDTO move = new MoveCatalogLoader.MoveDTO();
+    private final MoveCatalogLoader.Prob prob = new MoveCatalogLoader.Prob();
+    private final MoveCatalogLoader.Outcomes outcomes = new MoveCatalogLoader.Outcomes();
+    private final MoveCatalogLoader.Outcome success = new MoveCatalogLoader.Outcome();
+    private final MoveCatalogLoader.Outcome partial = new MoveCatalogLoader.Outcome();
+    private final MoveCatalogLoader.Outcome fail = new MoveCatalogLoader.Outcome();
+    private final MoveCatalogLoader.Duration duration = new MoveCatalogLoader.Duration();
+    private final List<String> tags = new ArrayList<>();
+    private final List<String> requires = new ArrayList<>();
+    private final List<String> forbids = new ArrayList<>();
+
+    private StreamingCatalogLoader(JsonParser p) {
+        this.p = p;
+    }
+
+    public static String load(Path path, Sink sink) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(in, sink);
+        }
+    }
+
+    public static String loadFromResources(Sink sink) throws IOException {
+        try (InputStream in = StreamingCatalogLoader.class.getClassLoader().getResourceAsStream("catalog/moves.json")) {
+            if (in == null)
+                throw new IOException("catalog/moves.json not found on classpath");
+            return read(in, sink);
+        }
+    }
+
+    // Streams every move into sink and returns the catalog version. Validation
+    // failures throw IllegalArgumentException as MoveCatalogLoader.validate does;
+    // malformed or unexpected JSON throws JsonParseException with its location.
+    public static String read(InputStream in, Sink sink) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            return new StreamingCatalogLoader(p).catalog(sink);
+        }
+    }
+
+    private String catalog(Sink sink) throws IOException {
+        expect(p.nextToken(), JsonToken.START_OBJECT);
+        String version = null;
+        long moves = 0;
+        long positions = 0L;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "version" -> version = text();
+                case "moves" -> {
+                    if (value == JsonToken.VALUE_NULL)
+                        break;
+                    expect(value, JsonToken.START_ARRAY);
+                    while (p.nextToken() != JsonToken.END_ARRAY) {
+                        readMove();
+                        positions |= MoveCatalogLoader.validateMove(move);
+                        if (!sink.accept(move))
+                            throw new IllegalArgumentException("duplicate id: " + move.id);
+                        moves++;
+                    }
+                }
+                default -> throw unknown(field);
+            }
+        }
+        if (p.nextToken() != null)
+            throw new JsonParseException(p, "trailing content after catalog");
+        if (version == null || version.isBlank())
+            throw new IllegalArgumentException("missing version");
+        if (moves == 0)
+            throw new IllegalArgumentException("empty moves");
+        if (positions == 0L)
+            throw new IllegalArgumentException("no positions referenced");
+        return version;
+    }
+
+    private void readMove() throws IOException {
+        expect(p.currentToken(), JsonToken.START_OBJECT);
+        MoveCatalogLoader.MoveDTO m = move;
+        m.id = m.name = m.family = m.from = null;
+        m.prob = null;
+        m.outcomes = null;
+        m.duration = null;
+        m.points = 0;
+        m.tags = m.requires = m.forbids = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "id" -> m.id = text();
+                case "name" -> m.name = text();
+                case "family" -> m.family = text();
+                case "from" -> m.from = text();
+                case "points" -> m.points = integer();
+                case "tags" -> m.tags = strings(tags);
+                case "requires" -> m.requires = strings(requires);
+                case "forbids" -> m.forbids = strings(forbids);
+                case "prob" -> m.prob = value == JsonToken.VALUE_NULL ? null : readProb();
+                case "outcomes" -> m.outcomes = value == JsonToken.VALUE_NULL ? null : readOutcomes();
+                case "duration" -> m.duration = value == JsonToken.VALUE_NULL ? null : readDuration();
+                default -> throw unknown(field);
+            }
+        }
+    }
+
+    private MoveCatalogLoader.Prob readProb() throws IOException {
+        expect(p.currentToken(), JsonToken.START_OBJECT);
+        prob.success = prob.partial = 0.0;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "success" -> prob.success = number();
+                case "partial" -> prob.partial = number();
+                default -> throw unknown(field);
+            }
+        }
+        return prob;
+    }
+
+    private MoveCatalogLoader.Outcomes readOutcomes() throws IOException {
+        expect(p.currentToken(), JsonToken.START_OBJECT);
+        outcomes.success = outcomes.partial = outcomes.fail = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "success" -> outcomes.success = value == JsonToken.VALUE_NULL ? null : readOutcome(success);
+                case "partial" -> outcomes.partial = value == JsonToken.VALUE_NULL ? null : readOutcome(partial);
+                case "fail" -> outcomes.fail = value == JsonToken.VALUE_NULL ? null : readOutcome(fail);
+                default -> throw unknown(field);
+            }
+        }
+        return outcomes;
+    }
+
+    private MoveCatalogLoader.Outcome readOutcome(MoveCatalogLoader.Outcome o) throws IOException {
+        expect(p.currentToken(), JsonToken.START_OBJECT);
+        o.to = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if (!field.equals("to"))
+                throw unknown(field);
+            o.to = text();
+        }
+        return o;
+    }
+
+    private MoveCatalogLoader.Duration readDuration() throws IOException {
+        expect(p.currentToken(), JsonToken.START_OBJECT);
+        duration.min = duration.max = 0;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "min" -> duration.min = integer();
+                case "max" -> duration.max = integer();
+                default -> throw unknown(field);
+            }
+        }
+        return duration;
+    }
+
+    private List<String> strings(List<String> into) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL)
+            return null;
+        expect(p.currentToken(), JsonToken.START_ARRAY);
+        into.clear();
+        while (p.nextToken() != JsonToken.END_ARRAY)
+            into.add(text());
+        return into;
+    }
+
+    private String text() throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_NULL)
+            return null;
+        if (!t.isScalarValue())
+            throw new JsonParseException(p, "expected a string, got " + t);
+        return p.getText();
+    }
+
+    private double number() throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_NUMBER_FLOAT || t == JsonToken.VALUE_NUMBER_INT)
+            return p.getDoubleValue();
+        String s = numericText(t);
+        try {
+            return s.isEmpty() ? 0.0 : Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            throw new JsonParseException(p, "expected a number, got \"" + s + "\"");
+        }
+    }
+
+    private int integer() throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_NUMBER_FLOAT || t == JsonToken.VALUE_NUMBER_INT)
+            return p.getIntValue();
+        String s = numericText(t);
+        try {
+            return s.isEmpty() ? 0 : Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            throw new JsonParseException(p, "expected an integer, got \"" + s + "\"");
+        }
+    }
+
+    // The trimmed text of a string or null standing in for a number ("" for null).
+    private String numericText(JsonToken t) throws IOException {
+        if (t == JsonToken.VALUE_NULL)
+            return "";
+        if (t != JsonToken.VALUE_STRING)
+            throw new JsonParseException(p, "expected a number, got " + t);
+        return p.getText().trim();
+    }
+
+    private void expect(JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected)
+            throw new JsonParseException(p, "expected " + expected + ", got " + actual);
+    }
+
+    private JsonParseException unknown(String field) {
+        return new JsonParseException(p, "unknown field \"" + field + "\"");
+    }
+}
@@ -0,0 +1,43 @@
+package bjj.cli;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class Args {
+    private final Map<String, String> options = new HashMap<>();
+
+    Args(String[] args, int from) {
+        for (int i = from; i < args.length; i++) {
+            String a = args[i];
+            if (!a.startsWith("--"))
+                throw new IllegalArgumentException("unexpected argument: " + a);
+            String key = a.substring(2);
+            int eq = key.indexOf('=');
+            if (eq >= 0) {
+                options.put(key.substring(0, eq), key.substring(eq + 1));
+            } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.put(key, args[++i]);
+            } else {
+                options.put(key, "true");
+            }
+        }
+    }
+
+    boolean has(String key) {
+        return options.containsKey(key);
+    }
+
+    String str(String key, String def) {
+        return options.getOrDefault(key, def);
+    }
+
+    int integer(String key, int def) {
+        String v = options.get(key);
+        return v == null ? def : Integer.parseInt(v);
+    }
+
+    long longValue(String key, long def) {
+        String v = options.get(key);
+        return v == null ? def : Long.parseLong(v.replace("_", ""));
+    }
+}
@@ -0,0 +1,243 @@
+package bjj.cli;
+
+import bjj.data.DurationSamples;
+import bjj.data.JsonMoveCatalog;
+import bjj.data.MappedMoveCatalog;
+import bjj.data.MoveCatalog;
+import bjj.domain.MoveFamily;
+import bjj.domain.Position;
+import bjj.engine.AdaptiveRunner;
+import bjj.engine.BatchResult;
+import bjj.engine.BatchRunner;
+import bjj.engine.ExplicitPolicy;
+import bjj.engine.MctsBudget;
+import bjj.engine.MctsPolicy;
+import bjj.engine.MoveIndex;
+import bjj.engine.MovePolicy;
+import bjj.engine.PolicyCache;
+import bjj.engine.PolicySolver;
+import bjj.engine.RandomPolicy;
+import bjj.engine.SimParams;
+import bjj.engine.StepRecorder;
+import bjj.engine.StoppingRule;
+import bjj.stream.ResultCollector;
+import bjj.stream.StepStream;
+import bjj.trace.TraceWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class BatchCommand {
+    static void run(String[] argv) {
+        Args args = new Args(argv, 1);
+        if (args.has("ci") || args.has("rel-error")) {
+            runAdaptive(args);
+            return;
+        }
+        long sessions = args.longValue("sessions", 100_000L);
+        long seed = args.has("seed") ? args.longValue("seed", 0L) : ThreadLocalRandom.current().nextLong();
+        int threads = args.integer("threads", Runtime.getRuntime().availableProcessors());
+        int maxSteps = args.integer("max-steps", BatchRunner.DEFAULT_MAX_STEPS);
+        Position start = Position.valueOf(args.str("start", "CLOSED_GUARD_BOTTOM"));
+        SimParams params = params(args);
+
+        MoveCatalog catalog = catalog(args);
+        MoveIndex index = index(args, catalog);
+        MovePolicy policy = policy(args, index, params);
+        BatchRunner runner = new BatchRunner(index, params, policy, maxSteps, args.integer("lanes", 0));
+        StepStream live = args.has("live") ? live(args, index) : null;
+        ResultCollector liveResult = new ResultCollector();
+        if (live != null)
+            live.subscribe(liveResult);
+        StepRecorder.Factory recorders = StepRecorder.Factory.tee(args.has("trace")
+                ? traces(Path.of(args.str("trace", null)), catalog.version(), index)
+                : null, live);
+
+        System.out.println("=== BJJ Simulator (batch) ===");
+        System.out.println("Seed: " + seed + " | Threads: " + threads + " | Start: " + start);
+        System.out.println("Resistance: " + params.resistance() + " | Fatigue: " + params.fatigueRate()
+                + " | Policy: " + args.str("policy", "random"));
+
+        long t0 = System.nanoTime();
+        Thread progress = live == null ? null : Thread.ofPlatform().daemon().start(() -> progress(liveResult, sessions));
+        BatchResult result;
+        try {
+            result = runner.run(start, sessions, seed, threads, recorders);
+        } finally {
+            policy.close();
+        }
+        double secs = (System.nanoTime() - t0) / 1e9;
+        if (live != null) {
+            live.close();
+            progress.interrupt();
+            liveResult.result().join();
+        }
+
+        System.out.print(result.render());
+        if (live != null)
+            System.out.printf("Live stream: %d batches published, %d dropped (%d steps) | subscriber saw %d sessions\n",
+                    live.published(), live.droppedBatches(), live.droppedSteps(), liveResult.sessions());
+        if (args.has("trace"))
+            System.out.printf("Trace:       %s (%.1f MB)\n", args.str("trace", null),
+                    traceBytes(Path.of(args.str("trace", null))) / 1e6);
+        System.out.printf("Elapsed:     %.3f s (%.0f sessions/s, %.0f steps/s)\n",
+                secs, sessions / secs, result.steps() / secs);
+        System.out.println("\nAnalytics:");
+        System.out.println(result.analytics().render());
+    }
+
+    // One configuration per (start, resistance) pair, sampled until each meets the
+    // stopping rule or the shared budget runs out.
+    private static void runAdaptive(Args args) {
+        long seed = args.has("seed") ? args.longValue("seed", 0L) : ThreadLocalRandom.current().nextLong();
+        int threads = args.integer("threads", Runtime.getRuntime().availableProcessors());
+        int maxSteps = args.integer("max-steps", BatchRunner.DEFAULT_MAX_STEPS);
+        long budget = args.longValue("budget", 10_000_000L);
+        StoppingRule rule = new StoppingRule(Double.parseDouble(args.str("ci", "0")),
+                Double.parseDouble(args.str("rel-error", "0")), Double.parseDouble(args.str("confidence", "0.95")));
+        AdaptiveRunner adaptive = new AdaptiveRunner(rule, args.longValue("round", 20_000L), threads);
+
+        MoveIndex index = index(args);
+        List<AdaptiveRunner.Arm> arms = new ArrayList<>();
+        List<MovePolicy> policies = new ArrayList<>();
+        for (String resistance : args.str("resistance", "50").split(",")) {
+            SimParams params = new SimParams(Integer.parseInt(resistance.trim()), skills(args), args.integer("fatigue", 0));
+            MovePolicy policy = policy(args, index, params);
+            policies.add(policy);
+            BatchRunner runner = new BatchRunner(index, params, policy, maxSteps, args.integer("lanes", 0));
+            for (String start : args.str("start", "CLOSED_GUARD_BOTTOM").split(","))
+                arms.add(new AdaptiveRunner.Arm(start.trim() + " r=" + params.resistance(), runner,
+                        Position.valueOf(start.trim())));
+        }
+
+        System.out.println("=== BJJ Simulator (adaptive batch) ===");
+        System.out.println("Seed: " + seed + " | Threads: " + threads + " | Budget: " + budget
+                + " | Configurations: " + arms.size());
+
+        long t0 = System.nanoTime();
+        try {
+            adaptive.run(arms, budget, seed);
+        } finally {
+            policies.forEach(MovePolicy::close);
+        }
+        double secs = (System.nanoTime() - t0) / 1e9;
+
+        long used = arms.stream().mapToLong(a -> a.result().sessions()).sum();
+        System.out.print(adaptive.render(arms));
+        System.out.printf("Sessions:    %d of %d budget in %.3f s\n", used, budget, secs);
+        for (AdaptiveRunner.Arm arm : arms) {
+            System.out.println("\n" + arm.label() + " success rate by family:");
+            System.out.print(adaptive.renderFamilies(arm));
+        }
+    }
+
+    private static StepStream live(Args args, MoveIndex index) {
+        StepStream.Overflow overflow = StepStream.Overflow.valueOf(args.str("live-overflow", "drop").toUpperCase());
+        return new StepStream(index, ForkJoinPool.commonPool(), args.integer("live-buffer", 64),
+                args.integer("live-batch", StepStream.DEFAULT_BATCH_STEPS), overflow,
+                Duration.ofMillis(args.longValue("live-timeout-ms", 10L)));
+    }
+
+    // A minimal live consumer: sessions seen by the subscriber, once a second.
+    private static void progress(ResultCollector live, long sessions) {
+        try {
+            while (true) {
+                Thread.sleep(1000);
+                System.out.printf("Live:        %d / %d sessions\n", live.sessions(), sessions);
+            }
+        } catch (InterruptedException e) {
+            // batch finished
+        }
+    }
+
+    // One trace file per recorded chunk, named by its session range so the files sort in session order.
+    private static StepRecorder.Factory traces(Path dir, String version, MoveIndex index) {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create trace directory " + dir, e);
+        }
+        return (from, to) -> new TraceWriter(dir.resolve(String.format("part-%012d-%012d.trace", from, to)),
+                version, index);
+    }
+
+    static long traceBytes(Path dir) {
+        try (var files = Files.list(dir)) {
+            long total = 0;
+            for (Path f : files.filter(f -> f.toString().endsWith(".trace")).toList())
+                total += Files.size(f);
+            return total;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list traces in " + dir, e);
+        }
+    }
+
+    static MoveCatalog catalog(Args args) {
+        if (!args.has("catalog"))
+            return new JsonMoveCatalog();
+        Path path = Path.of(args.str("catalog", null));
+        return path.toString().endsWith(".json") ? new JsonMoveCatalog(path) : new MappedMoveCatalog(path);
+    }
+
+    static MoveIndex index(Args args) {
+        return index(args, catalog(args));
+    }
+
+    static MoveIndex index(Args args, MoveCatalog catalog) {
+        return args.has("durations")
+                ? new MoveIndex(catalog.all(), DurationSamples.load(Path.of(args.str("durations", null))))
+                : new MoveIndex(catalog.all());
+    }
+
+    static MovePolicy policy(Args args, MoveIndex index, SimParams params) {
+        if (args.str("policy", "random").equals("mcts"))
+            return new MctsPolicy(index, params, mctsBudget(args), args.integer("mcts-threads", 1));
+        return explicitPolicy(args, index.policies(), params);
+    }
+
+    // Policies with a known move distribution, as the exact solvers require. Solved
+    // tables come from (and stay in) policies.
+    static ExplicitPolicy explicitPolicy(Args args, PolicyCache policies, SimParams params) {
+        String name = args.str("policy", "random");
+        if (name.equals("random"))
+            return new RandomPolicy();
+        return policies.table(params, objective(name));
+    }
+
+    // The objective a solved policy optimises; random has none.
+    static PolicySolver.Objective objective(String policy) {
+        return switch (policy) {
+            case "fastest" -> PolicySolver.Objective.MIN_TIME;
+            case "likeliest" -> PolicySolver.Objective.MAX_SUBMISSION;
+            case "mcts" -> throw new IllegalArgumentException(
+                    "mcts has no explicit move distribution and cannot be solved exactly");
+            default -> throw new IllegalArgumentException("unknown policy: " + policy);
+        };
+    }
+
+    static MctsBudget mctsBudget(Args args) {
+        return args.has("mcts-millis")
+                ? MctsBudget.millis(args.longValue("mcts-millis", 10L))
+                : MctsBudget.iterations(args.longValue("mcts-iterations", 1_000L));
+    }
+
+    static SimParams params(Args args) {
+        return new SimParams(args.integer("resistance", 50), skills(args), args.integer("fatigue", 0));
+    }
+
+    static Map<MoveFamily, Integer> skills(Args args) {
+        int skill = args.integer("skill", 50);
+        Map<MoveFamily, Integer> skills = new EnumMap<>(MoveFamily.class);
+        for (MoveFamily fam : MoveFamily.values())
+            skills.put(fam, args.integer("skill-" + fam.name().toLowerCase(), skill));
+        return skills;
+    }
+}
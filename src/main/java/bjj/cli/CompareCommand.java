@@ -0,0 +1,62 @@
+package bjj.cli;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.data.MoveCatalog;
+import bjj.domain.Position;
+import bjj.engine.BatchRunner;
+import bjj.engine.CatalogComparison;
+import bjj.engine.Interval;
+import bjj.engine.MoveIndex;
+import bjj.engine.MovePolicy;
+import bjj.engine.PairedResult;
+import bjj.engine.SimParams;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class CompareCommand {
+    static void run(String[] argv) {
+        Args args = new Args(argv, 1);
+        if (!args.has("candidate"))
+            throw new IllegalArgumentException("--candidate <moves.json> is required");
+        long sessions = args.longValue("sessions", 100_000L);
+        long seed = args.has("seed") ? args.longValue("seed", 0L) : ThreadLocalRandom.current().nextLong();
+        int threads = args.integer("threads", Runtime.getRuntime().availableProcessors());
+        SimParams params = BatchCommand.params(args);
+
+        MoveCatalog base = args.has("baseline") ? new JsonMoveCatalog(Path.of(args.str("baseline", null)))
+                : BatchCommand.catalog(args);
+        MoveCatalog cand = new JsonMoveCatalog(Path.of(args.str("candidate", null)));
+        MoveIndex baseIndex = BatchCommand.index(args, base);
+        MoveIndex candIndex = BatchCommand.index(args, cand);
+        MovePolicy basePolicy = BatchCommand.policy(args, baseIndex, params);
+        MovePolicy candPolicy = BatchCommand.policy(args, candIndex, params);
+        CatalogComparison cmp = new CatalogComparison(baseIndex, basePolicy, candIndex, candPolicy, params,
+                args.integer("max-steps", BatchRunner.DEFAULT_MAX_STEPS));
+
+        List<Position> starts = new ArrayList<>();
+        if (args.has("start")) {
+            for (String s : args.str("start", null).split(","))
+                starts.add(Position.valueOf(s.trim()));
+        } else {
+            starts.addAll(List.of(Position.values()));
+        }
+
+        System.out.println("=== BJJ Simulator (catalog comparison) ===");
+        System.out.println("A: " + base.version() + " | B: " + cand.version() + " | Sessions: " + sessions
+                + " per start | Seed: " + seed);
+        long t0 = System.nanoTime();
+        List<PairedResult> results;
+        try {
+            results = cmp.run(starts, sessions, seed, threads);
+        } finally {
+            basePolicy.close();
+            candPolicy.close();
+        }
+        double secs = (System.nanoTime() - t0) / 1e9;
+        System.out.print(PairedResult.render(results, Interval.z(Double.parseDouble(args.str("confidence", "0.95")))));
+        System.out.printf("Elapsed: %.3f s\n", secs);
+    }
+}
@@ -0,0 +1,32 @@
+package bjj.cli;
+
+import bjj.data.BinaryCatalog;
+import bjj.data.JsonMoveCatalog;
+import bjj.data.MappedMoveCatalog;
+import bjj.data.MoveCatalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+final class CompileCatalogCommand {
+    static void run(String[] argv) throws IOException {
+        Args args = new Args(argv, 1);
+        Path out = Path.of(args.str("out", "target/moves.bin"));
+        if (out.getParent() != null)
+            Files.createDirectories(out.getParent());
+
+        long t0 = System.nanoTime();
+        MoveCatalog catalog = new JsonMoveCatalog();
+        long t1 = System.nanoTime();
+        BinaryCatalog.write(catalog, out);
+        long t2 = System.nanoTime();
+        MoveCatalog mapped = new MappedMoveCatalog(out);
+        long t3 = System.nanoTime();
+
+        System.out.printf("Compiled %d moves (catalog %s) to %s, %d bytes\n",
+                mapped.all().size(), mapped.version(), out, Files.size(out));
+        System.out.printf("JSON load %.2f ms | write %.2f ms | mapped load %.2f ms\n",
+                (t1 - t0) / 1e6, (t2 - t1) / 1e6, (t3 - t2) / 1e6);
+    }
+}
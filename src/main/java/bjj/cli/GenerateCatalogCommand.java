@@ -0,0 +1,28 @@
+package bjj.cli;
+
+import bjj.catalog.CatalogGenerator;
+import bjj.catalog.MoveCatalogLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+final class GenerateCatalogCommand {
+    static void run(String[] argv) throws IOException {
+        Args args = new Args(argv, 1);
+        int moves = args.integer("moves", 10_000);
+        long seed = args.longValue("seed", 1L);
+        Path out = Path.of(args.str("out", "target/synthetic-" + moves + ".json"));
+        if (out.getParent() != null)
+            Files.createDirectories(out.getParent());
+
+        long t0 = System.nanoTime();
+        MoveCatalogLoader.Catalog cat = CatalogGenerator.generate(moves, seed);
+        MoveCatalogLoader.validate(cat);
+        CatalogGenerator.write(cat, out);
+        long t1 = System.nanoTime();
+
+        System.out.printf("Generated %d moves (catalog %s) to %s, %d bytes in %.2f ms\n",
+                cat.moves.size(), cat.version, out, Files.size(out), (t1 - t0) / 1e6);
+    }
+}
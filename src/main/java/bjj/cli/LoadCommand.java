@@ -0,0 +1,30 @@
+package bjj.cli;
+
+import bjj.server.LoadGenerator;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+final class LoadCommand {
+    static void run(String[] argv) throws Exception {
+        Args args = new Args(argv, 1);
+        String base = args.str("url", "http://127.0.0.1:8080");
+        List<URI> targets = new ArrayList<>();
+        for (String path : args.str("path", "/batch?start=CLOSED_GUARD_BOTTOM&sessions=1000&seed=1").split(";"))
+            targets.add(URI.create(base + path.trim()));
+        int concurrency = args.integer("concurrency", 32);
+        int seconds = args.integer("seconds", 10);
+        double rate = Double.parseDouble(args.str("rate", "0"));
+
+        System.out.println("=== BJJ Simulator (load) ===");
+        System.out.println("Targets: " + targets + " | Clients: " + concurrency + " | Seconds: " + seconds
+                + " | Rate: " + (rate > 0 ? rate + "/s" : "closed loop"));
+
+        if (args.has("warmup"))
+            new LoadGenerator(targets, concurrency, Duration.ofSeconds(args.integer("warmup", 2)), rate).run();
+        LoadGenerator.Report report = new LoadGenerator(targets, concurrency, Duration.ofSeconds(seconds), rate).run();
+        System.out.print(report.render());
+    }
+}
@@ -20,14 +20,37 @@ import java.util.Scanner;
 import java.util.Set;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            switch (args[0]) {
+                case "batch" -> BatchCommand.run(args);
+                case "solve" -> SolveCommand.run(args);
+                case "mcts-bench" -> MctsBenchCommand.run(args);
+                case "compile-catalog" -> CompileCatalogCommand.run(args);
+                case "generate-catalog" -> GenerateCatalogCommand.run(args);
+                case "sweep" -> SweepCommand.run(args);
+                case "rare" -> RareCommand.run(args);
+                case "compare" -> CompareCommand.run(args);
+                case "replay" -> ReplayCommand.run(args);
+                case "serve" -> ServeCommand.run(args);
+                case "load" -> LoadCommand.run(args);
+                default -> {
+                    System.err.println("Unknown command: " + args[0]);
+                    System.err.println("usage: bjj [batch|solve|mcts-bench|compile-catalog|generate-catalog|sweep"
+                            + "|rare|compare|replay|serve|load] [options]");
+                    System.exit(2);
+                }
+            }
+            return;
+        }
+
         Scanner sc = new Scanner(System.in);
 
         Long seed = askSeed(sc);
         Random rng = seed == null ? new Random() : new Random(seed);
 
         MoveCatalog catalog = new JsonMoveCatalog();
-        Simulator sim = new Simulator();
+        Simulator sim = new Simulator(catalog);
         Analytics analytics = new Analytics();
 
         int resistance = askResistance(sc);
@@ -62,7 +85,7 @@ public class Main {
         boolean endedBySubmission = false;
 
         while (true) {
-            List<Move> eligible = sim.eligibleMoves(state, catalog.all());
+            List<Move> eligible = sim.eligibleMoves(state);
             if (eligible.isEmpty()) {
                 System.out.println("No eligible moves. Ending session.");
                 break;
@@ -149,6 +172,7 @@ public class Main {
                 System.out.println(" - " + h);
         }
 
+        analytics.recordSession(state.timelineMs());
         System.out.println("\nAnalytics:");
         System.out.println(analytics.render());
     }
@@ -0,0 +1,60 @@
+package bjj.cli;
+
+import bjj.domain.Move;
+import bjj.domain.Position;
+import bjj.engine.MctsBudget;
+import bjj.engine.MctsPolicy;
+import bjj.engine.MoveIndex;
+import bjj.engine.RandomPolicy;
+import bjj.engine.SessionCursor;
+import bjj.engine.SimParams;
+import bjj.engine.Simulator;
+
+import java.util.SplittableRandom;
+
+final class MctsBenchCommand {
+    static void run(String[] argv) {
+        Args args = new Args(argv, 1);
+        SimParams params = BatchCommand.params(args);
+        MctsBudget budget = BatchCommand.mctsBudget(args);
+        int threads = args.integer("mcts-threads", Runtime.getRuntime().availableProcessors());
+        int decisions = args.integer("decisions", 200);
+        int warmup = args.integer("warmup", 50);
+        Position start = Position.valueOf(args.str("start", "STANDING"));
+
+        MoveIndex index = BatchCommand.index(args);
+        Simulator sim = new Simulator(index);
+        SplittableRandom rng = new SplittableRandom(args.longValue("seed", 1L));
+
+        System.out.println("=== BJJ Simulator (MCTS benchmark) ===");
+        System.out.println("Budget: " + budget + " | Threads: " + threads + " | Decisions: " + decisions);
+
+        try (MctsPolicy mcts = new MctsPolicy(index, params, budget, threads)) {
+            decide(sim, mcts, params, start, warmup, rng);
+            long t0 = System.nanoTime();
+            decide(sim, mcts, params, start, decisions, rng);
+            double secs = (System.nanoTime() - t0) / 1e9;
+            System.out.printf("Decisions/s: %.1f (%.3f ms per decision)\n", decisions / secs, secs * 1e3 / decisions);
+        }
+    }
+
+    // Decisions are taken from states reached by random play so the tree shapes vary.
+    private static void decide(Simulator sim, MctsPolicy mcts, SimParams params, Position start, int decisions,
+            SplittableRandom rng) {
+        RandomPolicy walk = new RandomPolicy();
+        SessionCursor cursor = new SessionCursor().reset(start, 0L);
+        int done = 0;
+        while (done < decisions) {
+            Move[] eligible = sim.index().eligibleArray(cursor.position(), cursor.flags());
+            if (eligible.length == 0) {
+                cursor.reset(start, 0L);
+                continue;
+            }
+            mcts.choose(cursor, eligible, rng);
+            done++;
+            sim.advance(cursor, walk.select(cursor, eligible, rng), params, rng);
+            if (cursor.ended())
+                cursor.reset(start, 0L);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package bjj.cli;
+
+import bjj.domain.Position;
+import bjj.engine.BatchRunner;
+import bjj.engine.ImportanceSampler;
+import bjj.engine.Interval;
+import bjj.engine.MoveIndex;
+import bjj.engine.MovePolicy;
+import bjj.engine.RareEventEstimate;
+import bjj.engine.SimParams;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+final class RareCommand {
+    static void run(String[] argv) {
+        Args args = new Args(argv, 1);
+        long sessions = args.longValue("sessions", 100_000L);
+        long seed = args.has("seed") ? args.longValue("seed", 0L) : ThreadLocalRandom.current().nextLong();
+        int threads = args.integer("threads", Runtime.getRuntime().availableProcessors());
+        Position start = Position.valueOf(args.str("start", "MOUNT_BOTTOM"));
+        SimParams params = BatchCommand.params(args);
+        MoveIndex index = BatchCommand.index(args);
+        try (MovePolicy policy = BatchCommand.policy(args, index, params)) {
+            ImportanceSampler sampler = new ImportanceSampler(index, params, policy,
+                    args.integer("max-steps", BatchRunner.DEFAULT_MAX_STEPS));
+
+            String tiltArg = args.str("tilt", "auto");
+            double tilt = tiltArg.equals("auto")
+                    ? sampler.chooseTilt(start, ImportanceSampler.AUTO_TILTS, Math.max(1_000L, sessions / 20), seed,
+                            threads)
+                    : Double.parseDouble(tiltArg);
+
+            System.out.println("=== BJJ Simulator (rare-event estimate) ===");
+            System.out.println("Seed: " + seed + " | Threads: " + threads + " | Start: " + start);
+            System.out.println("Resistance: " + params.resistance() + " | Fatigue: " + params.fatigueRate()
+                    + " | Policy: " + args.str("policy", "random") + " | Tilt: " + tiltArg);
+
+            long t0 = System.nanoTime();
+            RareEventEstimate est = sampler.run(start, tilt, sessions, seed, threads);
+            double secs = (System.nanoTime() - t0) / 1e9;
+            System.out.print(est.render(Interval.z(Double.parseDouble(args.str("confidence", "0.95")))));
+            System.out.printf("Elapsed:     %.3f s\n", secs);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package bjj.cli;
+
+import bjj.engine.BatchResult;
+import bjj.trace.TraceReader;
+
+import java.nio.file.Path;
+
+final class ReplayCommand {
+    static void run(String[] argv) {
+        Args args = new Args(argv, 1);
+        if (!args.has("trace"))
+            throw new IllegalArgumentException("replay needs --trace <dir>");
+        Path dir = Path.of(args.str("trace", null));
+        int threads = args.integer("threads", Runtime.getRuntime().availableProcessors());
+
+        System.out.println("=== BJJ Simulator (trace replay) ===");
+        System.out.println("Trace: " + dir + " | Threads: " + threads);
+
+        long t0 = System.nanoTime();
+        BatchResult result = TraceReader.replayAll(dir, threads);
+        double secs = (System.nanoTime() - t0) / 1e9;
+
+        System.out.print(result.render());
+        System.out.printf("Elapsed:     %.3f s (%.0f steps/s, %.1f MB/s)\n",
+                secs, result.steps() / secs, BatchCommand.traceBytes(dir) / 1e6 / secs);
+        System.out.println("\nAnalytics:");
+        System.out.println(result.analytics().render());
+    }
+}
@@ -0,0 +1,43 @@
+package bjj.cli;
+
+import bjj.engine.BatchRunner;
+import bjj.engine.MoveIndex;
+import bjj.engine.ReloadingCatalog;
+import bjj.server.SimulationServer;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+
+final class ServeCommand {
+    static void run(String[] argv) throws Exception {
+        Args args = new Args(argv, 1);
+        int engineThreads = args.integer("threads", Runtime.getRuntime().availableProcessors());
+        int maxSteps = args.integer("max-steps", BatchRunner.DEFAULT_MAX_STEPS);
+        int queue = args.integer("queue", 256);
+        long maxBatch = args.longValue("max-batch", 2_000_000L);
+        long maxSessions = args.longValue("max-sessions", SimulationServer.DEFAULT_MAX_REQUEST_SESSIONS);
+        MoveIndex index;
+        SimulationServer server;
+        if (args.has("watch")) {
+            if (!args.has("catalog"))
+                throw new IllegalArgumentException("--watch needs --catalog <file>");
+            ReloadingCatalog catalog = new ReloadingCatalog(Path.of(args.str("catalog", null)),
+                    c -> BatchCommand.index(args, c));
+            catalog.onReload(s -> System.out.println("Reloaded catalog " + s.version()
+                    + " (generation " + s.generation() + ", " + s.index().size() + " moves)"));
+            index = catalog.current().index();
+            server = new SimulationServer(catalog, maxSteps, engineThreads, queue, maxBatch, maxSessions);
+            catalog.watch();
+        } else {
+            index = BatchCommand.index(args);
+            server = new SimulationServer(index, maxSteps, engineThreads, queue, maxBatch, maxSessions);
+        }
+        int port = server.start(new InetSocketAddress(args.str("host", "127.0.0.1"), args.integer("port", 8080)));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+
+        System.out.println("=== BJJ Simulator (server) ===");
+        System.out.println("Listening on http://" + args.str("host", "127.0.0.1") + ":" + port
+                + " | Engine threads: " + engineThreads + " | Moves: " + index.size());
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,138 @@
+package bjj.cli;
+
+import bjj.domain.Move;
+import bjj.domain.Position;
+import bjj.engine.DurationDistribution;
+import bjj.engine.DurationSolver;
+import bjj.engine.ExplicitPolicy;
+import bjj.engine.IncrementalSolver;
+import bjj.engine.MarkovSolution;
+import bjj.engine.MarkovSolver;
+import bjj.engine.MoveIndex;
+import bjj.engine.SimParams;
+import bjj.engine.TransitionModel;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+final class SolveCommand {
+    static void run(String[] argv) {
+        Args args = new Args(argv, 1);
+        SimParams params = BatchCommand.params(args);
+        MoveIndex index = BatchCommand.index(args);
+        ExplicitPolicy policy = BatchCommand.explicitPolicy(args, index.policies(), params);
+
+        long t0 = System.nanoTime();
+        TransitionModel model = new TransitionModel(index, params, 0L);
+        MarkovSolution solution = MarkovSolver.solve(model, policy);
+        double ms = (System.nanoTime() - t0) / 1e6;
+
+        System.out.println("=== BJJ Simulator (exact solve) ===");
+        System.out.println("Resistance: " + params.resistance() + " | Fatigue: " + params.fatigueRate()
+                + " | Policy: " + args.str("policy", "random") + " | States: " + model.states());
+        System.out.print(solution.render());
+        System.out.printf("Solved in %.2f ms\n", ms);
+        if (args.has("distribution") || args.has("cdf-out"))
+            distribution(args, model, policy);
+        if (args.has("edit"))
+            edit(args, model, policy);
+    }
+
+    private static void distribution(Args args, TransitionModel model, ExplicitPolicy policy) {
+        long t0 = System.nanoTime();
+        DurationDistribution dist = DurationSolver.solve(model, policy,
+                args.longValue("grid-ms", DurationSolver.DEFAULT_GRID_MS),
+                args.longValue("horizon-ms", DurationSolver.DEFAULT_HORIZON_MS));
+        double ms = (System.nanoTime() - t0) / 1e6;
+        System.out.println();
+        System.out.println("=== Match length distribution ===");
+        System.out.print(dist.render());
+        System.out.printf("Solved in %.2f ms\n", ms);
+        if (args.has("cdf-out"))
+            writeCdf(Path.of(args.str("cdf-out", "cdf.csv")), dist);
+    }
+
+    // One row per grid point: the length and submission CDF of every start position.
+    private static void writeCdf(Path out, DurationDistribution dist) {
+        Position[] starts = Position.values();
+        double[][] length = new double[starts.length][];
+        double[][] submission = new double[starts.length][];
+        for (Position p : starts) {
+            length[p.ordinal()] = dist.lengthCdf(p);
+            submission[p.ordinal()] = dist.submissionCdf(p);
+        }
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8))) {
+            StringBuilder header = new StringBuilder("ms");
+            for (Position p : starts) {
+                String name = p.name().toLowerCase(Locale.ROOT);
+                header.append(",length_").append(name).append(",submission_").append(name);
+            }
+            w.println(header);
+            for (int t = 0; t < dist.points(); t++) {
+                StringBuilder row = new StringBuilder().append(t * dist.gridMs());
+                for (int p = 0; p < starts.length; p++)
+                    row.append(String.format(Locale.ROOT, ",%.9f,%.9f", length[p][t], submission[p][t]));
+                w.println(row);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        System.out.println("CDFs written to " + out);
+    }
+
+    // Re-solves after one move edit, incrementally and from scratch, and compares.
+    private static void edit(Args args, TransitionModel model, ExplicitPolicy policy) {
+        IncrementalSolver solver = new IncrementalSolver(model.index(), model.params(), model.flagMask(), policy);
+        String id = args.str("edit", "");
+        int[] dependents = solver.dependentStates(id);
+        List<Move> moves = new ArrayList<>();
+        Move old = null;
+        for (int i = 0; i < model.index().size(); i++) {
+            Move mv = model.index().move(i);
+            if (mv.id().equals(id))
+                old = mv;
+            moves.add(mv);
+        }
+        Move edited = edited(old, args);
+        moves.set(model.index().ordinal(old), edited);
+
+        long t0 = System.nanoTime();
+        MarkovSolution patched = solver.update(edited);
+        double incrementalMs = (System.nanoTime() - t0) / 1e6;
+        t0 = System.nanoTime();
+        MarkovSolution full = MarkovSolver.solve(new TransitionModel(new MoveIndex(moves), model.params(), 0L), policy);
+        double fullMs = (System.nanoTime() - t0) / 1e6;
+
+        double drift = 0.0;
+        for (int s = 0; s < model.states(); s++)
+            drift = Math.max(drift, Math.abs(patched.submissionProbability(s) - full.submissionProbability(s)));
+        System.out.println();
+        System.out.println("=== After editing " + id + " (" + dependents.length + " dependent states) ===");
+        System.out.print(patched.render());
+        System.out.printf("Incremental %.2f ms | full rebuild %.2f ms | max |dP(sub)| %.1e\n", incrementalMs, fullMs,
+                drift);
+    }
+
+    private static Move edited(Move m, Args args) {
+        long min = args.longValue("min-ms", m.minMs());
+        long typ = args.longValue("typ-ms", m.typMs());
+        long max = args.longValue("max-ms", m.maxMs());
+        if (min < 0 || min > typ || typ > max)
+            throw new IllegalArgumentException("durations must satisfy 0 <= min <= typ <= max");
+        double scale = Double.parseDouble(args.str("scale", Double.toString(m.scale())));
+        if (scale <= 0)
+            throw new IllegalArgumentException("scale must be positive");
+        double counter = Double.parseDouble(args.str("counter-chance", Double.toString(m.counterChance())));
+        if (counter < 0 || counter > 1)
+            throw new IllegalArgumentException("counter-chance must be in [0, 1]");
+        return new Move(m.id(), m.name(), m.fromPosition(), m.toPosition(), m.family(),
+                args.integer("difficulty", m.difficulty()), m.skillTags(), m.requiredFlags(), m.forbiddenFlags(), min,
+                typ, max, scale, m.counterMoveId(), counter);
+    }
+}
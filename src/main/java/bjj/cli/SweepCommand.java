@@ -0,0 +1,127 @@
+package bjj.cli;
+
+import bjj.data.MoveCatalog;
+import bjj.domain.MoveFamily;
+import bjj.domain.Position;
+import bjj.engine.BatchRunner;
+import bjj.engine.MoveIndex;
+import bjj.engine.SimParams;
+import bjj.sweep.SweepAxis;
+import bjj.sweep.SweepCache;
+import bjj.sweep.SweepPoint;
+import bjj.sweep.SweepRunner;
+import bjj.sweep.SweepSpec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class SweepCommand {
+    static void run(String[] argv) throws IOException {
+        Args args = new Args(argv, 1);
+        long sessions = args.longValue("sessions", 100_000L);
+        long seed = args.longValue("seed", 1L);
+        int replicates = args.integer("replicates", 8);
+        int threads = args.integer("threads", Runtime.getRuntime().availableProcessors());
+        Position start = Position.valueOf(args.str("start", "CLOSED_GUARD_BOTTOM"));
+        String policy = args.str("policy", "random");
+
+        SweepSpec spec = new SweepSpec(axes(args));
+        List<SimParams> points = args.has("lhs")
+                ? spec.latinHypercube(args.integer("lhs", 0), args.longValue("lhs-seed", seed))
+                : spec.grid();
+
+        MoveCatalog catalog = BatchCommand.catalog(args);
+        MoveIndex index = BatchCommand.index(args, catalog);
+        if (policy.equals("fastest") || policy.equals("likeliest"))
+            index.policies().precompute(points, BatchCommand.objective(policy));
+        SweepCache cache = args.has("no-cache") ? null : new SweepCache(Path.of(args.str("cache", "target/sweep-cache")));
+        SweepRunner runner = new SweepRunner(index, catalogKey(args, catalog), policyKey(args, policy),
+                params -> BatchCommand.policy(args, index, params), start,
+                args.integer("max-steps", BatchRunner.DEFAULT_MAX_STEPS), args.integer("lanes", 0), cache);
+
+        Path out = Path.of(args.str("out", "sweep.csv"));
+        System.out.println("=== BJJ Simulator (sweep) ===");
+        System.out.println("Points: " + points.size() + " | Sessions/point: " + sessions + " | Replicates: "
+                + replicates + " | Seed: " + seed + " | Output: " + out);
+
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger hits = new AtomicInteger();
+        long t0 = System.nanoTime();
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8))) {
+            w.println(SweepPoint.csvHeader());
+            runner.run(points, sessions, replicates, seed, threads, point -> {
+                w.println(point.csvRow());
+                w.flush();
+                if (point.cached())
+                    hits.incrementAndGet();
+                int n = done.incrementAndGet();
+                System.out.printf(Locale.ROOT, "[%d/%d] %s submission %.4f%s\n", n, points.size(),
+                        point.params(), point.submissionRate(), point.cached() ? " (cached)" : "");
+            });
+        }
+        System.out.printf(Locale.ROOT, "Done in %.2f s, %d of %d points from cache\n",
+                (System.nanoTime() - t0) / 1e9, hits.get(), points.size());
+    }
+
+    private static List<SweepAxis> axes(Args args) {
+        List<String> names = new ArrayList<>(List.of("resistance", "skill", "fatigue"));
+        for (MoveFamily fam : MoveFamily.values())
+            names.add("skill-" + fam.name().toLowerCase(Locale.ROOT));
+        List<SweepAxis> axes = new ArrayList<>();
+        for (String name : names) {
+            if (args.has(name))
+                axes.add(SweepAxis.parse(name, args.str(name, null)));
+        }
+        if (axes.isEmpty())
+            throw new IllegalArgumentException("nothing to sweep: pass --resistance, --skill, --skill-<family> or --fatigue");
+        return axes;
+    }
+
+    // The catalog and empirical-duration files change every result, so their content
+    // is part of the cache key: editing moves.json without bumping its version must
+    // not serve stale points.
+    private static String catalogKey(Args args, MoveCatalog catalog) throws IOException {
+        String key;
+        if (args.has("catalog")) {
+            key = catalog.version() + "+catalog:" + sha256(Files.newInputStream(Path.of(args.str("catalog", null))));
+        } else {
+            InputStream in = SweepCommand.class.getClassLoader().getResourceAsStream("catalog/moves.json");
+            if (in == null)
+                throw new IOException("catalog/moves.json not found on classpath");
+            key = catalog.version() + "+catalog:" + sha256(in);
+        }
+        if (args.has("durations"))
+            key += "+durations:" + sha256(Files.newInputStream(Path.of(args.str("durations", null))));
+        return key;
+    }
+
+    // MCTS results also depend on the search budget and worker count.
+    private static String policyKey(Args args, String policy) {
+        if (!policy.equals("mcts"))
+            return policy;
+        return "mcts(" + BatchCommand.mctsBudget(args) + ", threads=" + args.integer("mcts-threads", 1) + ")";
+    }
+
+    // First 8 bytes of the stream's SHA-256, in hex; closes the stream.
+    private static String sha256(InputStream in) throws IOException {
+        try (DigestInputStream digest = new DigestInputStream(in, MessageDigest.getInstance("SHA-256"))) {
+            digest.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(digest.getMessageDigest().digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
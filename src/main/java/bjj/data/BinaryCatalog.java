@@ -0,0 +1,99 @@
+package bjj.data;
+
+import bjj.domain.Move;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Layout (big-endian):
+//   header   magic, format, version string, string count, move count, tag ref count
+//   strings  (int byteLength, UTF-8 bytes)*   -- ids, names, tags and counter ids, interned
+//   moves    fixed RECORD_BYTES records, see writeMove
+//   tags     int string index per tag reference
+public final class BinaryCatalog {
+    static final int MAGIC = 0x424A4A43;
+    static final int FORMAT = 1;
+    static final int HEADER_BYTES = 6 * Integer.BYTES;
+    static final int RECORD_BYTES = 72;
+    static final int NONE = -1;
+
+    public static void write(MoveCatalog catalog, Path out) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        List<Move> moves = new ArrayList<>(catalog.all());
+        int version = intern(strings, catalog.version());
+        int tagRefs = 0;
+        for (Move m : moves) {
+            intern(strings, m.id());
+            intern(strings, m.name());
+            if (m.counterMoveId() != null)
+                intern(strings, m.counterMoveId());
+            for (String t : m.skillTags())
+                intern(strings, t);
+            tagRefs += m.skillTags().size();
+        }
+
+        List<byte[]> encoded = new ArrayList<>(strings.size());
+        long stringBytes = 0;
+        for (String s : strings.keySet()) {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            encoded.add(b);
+            stringBytes += Integer.BYTES + b.length;
+        }
+        long size = HEADER_BYTES + stringBytes + (long) moves.size() * RECORD_BYTES + (long) tagRefs * Integer.BYTES;
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("catalog too large for a single mapped file: " + size + " bytes");
+
+        ByteBuffer buf = ByteBuffer.allocate((int) size);
+        buf.putInt(MAGIC).putInt(FORMAT).putInt(version).putInt(strings.size()).putInt(moves.size()).putInt(tagRefs);
+        for (byte[] b : encoded)
+            buf.putInt(b.length).put(b);
+        int tagStart = 0;
+        for (Move m : moves) {
+            writeMove(buf, m, strings, tagStart);
+            tagStart += m.skillTags().size();
+        }
+        for (Move m : moves) {
+            for (String t : m.skillTags())
+                buf.putInt(strings.get(t));
+        }
+        buf.flip();
+
+        try (FileChannel ch = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining())
+                ch.write(buf);
+        }
+    }
+
+    private static void writeMove(ByteBuffer buf, Move m, Map<String, Integer> strings, int tagStart) {
+        buf.putInt(strings.get(m.id()));
+        buf.putInt(strings.get(m.name()));
+        buf.put((byte) m.fromPosition().ordinal());
+        buf.put((byte) (m.toPosition() == null ? NONE : m.toPosition().ordinal()));
+        buf.put((byte) m.family().ordinal());
+        buf.put((byte) 0);
+        buf.putInt(m.difficulty());
+        buf.putLong(m.requiredMask());
+        buf.putLong(m.forbiddenMask());
+        buf.putInt(Math.toIntExact(m.minMs()));
+        buf.putInt(Math.toIntExact(m.typMs()));
+        buf.putInt(Math.toIntExact(m.maxMs()));
+        buf.putDouble(m.scale());
+        buf.putInt(m.counterMoveId() == null ? NONE : strings.get(m.counterMoveId()));
+        buf.putDouble(m.counterChance());
+        buf.putInt(tagStart);
+        buf.putInt(m.skillTags().size());
+    }
+
+    private static int intern(Map<String, Integer> strings, String s) {
+        return strings.computeIfAbsent(s, k -> strings.size());
+    }
+}
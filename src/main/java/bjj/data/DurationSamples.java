@@ -0,0 +1,31 @@
+package bjj.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Observed move durations, as a JSON object of move id -> array of milliseconds:
+//   { "cg_armbar": [4200, 5100, 3900], ... }
+public final class DurationSamples {
+    public static Map<String, long[]> load(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            Map<String, List<Long>> raw = new ObjectMapper().readValue(in, new TypeReference<>() {});
+            Map<String, long[]> out = new LinkedHashMap<>();
+            raw.forEach((id, samples) -> {
+                if (samples == null || samples.isEmpty())
+                    throw new IllegalArgumentException("no duration samples for " + id);
+                out.put(id, samples.stream().mapToLong(Long::longValue).toArray());
+            });
+            return out;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read duration samples " + path, e);
+        }
+    }
+}
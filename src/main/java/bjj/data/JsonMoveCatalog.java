@@ -1,56 +1,93 @@
 package bjj.data;
 
 import bjj.catalog.MoveCatalogLoader;
+import bjj.catalog.StreamingCatalogLoader;
 import bjj.domain.*;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 public final class JsonMoveCatalog implements MoveCatalog {
+    private final String version;
     private final Map<String, Move> moves;
 
+    // Both loading constructors stream the JSON: each move is validated and turned
+    // into a Move as it is read, without a DTO tree in between.
     public JsonMoveCatalog() {
+        Map<String, Move> m = new LinkedHashMap<>();
         try {
-            MoveCatalogLoader.Catalog cat = MoveCatalogLoader.loadFromResources();
-            Map<String, Move> m = new LinkedHashMap<>();
-            for (MoveCatalogLoader.MoveDTO dto : cat.moves) {
-                Position from = Position.valueOf(dto.from);
-
-                Position to = null;
-                if (dto.outcomes != null && dto.outcomes.success != null && dto.outcomes.success.to != null) {
-                    if (!"END".equals(dto.outcomes.success.to)) {
-                        to = Position.valueOf(dto.outcomes.success.to);
-                    }
-                }
+            this.version = StreamingCatalogLoader.loadFromResources(dto -> m.putIfAbsent(dto.id, toMove(dto)) == null);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load moves.json", e);
+        }
+        this.moves = Collections.unmodifiableMap(m);
+    }
 
-                MoveFamily fam = MoveFamily.valueOf(dto.family);
+    public JsonMoveCatalog(Path path) {
+        Map<String, Move> m = new LinkedHashMap<>();
+        try {
+            this.version = StreamingCatalogLoader.load(path, dto -> m.putIfAbsent(dto.id, toMove(dto)) == null);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load " + path, e);
+        }
+        this.moves = Collections.unmodifiableMap(m);
+    }
 
-                int difficulty = (int) Math.round(100 - (dto.prob.success * 100));
+    // Builds from an already validated catalog, e.g. one produced by CatalogGenerator.
+    public JsonMoveCatalog(MoveCatalogLoader.Catalog cat) {
+        Map<String, Move> m = new LinkedHashMap<>();
+        for (MoveCatalogLoader.MoveDTO dto : cat.moves)
+            m.put(dto.id, toMove(dto));
+        this.version = cat.version;
+        this.moves = Collections.unmodifiableMap(m);
+    }
 
-                Move move = new Move(
-                        dto.id,
-                        dto.name,
-                        from,
-                        to,
-                        fam,
-                        difficulty,
-                        new HashSet<>(dto.tags == null ? List.of() : dto.tags),
-                        Set.of(), // requiredFlags placeholder
-                        Set.of(), // forbiddenFlags placeholder
-                        dto.duration.min * 1000L,
-                        ((dto.duration.min + dto.duration.max) / 2) * 1000L,
-                        dto.duration.max * 1000L,
-                        10.0,
-                        null, // counterMoveId placeholder
-                        0.0 // counterChance placeholder
-                );
+    private static Move toMove(MoveCatalogLoader.MoveDTO dto) {
+        Position from = Position.valueOf(dto.from);
 
-                m.put(dto.id, move);
+        Position to = null;
+        if (dto.outcomes != null && dto.outcomes.success != null && dto.outcomes.success.to != null) {
+            if (!"END".equals(dto.outcomes.success.to)) {
+                to = Position.valueOf(dto.outcomes.success.to);
             }
-            this.moves = Collections.unmodifiableMap(m);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load moves.json", e);
         }
+
+        MoveFamily fam = MoveFamily.valueOf(dto.family);
+
+        int difficulty = (int) Math.round(100 - (dto.prob.success * 100));
+
+        return new Move(
+                dto.id,
+                dto.name,
+                from,
+                to,
+                fam,
+                difficulty,
+                new HashSet<>(dto.tags == null ? List.of() : dto.tags),
+                flags(dto.requires),
+                flags(dto.forbids),
+                dto.duration.min * 1000L,
+                ((dto.duration.min + dto.duration.max) / 2) * 1000L,
+                dto.duration.max * 1000L,
+                10.0,
+                null, // counterMoveId placeholder
+                0.0 // counterChance placeholder
+        );
+    }
+
+    private static Set<ControlFlag> flags(List<String> names) {
+        if (names == null || names.isEmpty())
+            return Set.of();
+        Set<ControlFlag> flags = EnumSet.noneOf(ControlFlag.class);
+        for (String n : names)
+            flags.add(ControlFlag.valueOf(n));
+        return flags;
+    }
+
+    @Override
+    public String version() {
+        return version;
     }
 
     @Override
@@ -0,0 +1,116 @@
+package bjj.data;
+
+import bjj.domain.*;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public final class MappedMoveCatalog implements MoveCatalog {
+    private static final Position[] POSITIONS = Position.values();
+    private static final MoveFamily[] FAMILIES = MoveFamily.values();
+
+    private final String version;
+    private final Map<String, Move> moves;
+
+    public MappedMoveCatalog(Path file) {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.remaining() < BinaryCatalog.HEADER_BYTES || buf.getInt() != BinaryCatalog.MAGIC)
+                throw new IllegalArgumentException("not a compiled move catalog: " + file);
+            int format = buf.getInt();
+            if (format != BinaryCatalog.FORMAT)
+                throw new IllegalArgumentException("unsupported catalog format " + format + " in " + file);
+            int versionRef = buf.getInt();
+            int stringCount = buf.getInt();
+            int moveCount = buf.getInt();
+            int tagRefs = buf.getInt();
+
+            String[] strings = new String[stringCount];
+            byte[] scratch = new byte[64];
+            for (int i = 0; i < stringCount; i++) {
+                int len = buf.getInt();
+                if (len > scratch.length)
+                    scratch = new byte[len];
+                buf.get(scratch, 0, len);
+                strings[i] = new String(scratch, 0, len, StandardCharsets.UTF_8);
+            }
+
+            int recordsAt = buf.position();
+            int[] tags = new int[tagRefs];
+            buf.position(recordsAt + moveCount * BinaryCatalog.RECORD_BYTES);
+            buf.asIntBuffer().get(tags);
+            buf.position(recordsAt);
+
+            Map<String, Move> m = new LinkedHashMap<>(moveCount * 4 / 3 + 1);
+            for (int i = 0; i < moveCount; i++) {
+                Move move = readMove(buf, strings, tags);
+                m.put(move.id(), move);
+            }
+            this.version = strings[versionRef];
+            this.moves = Collections.unmodifiableMap(m);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load compiled catalog " + file, e);
+        }
+    }
+
+    private static Move readMove(MappedByteBuffer buf, String[] strings, int[] tags) {
+        String id = strings[buf.getInt()];
+        String name = strings[buf.getInt()];
+        Position from = POSITIONS[buf.get()];
+        byte to = buf.get();
+        MoveFamily family = FAMILIES[buf.get()];
+        buf.get();
+        int difficulty = buf.getInt();
+        long required = buf.getLong();
+        long forbidden = buf.getLong();
+        long minMs = buf.getInt();
+        long typMs = buf.getInt();
+        long maxMs = buf.getInt();
+        double scale = buf.getDouble();
+        int counter = buf.getInt();
+        double counterChance = buf.getDouble();
+        int tagStart = buf.getInt();
+        int tagCount = buf.getInt();
+
+        Set<String> skillTags = new HashSet<>();
+        for (int t = 0; t < tagCount; t++)
+            skillTags.add(strings[tags[tagStart + t]]);
+
+        return new Move(
+                id,
+                name,
+                from,
+                to == BinaryCatalog.NONE ? null : POSITIONS[to],
+                family,
+                difficulty,
+                skillTags,
+                ControlFlag.fromMask(required),
+                ControlFlag.fromMask(forbidden),
+                minMs,
+                typMs,
+                maxMs,
+                scale,
+                counter == BinaryCatalog.NONE ? null : strings[counter],
+                counterChance);
+    }
+
+    @Override
+    public String version() {
+        return version;
+    }
+
+    @Override
+    public Collection<Move> all() {
+        return moves.values();
+    }
+
+    @Override
+    public Optional<Move> byId(String id) {
+        return Optional.ofNullable(moves.get(id));
+    }
+}
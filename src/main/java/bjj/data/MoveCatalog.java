@@ -6,6 +6,8 @@ import java.util.Collection;
 import java.util.Optional;
 
 public interface MoveCatalog {
+    String version();
+
     Collection<Move> all();
 
     Optional<Move> byId(String id);
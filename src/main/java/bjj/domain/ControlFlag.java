@@ -1,5 +1,8 @@
 package bjj.domain;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum ControlFlag {
     UNDERHOOK,
     CROSSFACE,
@@ -7,5 +10,25 @@ public enum ControlFlag {
     SEATBELT,
     KNEE_SHIELD,
     COLLAR_GRIP,
-    SLEEVE_GRIP
+    SLEEVE_GRIP;
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    public static Set<ControlFlag> fromMask(long mask) {
+        Set<ControlFlag> flags = EnumSet.noneOf(ControlFlag.class);
+        for (ControlFlag f : values()) {
+            if ((mask & f.bit()) != 0)
+                flags.add(f);
+        }
+        return flags;
+    }
+
+    public static long mask(Set<ControlFlag> flags) {
+        long m = 0L;
+        for (ControlFlag f : flags)
+            m |= f.bit();
+        return m;
+    }
 }
@@ -12,6 +12,8 @@ public final class Move {
     private final Set<String> skillTags;
     private final Set<ControlFlag> requiredFlags;
     private final Set<ControlFlag> forbiddenFlags;
+    private final long requiredMask;
+    private final long forbiddenMask;
     private final long minMs;
     private final long typMs;
     private final long maxMs;
@@ -44,6 +46,8 @@ public final class Move {
         this.skillTags = Collections.unmodifiableSet(new HashSet<>(skillTags));
         this.requiredFlags = Collections.unmodifiableSet(new HashSet<>(requiredFlags));
         this.forbiddenFlags = Collections.unmodifiableSet(new HashSet<>(forbiddenFlags));
+        this.requiredMask = ControlFlag.mask(requiredFlags);
+        this.forbiddenMask = ControlFlag.mask(forbiddenFlags);
         this.minMs = minMs;
         this.typMs = typMs;
         this.maxMs = maxMs;
@@ -88,6 +92,18 @@ public final class Move {
         return forbiddenFlags;
     }
 
+    public long requiredMask() {
+        return requiredMask;
+    }
+
+    public long forbiddenMask() {
+        return forbiddenMask;
+    }
+
+    public boolean allowedWith(long flagMask) {
+        return (flagMask & requiredMask) == requiredMask && (flagMask & forbiddenMask) == 0L;
+    }
+
     public long minMs() {
         return minMs;
     }
@@ -5,12 +5,14 @@ import java.util.*;
 public final class State {
     private final Position position;
     private final Set<ControlFlag> flags;
+    private final long flagMask;
     private final long timelineMs;
     private final double riskBuffer;
 
     public State(Position position, Set<ControlFlag> flags, long timelineMs, double riskBuffer) {
         this.position = position;
         this.flags = Collections.unmodifiableSet(new HashSet<>(flags));
+        this.flagMask = ControlFlag.mask(flags);
         this.timelineMs = timelineMs;
         this.riskBuffer = riskBuffer;
     }
@@ -23,6 +25,10 @@ public final class State {
         return flags;
     }
 
+    public long flagMask() {
+        return flagMask;
+    }
+
     public long timelineMs() {
         return timelineMs;
     }
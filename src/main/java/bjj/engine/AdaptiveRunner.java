@@ -0,0 +1,128 @@
+package bjj.engine;
+
+import bjj.domain.MoveFamily;
+import bjj.domain.Position;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Sequential sampling over several batch configurations sharing one session budget.
+// Every configuration gets a pilot round; after that each round goes to the
+// unfinished configurations that are furthest from the stopping rule (the highest
+// variance relative to the target), and a configuration drops out as soon as the
+// rule is met. Sessions keep their per-index seeds, so the first n sessions of a
+// configuration are the same whatever the allocation order.
+public final class AdaptiveRunner {
+    private final StoppingRule rule;
+    private final long round;
+    private final int threads;
+
+    public AdaptiveRunner(StoppingRule rule, long round, int threads) {
+        if (round < 2)
+            throw new IllegalArgumentException("round must be at least 2 sessions");
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be positive");
+        this.rule = rule;
+        this.round = round;
+        this.threads = threads;
+    }
+
+    public List<Arm> run(List<Arm> arms, long budget, long seed) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long used = 0;
+            List<Arm> pending = new ArrayList<>(arms);
+            while (!pending.isEmpty() && used < budget) {
+                // Pilot round for arms without data, then the neediest arms first.
+                pending.sort(Comparator.comparingDouble(a -> a.result.sessions() == 0
+                        ? Double.NEGATIVE_INFINITY : -rule.distance(a.result)));
+                int picked = 0;
+                List<ForkJoinTask<BatchResult>> tasks = new ArrayList<>();
+                List<Arm> owners = new ArrayList<>();
+                for (Arm arm : pending) {
+                    if (used >= budget || (picked >= threads && arm.result.sessions() > 0))
+                        break;
+                    long n = Math.min(round, budget - used);
+                    used += n;
+                    picked++;
+                    long from = arm.result.sessions();
+                    int parts = (int) Math.max(1, Math.min(n / 1_000, threads));
+                    for (int i = 0; i < parts; i++) {
+                        long lo = from + n * i / parts;
+                        long hi = from + n * (i + 1) / parts;
+                        tasks.add(pool.submit(() -> arm.runner.runRange(arm.start, lo, hi, seed)));
+                        owners.add(arm);
+                    }
+                }
+                for (int i = 0; i < tasks.size(); i++)
+                    owners.get(i).result.merge(tasks.get(i).join());
+                for (Arm arm : pending)
+                    arm.converged = rule.satisfied(arm.result);
+                pending.removeIf(arm -> arm.converged);
+            }
+            return arms;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public String render(List<Arm> arms) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-28s %-10s %-24s %-26s %s\n", "Configuration", "Sessions", "P(sub) [CI]",
+                "Mean time ms [CI]", "Status"));
+        for (Arm arm : arms) {
+            Interval p = rule.submissionRate(arm.result);
+            Interval t = rule.meanTime(arm.result);
+            sb.append(String.format("%-28s %-10d %.4f [%.4f, %.4f]  %-9.1f [%.1f, %.1f]  %s\n", arm.label,
+                    arm.result.sessions(), p.estimate(), p.low(), p.high(), t.estimate(), t.low(), t.high(),
+                    arm.converged ? "converged" : "budget"));
+        }
+        return sb.toString();
+    }
+
+    // Per-family success rate of attempted moves, with Wilson intervals.
+    public String renderFamilies(Arm arm) {
+        StringBuilder sb = new StringBuilder();
+        Analytics a = arm.result.analytics();
+        for (MoveFamily f : MoveFamily.values()) {
+            long attempts = 0;
+            for (Outcome o : Outcome.values())
+                attempts += a.count(f, o);
+            if (attempts == 0)
+                continue;
+            Interval ci = Interval.wilson(a.count(f, Outcome.SUCCESS), attempts, rule.z());
+            sb.append(String.format("  %-12s %-10d %.4f [%.4f, %.4f]\n", f, attempts, ci.estimate(), ci.low(),
+                    ci.high()));
+        }
+        return sb.toString();
+    }
+
+    public static final class Arm {
+        private final String label;
+        private final BatchRunner runner;
+        private final Position start;
+        private final BatchResult result = new BatchResult();
+        private boolean converged;
+
+        public Arm(String label, BatchRunner runner, Position start) {
+            this.label = label;
+            this.runner = runner;
+            this.start = start;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public BatchResult result() {
+            return result;
+        }
+
+        public boolean converged() {
+            return converged;
+        }
+    }
+}
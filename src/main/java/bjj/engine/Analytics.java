@@ -3,48 +3,99 @@ package bjj.engine;
 import bjj.domain.Move;
 import bjj.domain.MoveFamily;
 
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
-public final class Analytics {
-    private final Map<MoveFamily, Integer> succ = new EnumMap<>(MoveFamily.class);
-    private final Map<MoveFamily, Integer> part = new EnumMap<>(MoveFamily.class);
-    private final Map<MoveFamily, Integer> fail = new EnumMap<>(MoveFamily.class);
-    private long totalMs = 0;
+public final class Analytics implements StepSink {
+    private static final MoveFamily[] FAMILIES = MoveFamily.values();
+    private static final int OUTCOMES = Outcome.values().length;
+
+    private final LongAdder[] counts = new LongAdder[FAMILIES.length * OUTCOMES];
+    private final LongAdder totalMs = new LongAdder();
+    private final LogHistogram moveMs = new LogHistogram();
+    private final LogHistogram sessionMs = new LogHistogram();
 
     public Analytics() {
-        for (MoveFamily f : MoveFamily.values()) {
-            succ.put(f, 0);
-            part.put(f, 0);
-            fail.put(f, 0);
-        }
+        for (int i = 0; i < counts.length; i++)
+            counts[i] = new LongAdder();
+    }
+
+    @Override
+    public void onStep(Move move, Outcome outcome, long durationMs, SessionCursor after) {
+        record(move.family(), outcome, durationMs);
     }
 
     public void record(Move move, StepResult r) {
-        MoveFamily f = move.family();
-        String o = String.valueOf(r.outcome());
-        if ("SUCCESS".equals(o)) {
-            succ.put(f, succ.get(f) + 1);
-        } else if ("PARTIAL".equals(o)) {
-            part.put(f, part.get(f) + 1);
-        } else {
-            fail.put(f, fail.get(f) + 1);
+        record(move.family(), r.outcome(), r.durationMs());
+    }
+
+    public void record(MoveFamily f, Outcome outcome, long durationMs) {
+        counts[f.ordinal() * OUTCOMES + outcome.ordinal()].increment();
+        totalMs.add(durationMs);
+        moveMs.record(durationMs);
+    }
+
+    void add(StepTally tally) {
+        for (int i = 0; i < counts.length; i++) {
+            if (tally.counts[i] != 0)
+                counts[i].add(tally.counts[i]);
         }
-        totalMs = r.newState().timelineMs();
+        totalMs.add(tally.totalMs);
+        moveMs.addBuckets(tally.durationBuckets, tally.totalMs, tally.maxMs);
+        tally.clear();
+    }
+
+    public void recordSession(long timelineMs) {
+        sessionMs.record(timelineMs);
+    }
+
+    public Analytics merge(Analytics other) {
+        for (int i = 0; i < counts.length; i++)
+            counts[i].add(other.counts[i].sum());
+        totalMs.add(other.totalMs.sum());
+        moveMs.merge(other.moveMs);
+        sessionMs.merge(other.sessionMs);
+        return this;
+    }
+
+    public long count(MoveFamily f, Outcome outcome) {
+        return counts[f.ordinal() * OUTCOMES + outcome.ordinal()].sum();
+    }
+
+    public long totalMs() {
+        return totalMs.sum();
+    }
+
+    public LogHistogram moveDurations() {
+        return moveMs;
+    }
+
+    public LogHistogram sessionLengths() {
+        return sessionMs;
     }
 
     public String render() {
         StringBuilder sb = new StringBuilder();
-        sb.append("Total time: ").append(totalMs).append(" ms\n");
-        sb.append(String.format("%-12s %-8s %-8s %-8s %-8s\n", "Family", "Succ", "Part", "Fail", "Rate"));
-        for (MoveFamily f : MoveFamily.values()) {
-            int s = succ.get(f);
-            int p = part.get(f);
-            int fa = fail.get(f);
-            int tot = s + p + fa;
+        sb.append("Total time: ").append(totalMs.sum()).append(" ms\n");
+        sb.append(String.format("%-12s %-10s %-10s %-10s %-10s %-8s\n", "Family", "Succ", "Part", "Fail", "Counter",
+                "Rate"));
+        for (MoveFamily f : FAMILIES) {
+            long s = count(f, Outcome.SUCCESS);
+            long p = count(f, Outcome.PARTIAL);
+            long fa = count(f, Outcome.FAIL);
+            long c = count(f, Outcome.FAIL_COUNTER);
+            long tot = s + p + fa + c;
             double rate = tot == 0 ? 0.0 : (s / (double) tot);
-            sb.append(String.format("%-12s %-8d %-8d %-8d %-8.2f\n", f, s, p, fa, rate));
+            sb.append(String.format("%-12s %-10d %-10d %-10d %-10d %-8.2f\n", f, s, p, fa, c, rate));
         }
+        sb.append(String.format("%-12s %-10s %-10s %-10s %-10s\n", "Latency ms", "p50", "p99", "max", "mean"));
+        appendLatency(sb, "Move", moveMs);
+        if (sessionMs.count() > 0)
+            appendLatency(sb, "Session", sessionMs);
         return sb.toString();
     }
+
+    private static void appendLatency(StringBuilder sb, String label, LogHistogram h) {
+        sb.append(String.format("%-12s %-10d %-10d %-10d %-10.1f\n", label, h.percentile(0.50), h.percentile(0.99),
+                h.max(), h.mean()));
+    }
 }
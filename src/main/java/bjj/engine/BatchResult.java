@@ -0,0 +1,99 @@
+package bjj.engine;
+
+public final class BatchResult {
+    private final Analytics analytics;
+    private long sessions;
+    private long submissions;
+    private long stalls;
+    private long capped;
+    private long steps;
+    private long totalTimeMs;
+    private final RunningStats sessionTime = new RunningStats();
+
+    public BatchResult() {
+        this(new Analytics());
+    }
+
+    public BatchResult(Analytics analytics) {
+        this.analytics = analytics;
+    }
+
+    public void recordSession(SessionEnd end, long sessionSteps, long timelineMs) {
+        analytics.recordSession(timelineMs);
+        sessions++;
+        steps += sessionSteps;
+        totalTimeMs += timelineMs;
+        sessionTime.add(timelineMs);
+        switch (end) {
+            case SUBMISSION -> submissions++;
+            case STALLED -> stalls++;
+            case STEP_LIMIT -> capped++;
+        }
+    }
+
+    public BatchResult merge(BatchResult other) {
+        analytics.merge(other.analytics);
+        sessions += other.sessions;
+        submissions += other.submissions;
+        stalls += other.stalls;
+        capped += other.capped;
+        steps += other.steps;
+        totalTimeMs += other.totalTimeMs;
+        sessionTime.merge(other.sessionTime);
+        return this;
+    }
+
+    public Analytics analytics() {
+        return analytics;
+    }
+
+    public long sessions() {
+        return sessions;
+    }
+
+    public long submissions() {
+        return submissions;
+    }
+
+    public long stalls() {
+        return stalls;
+    }
+
+    public long capped() {
+        return capped;
+    }
+
+    public long steps() {
+        return steps;
+    }
+
+    public long totalTimeMs() {
+        return totalTimeMs;
+    }
+
+    public RunningStats sessionTime() {
+        return sessionTime;
+    }
+
+    public double submissionRate() {
+        return sessions == 0 ? 0.0 : submissions / (double) sessions;
+    }
+
+    public String render() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Sessions:    %d\n", sessions));
+        sb.append(String.format("Submissions: %d (%.4f)\n", submissions, submissionRate()));
+        sb.append(String.format("Stalled:     %d\n", stalls));
+        sb.append(String.format("Step limit:  %d\n", capped));
+        sb.append(String.format("Steps:       %d (%.2f per session)\n", steps,
+                sessions == 0 ? 0.0 : steps / (double) sessions));
+        sb.append(String.format("Mean time:   %.1f ms\n", sessions == 0 ? 0.0 : totalTimeMs / (double) sessions));
+        return sb.toString();
+    }
+
+    public enum SessionEnd {
+        SUBMISSION,
+        STALLED,
+        STEP_LIMIT
+    }
+}
@@ -0,0 +1,157 @@
+package bjj.engine;
+
+import bjj.data.MoveCatalog;
+import bjj.domain.Move;
+import bjj.domain.Position;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public final class BatchRunner {
+    public static final int DEFAULT_MAX_STEPS = 200;
+
+    private final Simulator sim;
+    private final SimParams params;
+    private final MovePolicy policy;
+    private final int maxSteps;
+    private final LockstepEngine lockstep;
+
+    public BatchRunner(MoveCatalog catalog, SimParams params, MovePolicy policy) {
+        this(catalog, params, policy, DEFAULT_MAX_STEPS);
+    }
+
+    public BatchRunner(MoveCatalog catalog, SimParams params, MovePolicy policy, int maxSteps) {
+        this(new MoveIndex(catalog.all()), params, policy, maxSteps);
+    }
+
+    public BatchRunner(MoveIndex index, SimParams params, MovePolicy policy, int maxSteps) {
+        this(index, params, policy, maxSteps, 0);
+    }
+
+    // lanes > 0 steps that many sessions per worker in lockstep (see LockstepEngine);
+    // 0 runs them one after another. Both give identical results for a seed.
+    public BatchRunner(MoveIndex index, SimParams params, MovePolicy policy, int maxSteps, int lanes) {
+        if (maxSteps < 1)
+            throw new IllegalArgumentException("maxSteps must be positive");
+        if (lanes < 0)
+            throw new IllegalArgumentException("lanes negative");
+        this.sim = new Simulator(index);
+        this.params = params;
+        this.policy = policy;
+        this.maxSteps = maxSteps;
+        this.lockstep = lanes == 0 ? null : new LockstepEngine(index, params, policy, maxSteps, lanes);
+    }
+
+    public BatchResult run(Position start, long sessions, long seed, int threads) {
+        return run(start, sessions, seed, threads, null);
+    }
+
+    // As run, also passing every step to a recorder opened per leaf range.
+    public BatchResult run(Position start, long sessions, long seed, int threads, StepRecorder.Factory recorders) {
+        if (sessions < 0)
+            throw new IllegalArgumentException("sessions negative");
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be positive");
+        if (recorders != null && lockstep != null)
+            throw new IllegalArgumentException("step recording needs the scalar engine (lanes = 0)");
+        long leaf = Math.max(1_000L, sessions / (threads * 8L));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new Chunk(start, 0, sessions, seed, leaf, recorders));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Sessions [from, to) of the batch seeded by seed; ranges compose exactly into run().
+    public BatchResult runRange(Position start, long from, long to, long seed) {
+        if (lockstep != null)
+            return lockstep.runRange(start, from, to, seed);
+        return simulate(start, from, to, seed, null);
+    }
+
+    // Session `session` of the batch seeded by seed on its own, passing each step to recorder.
+    public BatchResult runSession(Position start, long session, long seed, StepRecorder recorder) {
+        return simulate(start, session, session + 1, seed, recorder);
+    }
+
+    private BatchResult recordRange(Position start, long from, long to, long seed, StepRecorder.Factory recorders) {
+        try (StepRecorder recorder = recorders.open(from, to)) {
+            return simulate(start, from, to, seed, recorder);
+        } catch (IOException e) {
+            throw new RuntimeException("step recorder failed for sessions " + from + "-" + to, e);
+        }
+    }
+
+    // Steps are tallied on this thread and published to the result's Analytics once,
+    // as LockstepEngine does.
+    private BatchResult simulate(Position start, long from, long to, long seed, StepRecorder recorder) {
+        BatchResult result = new BatchResult();
+        StepTally tally = new StepTally();
+        MoveIndex index = sim.index();
+        CompiledParams compiled = index.compile(params);
+        SessionCursor cursor = new SessionCursor();
+        for (long i = from; i < to; i++) {
+            SplittableRandom rng = new SplittableRandom(Seeds.sessionSeed(seed, i));
+            cursor.reset(start, 0L);
+            BatchResult.SessionEnd end = BatchResult.SessionEnd.STEP_LIMIT;
+            int steps = 0;
+            while (steps < maxSteps) {
+                Move[] eligible = index.eligibleArray(cursor.position(), cursor.flags());
+                if (eligible.length == 0) {
+                    end = BatchResult.SessionEnd.STALLED;
+                    break;
+                }
+                int choice = policy.choose(cursor, eligible, rng);
+                int ordinal = index.eligibleOrdinals(cursor.position(), cursor.flags())[choice];
+                Outcome out = sim.advance(cursor, ordinal, compiled, rng);
+                tally.record(eligible[choice].family(), out, cursor.lastDurationMs());
+                if (recorder != null)
+                    recorder.step(ordinal, out, cursor.lastDurationMs(), cursor.position(), cursor.timelineMs());
+                steps++;
+                if (cursor.ended()) {
+                    end = BatchResult.SessionEnd.SUBMISSION;
+                    break;
+                }
+            }
+            result.recordSession(end, steps, cursor.timelineMs());
+            if (recorder != null)
+                recorder.endSession(end, cursor.timelineMs());
+        }
+        result.analytics().add(tally);
+        return result;
+    }
+
+    private final class Chunk extends RecursiveTask<BatchResult> {
+        private final Position start;
+        private final long from;
+        private final long to;
+        private final long seed;
+        private final long leaf;
+        private final StepRecorder.Factory recorders;
+
+        Chunk(Position start, long from, long to, long seed, long leaf, StepRecorder.Factory recorders) {
+            this.start = start;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.leaf = leaf;
+            this.recorders = recorders;
+        }
+
+        @Override
+        protected BatchResult compute() {
+            if (to - from <= leaf) {
+                return recorders == null ? runRange(start, from, to, seed)
+                        : recordRange(start, from, to, seed, recorders);
+            }
+            long mid = from + (to - from) / 2;
+            Chunk left = new Chunk(start, from, mid, seed, leaf, recorders);
+            left.fork();
+            BatchResult right = new Chunk(start, mid, to, seed, leaf, recorders).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+import bjj.domain.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// A/B comparison of two move catalogs under common random numbers: session i is run
+// once against each catalog, and decision k of that session draws from a stream
+// seeded by (seed, i, k) in both. When the catalogs agree on the eligible moves the
+// two sessions take the same choices and rolls until an edited move makes them
+// diverge, so the per-session differences have far less variance than the
+// difference of two independent runs.
+public final class CatalogComparison {
+    private final Arm baseline;
+    private final Arm candidate;
+    private final int maxSteps;
+
+    public CatalogComparison(MoveIndex baseline, MovePolicy baselinePolicy, MoveIndex candidate,
+            MovePolicy candidatePolicy, SimParams params, int maxSteps) {
+        if (maxSteps < 1)
+            throw new IllegalArgumentException("maxSteps must be positive");
+        this.baseline = new Arm(baseline, baselinePolicy, params);
+        this.candidate = new Arm(candidate, candidatePolicy, params);
+        this.maxSteps = maxSteps;
+    }
+
+    public List<PairedResult> run(List<Position> starts, long sessions, long seed, int threads) {
+        if (sessions < 2)
+            throw new IllegalArgumentException("need at least 2 sessions");
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be positive");
+        long leaf = Math.max(1_000L, sessions / (threads * 8L));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<PairedResult> out = new ArrayList<>();
+            for (Position start : starts)
+                out.add(pool.invoke(new Chunk(start, 0, sessions, seed, leaf)));
+            return out;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    PairedResult runRange(Position start, long from, long to, long seed) {
+        PairedResult acc = new PairedResult(start);
+        SessionCursor a = new SessionCursor();
+        SessionCursor b = new SessionCursor();
+        DecisionStream rng = new DecisionStream();
+        for (long i = from; i < to; i++) {
+            long sessionSeed = Seeds.sessionSeed(seed, i);
+            baseline.play(a, start, sessionSeed, rng, maxSteps);
+            candidate.play(b, start, sessionSeed, rng, maxSteps);
+            acc.add(a.ended(), a.timelineMs(), b.ended(), b.timelineMs());
+        }
+        return acc;
+    }
+
+    private static final class Arm {
+        private final MoveIndex index;
+        private final MovePolicy policy;
+        private final Simulator sim;
+        private final CompiledParams compiled;
+
+        Arm(MoveIndex index, MovePolicy policy, SimParams params) {
+            this.index = index;
+            this.policy = policy;
+            this.sim = new Simulator(index);
+            this.compiled = index.compile(params);
+        }
+
+        void play(SessionCursor cursor, Position start, long sessionSeed, DecisionStream rng, int maxSteps) {
+            cursor.reset(start, 0L);
+            for (int step = 0; step < maxSteps; step++) {
+                Move[] eligible = index.eligibleArray(cursor.position(), cursor.flags());
+                if (eligible.length == 0)
+                    return;
+                rng.reset(Seeds.sessionSeed(sessionSeed, step));
+                int choice = policy.choose(cursor, eligible, rng);
+                sim.advance(cursor, index.eligibleOrdinals(cursor.position(), cursor.flags())[choice], compiled, rng);
+                if (cursor.ended())
+                    return;
+            }
+        }
+    }
+
+    private final class Chunk extends RecursiveTask<PairedResult> {
+        private final Position start;
+        private final long from;
+        private final long to;
+        private final long seed;
+        private final long leaf;
+
+        Chunk(Position start, long from, long to, long seed, long leaf) {
+            this.start = start;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected PairedResult compute() {
+            if (to - from <= leaf) {
+                return runRange(start, from, to, seed);
+            }
+            long mid = from + (to - from) / 2;
+            Chunk left = new Chunk(start, from, mid, seed, leaf);
+            left.fork();
+            PairedResult right = new Chunk(start, mid, to, seed, leaf).compute();
+            return left.join().merge(right);
+        }
+    }
+}
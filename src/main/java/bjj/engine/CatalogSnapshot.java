@@ -0,0 +1,40 @@
+package bjj.engine;
+
+import bjj.data.MoveCatalog;
+
+// One immutable generation of a reloadable catalog: the catalog and everything
+// derived from it. Work that starts on a snapshot should keep using it to the end.
+public final class CatalogSnapshot {
+    private final MoveCatalog catalog;
+    private final MoveIndex index;
+    private final long generation;
+    private final long loadedAtMillis;
+
+    CatalogSnapshot(MoveCatalog catalog, MoveIndex index, long generation, long loadedAtMillis) {
+        this.catalog = catalog;
+        this.index = index;
+        this.generation = generation;
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    public MoveCatalog catalog() {
+        return catalog;
+    }
+
+    public MoveIndex index() {
+        return index;
+    }
+
+    public String version() {
+        return catalog.version();
+    }
+
+    // 1 for the initial load, +1 per successful reload.
+    public long generation() {
+        return generation;
+    }
+
+    public long loadedAtMillis() {
+        return loadedAtMillis;
+    }
+}
@@ -0,0 +1,65 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+
+// SimParams folded into per-move constants for the hot path. Only the risk buffer
+// varies within a session: with fatigue off every probability is precomputed
+// exactly, otherwise the fatigue term is applied to a stored base logit and
+// resolved with Probability.fastSigmoid.
+public final class CompiledParams {
+    private final SimParams params;
+    private final double[] baseLogit;
+    private final double[] fixedProbability;
+    private final double fatigueSlope;
+
+    CompiledParams(MoveIndex index, SimParams params) {
+        this.params = params;
+        int n = index.size();
+        this.baseLogit = new double[n];
+        this.fixedProbability = new double[n];
+        this.fatigueSlope = (params.fatigueRate() / 100.0) * 2.0;
+        double resistanceAdj = (params.resistance() - 50.0) / 12.0;
+        for (int i = 0; i < n; i++) {
+            Move move = index.move(i);
+            int userSkill = params.skillByFamily().getOrDefault(move.family(), 50);
+            baseLogit[i] = (userSkill - move.difficulty()) / move.scale() - resistanceAdj;
+            fixedProbability[i] = Simulator.successProbability(move, params, 0.0);
+        }
+    }
+
+    private CompiledParams(CompiledParams base) {
+        this.params = base.params;
+        this.baseLogit = base.baseLogit.clone();
+        this.fixedProbability = base.fixedProbability.clone();
+        this.fatigueSlope = base.fatigueSlope;
+    }
+
+    CompiledParams withMove(int ordinal, Move move) {
+        CompiledParams copy = new CompiledParams(this);
+        int userSkill = params.skillByFamily().getOrDefault(move.family(), 50);
+        copy.baseLogit[ordinal] = (userSkill - move.difficulty()) / move.scale() - (params.resistance() - 50.0) / 12.0;
+        copy.fixedProbability[ordinal] = Simulator.successProbability(move, params, 0.0);
+        return copy;
+    }
+
+    public SimParams params() {
+        return params;
+    }
+
+    public double successProbability(int ordinal, double riskBuffer) {
+        if (fatigueSlope == 0.0)
+            return fixedProbability[ordinal];
+        return Probability.fastSigmoid(baseLogit[ordinal] - fatigueSlope * riskBuffer);
+    }
+
+    // Bulk form for the lockstep engine: out[k] = successProbability(ordinals[k], risk[k]).
+    public void successProbabilities(int[] ordinals, double[] riskBuffers, double[] out, int count) {
+        if (fatigueSlope == 0.0) {
+            for (int k = 0; k < count; k++)
+                out[k] = fixedProbability[ordinals[k]];
+            return;
+        }
+        for (int k = 0; k < count; k++)
+            out[k] = Probability.fastSigmoid(baseLogit[ordinals[k]] - fatigueSlope * riskBuffers[k]);
+    }
+}
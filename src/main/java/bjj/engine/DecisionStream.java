@@ -0,0 +1,23 @@
+package bjj.engine;
+
+import java.util.random.RandomGenerator;
+
+// Reseedable SplitMix64 generator. The comparison runner reseeds it per decision
+// from (session, step), so two catalogs see the same uniforms at the same decision
+// however many draws each one consumed before it.
+final class DecisionStream implements RandomGenerator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    DecisionStream reset(long seed) {
+        this.state = seed;
+        return this;
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return Seeds.mix64(state);
+    }
+}
@@ -0,0 +1,96 @@
+package bjj.engine;
+
+import bjj.domain.Position;
+
+// Per start position, the CDFs of match length (ended by submission or stall) and of
+// the time to submission, at 0, gridMs, 2 gridMs, ... up to the horizon. Time is
+// resolved to about one grid step. The submission CDF levels off at the submission
+// probability, not 1; whatever both miss at the horizon is still running then.
+public final class DurationDistribution {
+    private final long gridMs;
+    private final long horizonMs;
+    private final double[][] submission;
+    private final double[][] length;
+
+    DurationDistribution(long gridMs, long horizonMs, double[][] submission, double[][] length) {
+        this.gridMs = gridMs;
+        this.horizonMs = horizonMs;
+        this.submission = submission;
+        this.length = length;
+    }
+
+    public long gridMs() {
+        return gridMs;
+    }
+
+    public long horizonMs() {
+        return horizonMs;
+    }
+
+    public int points() {
+        return length[0].length;
+    }
+
+    public double lengthCdf(Position start, long ms) {
+        return at(length[start.ordinal()], ms);
+    }
+
+    public double submissionCdf(Position start, long ms) {
+        return at(submission[start.ordinal()], ms);
+    }
+
+    public double[] lengthCdf(Position start) {
+        return length[start.ordinal()].clone();
+    }
+
+    public double[] submissionCdf(Position start) {
+        return submission[start.ordinal()].clone();
+    }
+
+    // Smallest grid time at which the CDF reaches q, or -1 if not within the horizon.
+    public long lengthQuantileMs(Position start, double q) {
+        return quantile(length[start.ordinal()], q);
+    }
+
+    public long submissionQuantileMs(Position start, double q) {
+        return quantile(submission[start.ordinal()], q);
+    }
+
+    public String render() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-22s %-10s %-10s %-10s %-10s %-10s\n", "Start", "P(sub)", "P(over)", "p50 s",
+                "p90 s", "p99 s"));
+        for (Position p : Position.values()) {
+            sb.append(String.format("%-22s %-10.4f %-10.4f %-10s %-10s %-10s\n", p, submissionCdf(p, horizonMs),
+                    lengthCdf(p, horizonMs), seconds(lengthQuantileMs(p, 0.5)), seconds(lengthQuantileMs(p, 0.9)),
+                    seconds(lengthQuantileMs(p, 0.99))));
+        }
+        sb.append(String.format("(by the %.0f s horizon, on a %d ms grid)\n", horizonMs / 1000.0, gridMs));
+        return sb.toString();
+    }
+
+    private double at(double[] cdf, long ms) {
+        if (ms < 0)
+            return 0.0;
+        return cdf[(int) Math.min(cdf.length - 1, ms / gridMs)];
+    }
+
+    private long quantile(double[] cdf, double q) {
+        if (q < 0 || q > 1)
+            throw new IllegalArgumentException("quantile must be in [0, 1]");
+        int lo = 0;
+        int hi = cdf.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cdf[mid] >= q)
+                hi = mid;
+            else
+                lo = mid + 1;
+        }
+        return lo == cdf.length ? -1 : lo * gridMs;
+    }
+
+    private static String seconds(long ms) {
+        return ms < 0 ? "-" : String.format("%.1f", ms / 1000.0);
+    }
+}
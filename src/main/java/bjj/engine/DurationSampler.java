@@ -1,11 +1,17 @@
 package bjj.engine;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public final class DurationSampler {
-    public static long triangular(Random r, long min, long typ, long max) {
+    public static long triangular(RandomGenerator r, long min, long typ, long max) {
+        return triangularQuantile(r.nextDouble(), min, typ, max);
+    }
+
+    // Inverse CDF of the triangular distribution; a zero-width range is a point mass.
+    static long triangularQuantile(double u, long min, long typ, long max) {
+        if (max <= min)
+            return min;
         double f = (double) (typ - min) / (double) (max - min);
-        double u = r.nextDouble();
         if (u < f) {
             return (long) (min + Math.sqrt(u * (max - min) * (typ - min)));
         } else {
@@ -0,0 +1,255 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+import bjj.domain.Position;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+// Exact distributions of match length and time to submission for the chain in a
+// TransitionModel, without sampling. Each move's duration table is put on a grid of
+// gridMs, with every quantile's mass split linearly between its two neighbouring
+// points so means stay exact, and moved to the frequency domain with an FFT. A
+// session's length is the sum of independent step durations along its path, so at
+// each frequency the transform of the time to finish from state s satisfies
+//   x_s = sum_a pi(a|s) d_a * sum_b P(b|a) x_next(a,b),   x_END = 1,
+// (stalled states are 1 for match length, 0 for submission). That system is solved
+// per frequency by Gauss-Seidel, warm-started from the previous frequency, and
+// inverted back. Densities are damped by e^(-theta t) before the transform so mass
+// beyond the FFT period (at least twice the horizon) wraps around scaled by ALIAS
+// and leaves [0, horizon] clean. As in MarkovSolver the step cap is ignored.
+public final class DurationSolver {
+    public static final long DEFAULT_GRID_MS = 250;
+    public static final long DEFAULT_HORIZON_MS = 3_600_000;
+    private static final double ALIAS = 1e-10;
+    private static final double TOLERANCE = 1e-13;
+    private static final int MAX_SWEEPS = 1_000_000;
+    private static final int MAX_POINTS = 1 << 24;
+
+    public static DurationDistribution solve(TransitionModel model, ExplicitPolicy policy) {
+        return solve(model, policy, DEFAULT_GRID_MS, DEFAULT_HORIZON_MS);
+    }
+
+    public static DurationDistribution solve(TransitionModel model, ExplicitPolicy policy, long gridMs, long horizonMs) {
+        if (gridMs <= 0)
+            throw new IllegalArgumentException("grid must be positive");
+        if (horizonMs < gridMs)
+            throw new IllegalArgumentException("horizon must be at least one grid step");
+        if (horizonMs / gridMs >= MAX_POINTS)
+            throw new IllegalArgumentException("horizon / grid must be below " + MAX_POINTS);
+        int points = (int) (horizonMs / gridMs) + 1;
+        int size = Integer.highestOneBit(2 * points - 1) << 1;
+        double theta = -Math.log(ALIAS) / size;
+        Chain chain = new Chain(model, policy, gridMs, size, theta);
+
+        int positions = Position.values().length;
+        double[][] subRe = new double[positions][size];
+        double[][] subIm = new double[positions][size];
+        double[][] lenRe = new double[positions][size];
+        double[][] lenIm = new double[positions][size];
+        for (int k = 0; k <= size / 2; k++) {
+            chain.solve(k);
+            for (int p = 0; p < positions; p++) {
+                int s = model.state(p, 0);
+                subRe[p][k] = chain.subRe[s];
+                subIm[p][k] = chain.subIm[s];
+                lenRe[p][k] = chain.lenRe[s];
+                lenIm[p][k] = chain.lenIm[s];
+            }
+        }
+
+        double[][] submission = new double[positions][];
+        double[][] length = new double[positions][];
+        for (int p = 0; p < positions; p++) {
+            submission[p] = cdf(subRe[p], subIm[p], points, theta);
+            length[p] = cdf(lenRe[p], lenIm[p], points, theta);
+        }
+        return new DurationDistribution(gridMs, horizonMs, submission, length);
+    }
+
+    // Real densities have conjugate-symmetric spectra, so only [0, size/2] is solved.
+    private static double[] cdf(double[] re, double[] im, int points, double theta) {
+        int size = re.length;
+        for (int k = size / 2 + 1; k < size; k++) {
+            re[k] = re[size - k];
+            im[k] = -im[size - k];
+        }
+        Fft.inverse(re, im);
+        double[] out = new double[points];
+        double sum = 0.0;
+        for (int t = 0; t < points; t++) {
+            sum += re[t] * Math.exp(theta * t);
+            out[t] = sum;
+        }
+        return out;
+    }
+
+    // The policy-weighted chain flattened for the per-frequency sweeps: each state's
+    // distinct successors are its slots, and every (action, branch) with non-zero
+    // probability is a term adding weight * spectrum to one slot.
+    private static final class Chain {
+        private final int n;
+        private final boolean[] active;
+        private final int[] slotStart;
+        private final int[] slotTarget;
+        private final int[] termSlot;
+        private final int[] termSpectrum;
+        private final double[] termWeight;
+        private final int terms;
+        private final double[][] specRe;
+        private final double[][] specIm;
+        private final double[] coefRe;
+        private final double[] coefIm;
+        final double[] subRe;
+        final double[] subIm;
+        final double[] lenRe;
+        final double[] lenIm;
+
+        Chain(TransitionModel model, ExplicitPolicy policy, long gridMs, int size, double theta) {
+            this.n = model.states();
+            int end = model.end();
+            this.active = new boolean[n];
+            this.slotStart = new int[n + 1];
+            int maxTerms = model.actions() * TransitionModel.BRANCHES;
+            this.slotTarget = new int[maxTerms];
+            this.termSlot = new int[maxTerms];
+            this.termSpectrum = new int[maxTerms];
+            this.termWeight = new double[maxTerms];
+            this.subRe = new double[n + 1];
+            this.subIm = new double[n + 1];
+            this.lenRe = new double[n + 1];
+            this.lenIm = new double[n + 1];
+            subRe[end] = 1.0;
+            lenRe[end] = 1.0;
+
+            DurationTable durations = model.index().durations();
+            Map<int[], Integer> spectra = new IdentityHashMap<>();
+            double[] w = new double[MarkovSolver.maxActions(model)];
+            SessionCursor cursor = new SessionCursor();
+            int slots = 0;
+            int t = 0;
+            for (int s = 0; s < n; s++) {
+                slotStart[s] = slots;
+                Move[] eligible = model.eligible(s);
+                if (eligible.length == 0) {
+                    lenRe[s] = 1.0;
+                    continue;
+                }
+                active[s] = true;
+                cursor.load(model.positionOrdinal(s), model.flagMask(), 0L, model.riskBuffer(model.riskLevel(s)));
+                policy.weights(cursor, eligible, w);
+                int first = model.actionStart(s);
+                for (int j = 0; j < eligible.length; j++) {
+                    if (w[j] == 0.0)
+                        continue;
+                    int act = first + j;
+                    int[] table = durations.quantiles(model.index().ordinal(model.move(act)));
+                    Integer spectrum = spectra.get(table);
+                    if (spectrum == null) {
+                        spectrum = spectra.size();
+                        spectra.put(table, spectrum);
+                    }
+                    for (int b = 0; b < TransitionModel.BRANCHES; b++) {
+                        double pr = w[j] * model.prob(act, b);
+                        if (pr == 0.0)
+                            continue;
+                        int next = model.next(act, b);
+                        int slot = -1;
+                        for (int k = slotStart[s]; k < slots; k++) {
+                            if (slotTarget[k] == next)
+                                slot = k;
+                        }
+                        if (slot < 0) {
+                            slot = slots++;
+                            slotTarget[slot] = next;
+                        }
+                        termSlot[t] = slot;
+                        termSpectrum[t] = spectrum;
+                        termWeight[t] = pr;
+                        t++;
+                    }
+                }
+            }
+            slotStart[n] = slots;
+            this.terms = t;
+            this.coefRe = new double[slots];
+            this.coefIm = new double[slots];
+
+            this.specRe = new double[spectra.size()][];
+            this.specIm = new double[spectra.size()][];
+            for (Map.Entry<int[], Integer> e : spectra.entrySet())
+                spectrum(e.getKey(), e.getValue(), gridMs, size, theta);
+        }
+
+        private void spectrum(int[] table, int id, long gridMs, int size, double theta) {
+            double[] re = new double[size];
+            double[] im = new double[size];
+            double mass = 1.0 / table.length;
+            for (int ms : table) {
+                double x = ms / (double) gridMs;
+                int lo = (int) x;
+                if (lo + 1 >= size)
+                    throw new IllegalArgumentException("a move lasts longer than twice the horizon: " + ms + " ms");
+                double frac = x - lo;
+                re[lo] += mass * (1.0 - frac) * Math.exp(-theta * lo);
+                re[lo + 1] += mass * frac * Math.exp(-theta * (lo + 1));
+            }
+            Fft.forward(re, im);
+            int half = size / 2 + 1;
+            specRe[id] = Arrays.copyOf(re, half);
+            specIm[id] = Arrays.copyOf(im, half);
+        }
+
+        // Leaves the transforms at frequency k in sub* and len*, starting from the
+        // values of the previous frequency.
+        void solve(int k) {
+            Arrays.fill(coefRe, 0.0);
+            Arrays.fill(coefIm, 0.0);
+            for (int t = 0; t < terms; t++) {
+                int id = termSpectrum[t];
+                coefRe[termSlot[t]] += termWeight[t] * specRe[id][k];
+                coefIm[termSlot[t]] += termWeight[t] * specIm[id][k];
+            }
+            for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+                double delta = 0.0;
+                for (int s = 0; s < n; s++) {
+                    if (!active[s])
+                        continue;
+                    double sr = 0.0, si = 0.0, lr = 0.0, li = 0.0, selfRe = 0.0, selfIm = 0.0;
+                    for (int slot = slotStart[s]; slot < slotStart[s + 1]; slot++) {
+                        int j = slotTarget[slot];
+                        double cr = coefRe[slot];
+                        double ci = coefIm[slot];
+                        if (j == s) {
+                            selfRe += cr;
+                            selfIm += ci;
+                            continue;
+                        }
+                        sr += cr * subRe[j] - ci * subIm[j];
+                        si += cr * subIm[j] + ci * subRe[j];
+                        lr += cr * lenRe[j] - ci * lenIm[j];
+                        li += cr * lenIm[j] + ci * lenRe[j];
+                    }
+                    // Partial attempts loop in place: divide by (1 - self) instead of iterating.
+                    double dr = 1.0 - selfRe;
+                    double di = -selfIm;
+                    double den = dr * dr + di * di;
+                    double nsr = (sr * dr + si * di) / den;
+                    double nsi = (si * dr - sr * di) / den;
+                    double nlr = (lr * dr + li * di) / den;
+                    double nli = (li * dr - lr * di) / den;
+                    delta = Math.max(delta, Math.abs(nsr - subRe[s]) + Math.abs(nsi - subIm[s])
+                            + Math.abs(nlr - lenRe[s]) + Math.abs(nli - lenIm[s]));
+                    subRe[s] = nsr;
+                    subIm[s] = nsi;
+                    lenRe[s] = nlr;
+                    lenIm[s] = nli;
+                }
+                if (delta < TOLERANCE)
+                    return;
+            }
+            throw new IllegalStateException("duration solve did not converge at frequency " + k);
+        }
+    }
+}
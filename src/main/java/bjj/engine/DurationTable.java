@@ -0,0 +1,102 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+// Per-move duration distributions compiled to quantized inverse CDFs: slot i holds
+// the quantile at (i + 0.5) / SLOTS, so a sample is one random draw and one load.
+// Moves default to their triangular (min, typ, max) shape; empirical samples, when
+// supplied, replace it. Moves with identical distributions share a table.
+public final class DurationTable {
+    public static final int SLOTS = 1024;
+    private static final int SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(SLOTS);
+
+    private final int[][] quantiles;
+    private final double[] meanMs;
+
+    DurationTable(Move[] moves, Map<String, long[]> empiricalMs) {
+        this.quantiles = new int[moves.length][];
+        this.meanMs = new double[moves.length];
+        Map<List<Long>, int[]> shared = new HashMap<>();
+        for (int i = 0; i < moves.length; i++) {
+            Move mv = moves[i];
+            long[] samples = empiricalMs.get(mv.id());
+            int[] table = samples != null
+                    ? empirical(mv.id(), samples)
+                    : shared.computeIfAbsent(List.of(mv.minMs(), mv.typMs(), mv.maxMs()),
+                            k -> triangular(mv.minMs(), mv.typMs(), mv.maxMs()));
+            quantiles[i] = table;
+            meanMs[i] = mean(table);
+        }
+    }
+
+    private DurationTable(int[][] quantiles, double[] meanMs) {
+        this.quantiles = quantiles;
+        this.meanMs = meanMs;
+    }
+
+    // Copy with one move's table replaced. An unchanged (min, typ, max) keeps the
+    // existing table, so empirical samples survive edits to other fields.
+    DurationTable withMove(int ordinal, Move old, Move replacement) {
+        if (old.minMs() == replacement.minMs() && old.typMs() == replacement.typMs()
+                && old.maxMs() == replacement.maxMs())
+            return this;
+        int[][] q = quantiles.clone();
+        double[] m = meanMs.clone();
+        q[ordinal] = triangular(replacement.minMs(), replacement.typMs(), replacement.maxMs());
+        m[ordinal] = mean(q[ordinal]);
+        return new DurationTable(q, m);
+    }
+
+    public long sample(int ordinal, RandomGenerator rng) {
+        return quantiles[ordinal][(int) (rng.nextLong() >>> SHIFT)];
+    }
+
+    // The move's SLOTS equally likely durations in ms; shared between moves with the
+    // same distribution, must not be modified.
+    int[] quantiles(int ordinal) {
+        return quantiles[ordinal];
+    }
+
+    public double meanMs(int ordinal) {
+        return meanMs[ordinal];
+    }
+
+    private static int[] triangular(long min, long typ, long max) {
+        int[] table = new int[SLOTS];
+        for (int i = 0; i < SLOTS; i++)
+            table[i] = toMs(DurationSampler.triangularQuantile((i + 0.5) / SLOTS, min, typ, max));
+        return table;
+    }
+
+    private static int[] empirical(String id, long[] samples) {
+        if (samples.length == 0)
+            throw new IllegalArgumentException("no duration samples for " + id);
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        if (sorted[0] < 0)
+            throw new IllegalArgumentException("negative duration sample for " + id);
+        int[] table = new int[SLOTS];
+        for (int i = 0; i < SLOTS; i++)
+            table[i] = toMs(sorted[(int) ((i + 0.5) / SLOTS * sorted.length)]);
+        return table;
+    }
+
+    private static int toMs(long ms) {
+        if (ms > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("duration out of range: " + ms);
+        return (int) ms;
+    }
+
+    private static double mean(int[] table) {
+        long sum = 0;
+        for (int v : table)
+            sum += v;
+        return sum / (double) SLOTS;
+    }
+}
@@ -0,0 +1,11 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+
+// A policy whose move choice is a known distribution over the eligible moves, which
+// is what the analytic solvers need; sampling-only policies such as MctsPolicy are
+// plain MovePolicies and cannot be passed to them.
+public interface ExplicitPolicy extends MovePolicy {
+    // Probability of choosing each eligible move, written to out[0, eligible.length).
+    void weights(SessionCursor cursor, Move[] eligible, double[] out);
+}
@@ -0,0 +1,60 @@
+package bjj.engine;
+
+// In-place iterative radix-2 FFT over split real/imaginary arrays. The inverse is
+// scaled by 1/n, so inverse(forward(x)) == x.
+final class Fft {
+    private Fft() {
+    }
+
+    static void forward(double[] re, double[] im) {
+        transform(re, im, -1.0);
+    }
+
+    static void inverse(double[] re, double[] im) {
+        transform(re, im, 1.0);
+        double scale = 1.0 / re.length;
+        for (int i = 0; i < re.length; i++) {
+            re[i] *= scale;
+            im[i] *= scale;
+        }
+    }
+
+    private static void transform(double[] re, double[] im, double sign) {
+        int n = re.length;
+        if (Integer.bitCount(n) != 1 || im.length != n)
+            throw new IllegalArgumentException("FFT size must be a power of two: " + n);
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1)
+                j ^= bit;
+            j ^= bit;
+            if (i < j) {
+                double t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+        for (int len = 2; len <= n; len <<= 1) {
+            double angle = sign * 2 * Math.PI / len;
+            int half = len >> 1;
+            // Twiddles from the exact angle rather than by repeated multiplication,
+            // which would drift over long transforms.
+            for (int k = 0; k < half; k++) {
+                double wr = Math.cos(angle * k);
+                double wi = Math.sin(angle * k);
+                for (int i = k; i < n; i += len) {
+                    int j = i + half;
+                    double xr = re[j] * wr - im[j] * wi;
+                    double xi = re[j] * wi + im[j] * wr;
+                    re[j] = re[i] - xr;
+                    im[j] = im[i] - xi;
+                    re[i] += xr;
+                    im[i] += xi;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+import bjj.domain.Position;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Estimates the probability of a submission within the step limit when it is too
+// rare for plain sampling. Every success roll is drawn from an exponentially tilted
+// probability p' = p e^t / (1 - p + p e^t); move choice, durations and the failure
+// branches are untouched. Each session carries the likelihood ratio of its success
+// rolls (p / p' on success, (1 - p) / (1 - p') otherwise), and the weighted hit
+// indicator is an unbiased estimate of the untilted probability.
+public final class ImportanceSampler {
+    public static final double[] AUTO_TILTS = { 0.0, 0.5, 1.0, 1.5, 2.0, 2.5, 3.0, 4.0, 5.0, 6.0 };
+
+    private final Simulator sim;
+    private final SimParams params;
+    private final MovePolicy policy;
+    private final int maxSteps;
+
+    public ImportanceSampler(MoveIndex index, SimParams params, MovePolicy policy, int maxSteps) {
+        if (maxSteps < 1)
+            throw new IllegalArgumentException("maxSteps must be positive");
+        this.sim = new Simulator(index);
+        this.params = params;
+        this.policy = policy;
+        this.maxSteps = maxSteps;
+    }
+
+    public RareEventEstimate run(Position start, double tilt, long sessions, long seed, int threads) {
+        if (sessions < 1)
+            throw new IllegalArgumentException("sessions must be positive");
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be positive");
+        long leaf = Math.max(1_000L, sessions / (threads * 8L));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new Chunk(start, tilt, 0, sessions, seed, leaf));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Runs a pilot batch per candidate tilt and keeps the one with the smallest
+    // estimator variance. Pilots use a different seed stream from the main run.
+    public double chooseTilt(Position start, double[] candidates, long pilotSessions, long seed, int threads) {
+        double best = candidates[0];
+        double bestVar = Double.POSITIVE_INFINITY;
+        for (double t : candidates) {
+            RareEventEstimate pilot = run(start, t, pilotSessions, Seeds.mix64(seed ^ 0x5EED), threads);
+            double var = pilot.hits() < 10 ? Double.POSITIVE_INFINITY : pilot.variance();
+            if (var < bestVar) {
+                bestVar = var;
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    RareEventEstimate runRange(Position start, double tilt, long from, long to, long seed) {
+        RareEventEstimate acc = new RareEventEstimate(tilt);
+        MoveIndex index = sim.index();
+        CompiledParams compiled = index.compile(params);
+        double boost = Math.exp(tilt);
+        SessionCursor cursor = new SessionCursor();
+        for (long i = from; i < to; i++) {
+            SplittableRandom rng = new SplittableRandom(Seeds.sessionSeed(seed, i));
+            cursor.reset(start, 0L);
+            double logWeight = 0.0;
+            for (int steps = 0; steps < maxSteps; steps++) {
+                Move[] eligible = index.eligibleArray(cursor.position(), cursor.flags());
+                if (eligible.length == 0)
+                    break;
+                int choice = policy.choose(cursor, eligible, rng);
+                int ordinal = index.eligibleOrdinals(cursor.position(), cursor.flags())[choice];
+                double p = compiled.successProbability(ordinal, cursor.riskBuffer());
+                double tilted = p * boost / (1 - p + p * boost);
+                Outcome out = sim.advance(cursor, ordinal, tilted, rng);
+                logWeight += out == Outcome.SUCCESS ? Math.log(p / tilted) : Math.log((1 - p) / (1 - tilted));
+                if (cursor.ended())
+                    break;
+            }
+            acc.add(cursor.ended(), Math.exp(logWeight));
+        }
+        return acc;
+    }
+
+    private final class Chunk extends RecursiveTask<RareEventEstimate> {
+        private final Position start;
+        private final double tilt;
+        private final long from;
+        private final long to;
+        private final long seed;
+        private final long leaf;
+
+        Chunk(Position start, double tilt, long from, long to, long seed, long leaf) {
+            this.start = start;
+            this.tilt = tilt;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected RareEventEstimate compute() {
+            if (to - from <= leaf) {
+                return runRange(start, tilt, from, to, seed);
+            }
+            long mid = from + (to - from) / 2;
+            Chunk left = new Chunk(start, tilt, from, mid, seed, leaf);
+            left.fork();
+            RareEventEstimate right = new Chunk(start, tilt, mid, to, seed, leaf).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+import bjj.domain.Position;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// MarkovSolver.solve that keeps its working set (the rows of A = I - Q, their
+// right-hand sides and N = A^-1) so single-move edits can be re-solved in place.
+// A move only writes the rows of states at its from-position, one per risk level,
+// so replacing it changes k << n rows and N is patched with the Woodbury identity
+//   (A + E D)^-1 = N - N E (I + D N E)^-1 D N
+// in O(k n^2) instead of re-inverting in O(n^3). Each edit builds a new transition
+// model, so solutions already handed out keep describing the model they were solved
+// for: an edit that keeps the move eligible in the same states copies the action
+// tables and re-fills just that move's actions, anything else rebuilds the touched
+// positions. The policy is held fixed across edits.
+public final class IncrementalSolver {
+    // Rounding error builds up across patches; re-invert from scratch this often.
+    static final int REFRESH_EVERY = 64;
+
+    private final ExplicitPolicy policy;
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final SessionCursor cursor = new SessionCursor();
+    private final double[][] a;
+    private final double[][] rhs;
+    private TransitionModel model;
+    private double[][] fundamental;
+    private MarkovSolution solution;
+    private int patches;
+
+    public IncrementalSolver(MoveIndex index, SimParams params, long flagMask, ExplicitPolicy policy) {
+        this.policy = policy;
+        this.model = new TransitionModel(index, params, flagMask);
+        for (int i = 0; i < index.size(); i++)
+            ordinals.put(index.move(i).id(), i);
+
+        int n = model.states();
+        this.a = new double[n][n];
+        this.rhs = new double[MarkovSolver.RHS][n];
+        double[] w = new double[MarkovSolver.maxActions(model)];
+        double[] b = new double[MarkovSolver.RHS];
+        for (int s = 0; s < n; s++) {
+            MarkovSolver.row(model, policy, s, cursor, w, a[s], b);
+            for (int r = 0; r < b.length; r++)
+                rhs[r][s] = b[r];
+        }
+        this.fundamental = MarkovSolver.invert(copy(a));
+        this.solution = solution(model, fundamental, rhs);
+    }
+
+    public TransitionModel model() {
+        return model;
+    }
+
+    public MarkovSolution solution() {
+        return solution;
+    }
+
+    // The states whose rows depend on a move: every risk level of its from-position.
+    public int[] dependentStates(String moveId) {
+        return states(model.index().move(ordinal(moveId)).fromPosition());
+    }
+
+    // Replaces the move with the same id and returns the re-solved model. Earlier
+    // solutions stay valid; on failure (the edit leaves a closed loop) nothing changes.
+    public MarkovSolution update(Move replacement) {
+        int ordinal = ordinal(replacement.id());
+        MoveIndex index = model.index();
+        Move old = index.move(ordinal);
+        MoveIndex edited = index.withMove(ordinal, replacement);
+        boolean[] changed = new boolean[Position.values().length];
+        changed[old.fromPosition().ordinal()] = true;
+        changed[replacement.fromPosition().ordinal()] = true;
+        TransitionModel next = MoveIndex.sameSlots(old, replacement)
+                ? new TransitionModel(model, edited, old, replacement)
+                : new TransitionModel(model, edited, changed);
+        return apply(next, changed);
+    }
+
+    private MarkovSolution apply(TransitionModel next, boolean[] changed) {
+        int n = next.states();
+        int[] rows = rows(next, changed);
+        int k = rows.length;
+        double[][] newRows = new double[k][n];
+        double[][] newRhs = new double[k][MarkovSolver.RHS];
+        double[][] delta = new double[k][];
+        int widest = 0;
+        for (int s : rows)
+            widest = Math.max(widest, next.actionEnd(s) - next.actionStart(s));
+        double[] w = new double[widest];
+        for (int i = 0; i < k; i++) {
+            MarkovSolver.row(next, policy, rows[i], cursor, w, newRows[i], newRhs[i]);
+            delta[i] = newRows[i].clone();
+            MarkovSolver.axpy(delta[i], a[rows[i]], -1.0);
+        }
+
+        boolean refresh = patches + 1 >= REFRESH_EVERY;
+        double[][] patched;
+        if (refresh) {
+            double[][] full = copy(a);
+            for (int i = 0; i < k; i++)
+                full[rows[i]] = newRows[i].clone();
+            patched = MarkovSolver.invert(full);
+        } else {
+            patched = woodbury(fundamental, rows, delta);
+        }
+
+        for (int i = 0; i < k; i++) {
+            a[rows[i]] = newRows[i];
+            for (int r = 0; r < MarkovSolver.RHS; r++)
+                rhs[r][rows[i]] = newRhs[i][r];
+        }
+        patches = refresh ? 0 : patches + 1;
+        model = next;
+        fundamental = patched;
+        solution = solution(next, patched, rhs);
+        return solution;
+    }
+
+    // N' = N - C (I + D C)^-1 D N, where D holds the k row deltas and C = N E is the
+    // k columns of N at the changed rows. Returns a fresh matrix; n is not modified.
+    static double[][] woodbury(double[][] n, int[] rows, double[][] delta) {
+        int size = n.length;
+        int k = rows.length;
+        double[][] dn = new double[k][size];
+        for (int i = 0; i < k; i++) {
+            double[] d = delta[i];
+            for (int j = 0; j < size; j++) {
+                if (d[j] != 0.0)
+                    MarkovSolver.axpy(dn[i], n[j], d[j]);
+            }
+        }
+        double[][] m = new double[k][k];
+        for (int i = 0; i < k; i++) {
+            for (int c = 0; c < k; c++)
+                m[i][c] = (i == c ? 1.0 : 0.0) + dn[i][rows[c]];
+        }
+        double[][] mInv = MarkovSolver.invert(m);
+        double[][] x = new double[k][size];
+        for (int i = 0; i < k; i++) {
+            for (int c = 0; c < k; c++)
+                MarkovSolver.axpy(x[i], dn[c], mInv[i][c]);
+        }
+        double[][] out = new double[size][];
+        for (int r = 0; r < size; r++) {
+            double[] row = n[r].clone();
+            for (int c = 0; c < k; c++) {
+                double f = n[r][rows[c]];
+                if (f != 0.0)
+                    MarkovSolver.axpy(row, x[c], -f);
+            }
+            out[r] = row;
+        }
+        return out;
+    }
+
+    private int ordinal(String moveId) {
+        Integer ordinal = ordinals.get(moveId);
+        if (ordinal == null)
+            throw new IllegalArgumentException("unknown move: " + moveId);
+        return ordinal;
+    }
+
+    private int[] states(Position position) {
+        int[] out = new int[model.riskLevels()];
+        for (int k = 0; k < out.length; k++)
+            out[k] = model.state(position, k);
+        return out;
+    }
+
+    private static int[] rows(TransitionModel model, boolean[] changed) {
+        int count = 0;
+        for (int s = 0; s < model.states(); s++) {
+            if (changed[model.positionOrdinal(s)])
+                count++;
+        }
+        int[] rows = new int[count];
+        int i = 0;
+        for (int s = 0; s < model.states(); s++) {
+            if (changed[model.positionOrdinal(s)])
+                rows[i++] = s;
+        }
+        return rows;
+    }
+
+    private static MarkovSolution solution(TransitionModel model, double[][] n, double[][] rhs) {
+        return new MarkovSolution(model, n, MarkovSolver.multiply(n, rhs[MarkovSolver.TO_END]),
+                MarkovSolver.multiply(n, rhs[MarkovSolver.STALLED]), MarkovSolver.multiply(n, rhs[MarkovSolver.COST]),
+                MarkovSolver.multiply(n, rhs[MarkovSolver.ACTIVE]));
+    }
+
+    private static double[][] copy(double[][] m) {
+        double[][] out = new double[m.length][];
+        for (int i = 0; i < m.length; i++)
+            out[i] = m[i].clone();
+        return out;
+    }
+}
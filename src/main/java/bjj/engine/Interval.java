@@ -0,0 +1,86 @@
+package bjj.engine;
+
+// Two-sided confidence interval.
+public final class Interval {
+    private final double estimate;
+    private final double low;
+    private final double high;
+
+    Interval(double estimate, double low, double high) {
+        this.estimate = estimate;
+        this.low = low;
+        this.high = high;
+    }
+
+    // Wilson score interval for a binomial rate; well behaved near 0 and 1 and for
+    // small n, unlike the normal approximation.
+    public static Interval wilson(long successes, long trials, double z) {
+        if (trials == 0)
+            return new Interval(0.0, 0.0, 1.0);
+        double n = trials;
+        double p = successes / n;
+        double z2 = z * z;
+        double denom = 1 + z2 / n;
+        double centre = (p + z2 / (2 * n)) / denom;
+        double half = z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / denom;
+        return new Interval(p, Math.max(0.0, centre - half), Math.min(1.0, centre + half));
+    }
+
+    // Normal interval for a mean.
+    public static Interval mean(RunningStats stats, double z) {
+        double half = z * stats.standardError();
+        return new Interval(stats.mean(), stats.mean() - half, stats.mean() + half);
+    }
+
+    // Two-sided standard normal quantile for a confidence level, e.g. 0.95 -> 1.96
+    // (Acklam's rational approximation, relative error below 1.2e-9).
+    public static double z(double confidence) {
+        if (!(confidence > 0 && confidence < 1))
+            throw new IllegalArgumentException("confidence must be in (0, 1)");
+        return normalQuantile(0.5 + confidence / 2);
+    }
+
+    private static final double[] A = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+            1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00 };
+    private static final double[] B = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+            6.680131188771972e+01, -1.328068155288572e+01 };
+    private static final double[] C = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00 };
+    private static final double[] D = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+            3.754408661907416e+00 };
+
+    static double normalQuantile(double p) {
+        if (p < 0.02425) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5])
+                    / ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+        }
+        if (p > 1 - 0.02425)
+            return -normalQuantile(1 - p);
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((A[0] * r + A[1]) * r + A[2]) * r + A[3]) * r + A[4]) * r + A[5]) * q
+                / (((((B[0] * r + B[1]) * r + B[2]) * r + B[3]) * r + B[4]) * r + 1);
+    }
+
+    public double estimate() {
+        return estimate;
+    }
+
+    public double low() {
+        return low;
+    }
+
+    public double high() {
+        return high;
+    }
+
+    public double halfWidth() {
+        return (high - low) / 2;
+    }
+
+    // Half-width relative to the estimate; infinite for a zero estimate.
+    public double relativeError() {
+        return estimate == 0.0 ? Double.POSITIVE_INFINITY : halfWidth() / Math.abs(estimate);
+    }
+}
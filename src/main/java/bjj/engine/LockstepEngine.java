@@ -0,0 +1,205 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+import bjj.domain.Position;
+
+import java.util.SplittableRandom;
+
+// Structure-of-arrays variant of BatchRunner.runRange: up to `lanes` sessions live
+// in parallel primitive arrays and advance together one tick at a time, each tick
+// split into tight per-phase loops (select, probability, resolve). Finished lanes are
+// refilled with the next session, or compacted out once the range is exhausted.
+// Every session keeps its own seeded generator and consumes it in the same order as
+// the scalar loop, so the two engines produce identical results.
+final class LockstepEngine {
+    private static final byte RUNNING = 0;
+    private static final byte SUBMITTED = 1;
+    private static final byte STALLED = 2;
+    private static final byte CAPPED = 3;
+
+    private final MoveIndex index;
+    private final SimParams params;
+    private final MovePolicy policy;
+    private final int maxSteps;
+    private final int lanes;
+
+    // Per-move constants gathered by ordinal in the resolve phase.
+    private final int[] target;
+    private final double[] counterChance;
+    // StepTally slot of each move's family with Outcome.SUCCESS; other outcomes follow.
+    private final int[] tallySlot;
+
+    LockstepEngine(MoveIndex index, SimParams params, MovePolicy policy, int maxSteps, int lanes) {
+        if (lanes < 1)
+            throw new IllegalArgumentException("lanes must be positive");
+        this.index = index;
+        this.params = params;
+        this.policy = policy;
+        this.maxSteps = maxSteps;
+        this.lanes = lanes;
+        int n = index.size();
+        this.target = new int[n];
+        this.counterChance = new double[n];
+        this.tallySlot = new int[n];
+        for (int i = 0; i < n; i++) {
+            Move mv = index.move(i);
+            Position to = mv.toPosition();
+            target[i] = to == null ? SessionCursor.END : to.ordinal();
+            counterChance[i] = mv.counterChance();
+            tallySlot[i] = StepTally.slot(mv.family(), Outcome.SUCCESS);
+        }
+    }
+
+    BatchResult runRange(Position start, long from, long to, long seed) {
+        return new Batch(start, from, to, seed).run();
+    }
+
+    private final class Batch {
+        private final int startPosition;
+        private final long to;
+        private final long seed;
+        private final CompiledParams compiled = index.compile(params);
+        private final DurationTable durations = index.durations();
+        private final BatchResult result = new BatchResult();
+        private final StepTally tally = new StepTally();
+        private final SessionCursor scratch = new SessionCursor();
+
+        private final int[] position;
+        private final long[] flags;
+        private final long[] timeline;
+        private final double[] risk;
+        private final int[] steps;
+        private final SplittableRandom[] rng;
+        private final int[] ordinal;
+        private final long[] duration;
+        private final double[] probability;
+        private final byte[] end;
+        private long next;
+        private int active;
+
+        Batch(Position start, long from, long to, long seed) {
+            this.startPosition = start.ordinal();
+            this.to = to;
+            this.seed = seed;
+            int k = (int) Math.min(lanes, to - from);
+            this.position = new int[k];
+            this.flags = new long[k];
+            this.timeline = new long[k];
+            this.risk = new double[k];
+            this.steps = new int[k];
+            this.rng = new SplittableRandom[k];
+            this.ordinal = new int[k];
+            this.duration = new long[k];
+            this.probability = new double[k];
+            this.end = new byte[k];
+            this.next = from;
+            while (active < k)
+                load(active++);
+        }
+
+        BatchResult run() {
+            while (active > 0) {
+                select();
+                compiled.successProbabilities(ordinal, risk, probability, active);
+                resolve();
+                compact();
+            }
+            result.analytics().add(tally);
+            return result;
+        }
+
+        private void load(int k) {
+            rng[k] = new SplittableRandom(Seeds.sessionSeed(seed, next++));
+            position[k] = startPosition;
+            flags[k] = 0L;
+            timeline[k] = 0L;
+            risk[k] = 0.0;
+            steps[k] = 0;
+            end[k] = RUNNING;
+        }
+
+        private void select() {
+            for (int k = 0; k < active; k++) {
+                int[] ords = index.eligibleOrdinals(position[k], flags[k]);
+                if (ords.length == 0) {
+                    end[k] = STALLED;
+                    continue;
+                }
+                Move[] eligible = index.eligibleArray(position[k], flags[k]);
+                scratch.load(position[k], flags[k], timeline[k], risk[k]);
+                int ord = ords[policy.choose(scratch, eligible, rng[k])];
+                ordinal[k] = ord;
+                duration[k] = durations.sample(ord, rng[k]);
+            }
+        }
+
+        private void resolve() {
+            for (int k = 0; k < active; k++) {
+                if (end[k] != RUNNING)
+                    continue;
+                SplittableRandom r = rng[k];
+                int ord = ordinal[k];
+                long dur = duration[k];
+                double rb = risk[k];
+                Outcome out;
+                if (r.nextDouble() < probability[k]) {
+                    position[k] = target[ord];
+                    risk[k] = Math.max(0.0, rb - Simulator.RISK_RELIEF);
+                    out = Outcome.SUCCESS;
+                } else if (r.nextDouble() < counterChance[ord]) {
+                    risk[k] = Math.min(1.0, rb + Simulator.COUNTER_RISK);
+                    out = Outcome.FAIL_COUNTER;
+                } else if (r.nextDouble() < Simulator.PARTIAL_CHANCE) {
+                    out = Outcome.PARTIAL;
+                } else {
+                    risk[k] = Math.min(1.0, rb + Simulator.FAIL_RISK);
+                    out = Outcome.FAIL;
+                }
+                timeline[k] += dur;
+                tally.record(tallySlot[ord] + out.ordinal(), dur);
+                int s = ++steps[k];
+                if (position[k] == SessionCursor.END)
+                    end[k] = SUBMITTED;
+                else if (s >= maxSteps)
+                    end[k] = CAPPED;
+            }
+        }
+
+        // Records finished lanes, then refills them from the range or swaps in the
+        // last active lane so [0, active) stays dense.
+        private void compact() {
+            int k = 0;
+            while (k < active) {
+                if (end[k] == RUNNING) {
+                    k++;
+                    continue;
+                }
+                result.recordSession(sessionEnd(end[k]), steps[k], timeline[k]);
+                if (next < to) {
+                    load(k++);
+                } else {
+                    move(--active, k);
+                }
+            }
+        }
+
+        private void move(int from, int k) {
+            position[k] = position[from];
+            flags[k] = flags[from];
+            timeline[k] = timeline[from];
+            risk[k] = risk[from];
+            steps[k] = steps[from];
+            rng[k] = rng[from];
+            end[k] = end[from];
+            rng[from] = null;
+        }
+    }
+
+    private static BatchResult.SessionEnd sessionEnd(byte end) {
+        return switch (end) {
+            case SUBMITTED -> BatchResult.SessionEnd.SUBMISSION;
+            case STALLED -> BatchResult.SessionEnd.STALLED;
+            default -> BatchResult.SessionEnd.STEP_LIMIT;
+        };
+    }
+}
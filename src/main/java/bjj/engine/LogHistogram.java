@@ -0,0 +1,99 @@
+package bjj.engine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Log-bucketed histogram in the style of HdrHistogram: values below 128 are exact,
+// above that every power-of-two range is split into 64 linear buckets, so any
+// reported percentile is within 1/64 (about 1.6%) of the true value.
+public final class LogHistogram {
+    private static final int SUB_BITS = 7;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int HALF = SUB >> 1;
+    private static final int MAX_BITS = 48;
+    static final int BUCKETS = SUB + (MAX_BITS - SUB_BITS + 1) * HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    public void record(long value) {
+        long v = Math.max(0L, value);
+        counts.incrementAndGet(bucket(v));
+        total.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    public LogHistogram merge(LogHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = other.counts.get(i);
+            if (c != 0)
+                counts.addAndGet(i, c);
+        }
+        total.add(other.total.sum());
+        sum.add(other.sum.sum());
+        max.accumulate(other.max.get());
+        return this;
+    }
+
+    // Folds in counts gathered locally per bucket (indexed by bucket(v)).
+    void addBuckets(long[] bucketCounts, long valueSum, long valueMax) {
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = bucketCounts[i];
+            if (c != 0) {
+                counts.addAndGet(i, c);
+                n += c;
+            }
+        }
+        total.add(n);
+        sum.add(valueSum);
+        max.accumulate(valueMax);
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long n = total.sum();
+        return n == 0 ? 0.0 : sum.sum() / (double) n;
+    }
+
+    public long percentile(double q) {
+        long n = total.sum();
+        if (n == 0)
+            return 0L;
+        long rank = Math.max(1L, (long) Math.ceil(q * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank)
+                return Math.min(highestIn(i), max.get());
+        }
+        return max.get();
+    }
+
+    static int bucket(long v) {
+        if (v < SUB)
+            return (int) v;
+        int shift = Math.min(63 - Long.numberOfLeadingZeros(v), MAX_BITS) - (SUB_BITS - 1);
+        long top = Math.min(v >>> shift, SUB - 1);
+        return SUB + (shift - 1) * HALF + (int) (top - HALF);
+    }
+
+    static long highestIn(int bucket) {
+        if (bucket < SUB)
+            return bucket;
+        int shift = (bucket - SUB) / HALF + 1;
+        long top = (bucket - SUB) % HALF + HALF;
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,63 @@
+package bjj.engine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// A size-capped map that drops the least recently used entry, for caches keyed by
+// caller-supplied values (SimParams from a query string, say) that would otherwise
+// grow without limit. Values are computed outside the lock, so two threads missing
+// the same key at once may both compute it; the first to finish is kept.
+public final class LruCache<K, V> {
+    private final LinkedHashMap<K, V> map;
+
+    public LruCache(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive");
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public V get(K key, Function<? super K, ? extends V> compute) {
+        synchronized (map) {
+            V v = map.get(key);
+            if (v != null)
+                return v;
+        }
+        V created = compute.apply(key);
+        synchronized (map) {
+            V v = map.putIfAbsent(key, created);
+            return v != null ? v : created;
+        }
+    }
+
+    public void put(K key, V value) {
+        synchronized (map) {
+            map.put(key, value);
+        }
+    }
+
+    // Iterates a snapshot, least recently used first.
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        List<Map.Entry<K, V>> entries;
+        synchronized (map) {
+            entries = new ArrayList<>(map.size());
+            for (Map.Entry<K, V> e : map.entrySet())
+                entries.add(Map.entry(e.getKey(), e.getValue()));
+        }
+        entries.forEach(e -> action.accept(e.getKey(), e.getValue()));
+    }
+
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+}
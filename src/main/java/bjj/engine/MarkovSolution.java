@@ -0,0 +1,68 @@
+package bjj.engine;
+
+import bjj.domain.Position;
+
+public final class MarkovSolution {
+    private final TransitionModel model;
+    private final double[][] fundamental;
+    private final double[] submission;
+    private final double[] stall;
+    private final double[] timeMs;
+    private final double[] steps;
+
+    MarkovSolution(TransitionModel model, double[][] fundamental, double[] submission, double[] stall,
+            double[] timeMs, double[] steps) {
+        this.model = model;
+        this.fundamental = fundamental;
+        this.submission = submission;
+        this.stall = stall;
+        this.timeMs = timeMs;
+        this.steps = steps;
+    }
+
+    public TransitionModel model() {
+        return model;
+    }
+
+    public double submissionProbability(Position start) {
+        return submission[model.state(start, 0)];
+    }
+
+    public double stallProbability(Position start) {
+        return stall[model.state(start, 0)];
+    }
+
+    public double expectedTimeMs(Position start) {
+        return timeMs[model.state(start, 0)];
+    }
+
+    public double expectedSteps(Position start) {
+        return steps[model.state(start, 0)];
+    }
+
+    public double expectedVisits(Position start, Position at) {
+        double[] row = fundamental[model.state(start, 0)];
+        double sum = 0.0;
+        for (int k = 0; k < model.riskLevels(); k++)
+            sum += row[model.state(at, k)];
+        return sum;
+    }
+
+    public double submissionProbability(int state) {
+        return submission[state];
+    }
+
+    public double expectedTimeMs(int state) {
+        return timeMs[state];
+    }
+
+    public String render() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-22s %-10s %-10s %-12s %-8s\n", "Start", "P(sub)", "P(stall)", "E[time] ms", "E[steps]"));
+        for (Position p : Position.values()) {
+            sb.append(String.format("%-22s %-10.4f %-10.4f %-12.1f %-8.2f\n", p, submissionProbability(p),
+                    stallProbability(p), expectedTimeMs(p), expectedSteps(p)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,135 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+
+import java.util.Arrays;
+
+public final class MarkovSolver {
+    private static final double SINGULAR = 1e-12;
+    static final int TO_END = 0;
+    static final int STALLED = 1;
+    static final int COST = 2;
+    static final int ACTIVE = 3;
+    static final int RHS = 4;
+
+    public static MarkovSolution solve(TransitionModel model, ExplicitPolicy policy) {
+        int n = model.states();
+        double[][] a = new double[n][n];
+        double[] toEnd = new double[n];
+        double[] stalled = new double[n];
+        double[] cost = new double[n];
+        double[] active = new double[n];
+        double[] w = new double[maxActions(model)];
+        double[] b = new double[RHS];
+        SessionCursor cursor = new SessionCursor();
+
+        for (int s = 0; s < n; s++) {
+            row(model, policy, s, cursor, w, a[s], b);
+            toEnd[s] = b[TO_END];
+            stalled[s] = b[STALLED];
+            cost[s] = b[COST];
+            active[s] = b[ACTIVE];
+        }
+
+        double[][] fundamental = invert(a);
+        return new MarkovSolution(model, fundamental, multiply(fundamental, toEnd), multiply(fundamental, stalled),
+                multiply(fundamental, cost), multiply(fundamental, active));
+    }
+
+    // Row s of I - Q under the policy into a (which must be zeroed), and the state's
+    // one-step right-hand sides into b: P(submit), P(stall), mean cost, acts at all.
+    static void row(TransitionModel model, ExplicitPolicy policy, int s, SessionCursor cursor, double[] w, double[] a,
+            double[] b) {
+        Arrays.fill(b, 0.0);
+        a[s] = 1.0;
+        Move[] eligible = model.eligible(s);
+        if (eligible.length == 0) {
+            b[STALLED] = 1.0;
+            return;
+        }
+        b[ACTIVE] = 1.0;
+        cursor.load(model.positionOrdinal(s), model.flagMask(), 0L, model.riskBuffer(model.riskLevel(s)));
+        policy.weights(cursor, eligible, w);
+        int first = model.actionStart(s);
+        for (int j = 0; j < eligible.length; j++) {
+            double pi = w[j];
+            if (pi == 0.0)
+                continue;
+            int act = first + j;
+            b[COST] += pi * model.meanDurationMs(act);
+            for (int br = 0; br < TransitionModel.BRANCHES; br++) {
+                double pr = pi * model.prob(act, br);
+                int next = model.next(act, br);
+                if (next == model.end())
+                    b[TO_END] += pr;
+                else
+                    a[next] -= pr;
+            }
+        }
+    }
+
+    static int maxActions(TransitionModel model) {
+        int max = 0;
+        for (int s = 0; s < model.states(); s++)
+            max = Math.max(max, model.actionEnd(s) - model.actionStart(s));
+        return max;
+    }
+
+    static double[] multiply(double[][] m, double[] v) {
+        double[] out = new double[m.length];
+        for (int i = 0; i < m.length; i++) {
+            double sum = 0.0;
+            double[] row = m[i];
+            for (int j = 0; j < v.length; j++)
+                sum += row[j] * v[j];
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    // Gauss-Jordan with partial pivoting; consumes the input matrix.
+    static double[][] invert(double[][] a) {
+        int n = a.length;
+        double[][] inv = new double[n][n];
+        for (int i = 0; i < n; i++)
+            inv[i][i] = 1.0;
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < n; r++) {
+                if (Math.abs(a[r][col]) > Math.abs(a[pivot][col]))
+                    pivot = r;
+            }
+            if (Math.abs(a[pivot][col]) < SINGULAR)
+                throw new IllegalStateException("policy has a closed loop that never reaches an absorbing state");
+            swap(a, col, pivot);
+            swap(inv, col, pivot);
+            double d = a[col][col];
+            scale(a[col], 1.0 / d);
+            scale(inv[col], 1.0 / d);
+            for (int r = 0; r < n; r++) {
+                double f = a[r][col];
+                if (r == col || f == 0.0)
+                    continue;
+                axpy(a[r], a[col], -f);
+                axpy(inv[r], inv[col], -f);
+            }
+        }
+        return inv;
+    }
+
+    private static void swap(double[][] m, int i, int j) {
+        double[] t = m[i];
+        m[i] = m[j];
+        m[j] = t;
+    }
+
+    private static void scale(double[] row, double f) {
+        for (int i = 0; i < row.length; i++)
+            row[i] *= f;
+    }
+
+    static void axpy(double[] y, double[] x, double f) {
+        for (int i = 0; i < y.length; i++)
+            y[i] += f * x[i];
+    }
+}
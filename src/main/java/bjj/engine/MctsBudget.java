@@ -0,0 +1,40 @@
+package bjj.engine;
+
+public final class MctsBudget {
+    private final long iterations;
+    private final long millis;
+
+    private MctsBudget(long iterations, long millis) {
+        this.iterations = iterations;
+        this.millis = millis;
+    }
+
+    public static MctsBudget iterations(long iterations) {
+        if (iterations < 1)
+            throw new IllegalArgumentException("iterations must be positive");
+        return new MctsBudget(iterations, 0L);
+    }
+
+    public static MctsBudget millis(long millis) {
+        if (millis < 1)
+            throw new IllegalArgumentException("millis must be positive");
+        return new MctsBudget(Long.MAX_VALUE, millis);
+    }
+
+    public long iterations() {
+        return iterations;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    long deadline(long nowNanos) {
+        return millis == 0L ? Long.MAX_VALUE : nowNanos + millis * 1_000_000L;
+    }
+
+    @Override
+    public String toString() {
+        return millis == 0L ? iterations + " iterations" : millis + " ms";
+    }
+}
@@ -0,0 +1,213 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.random.RandomGenerator;
+
+// Tree-parallel UCT: all workers share one tree per decision and update its visit
+// and value counters with CAS only. Rewards are discount^steps for a submission
+// within the horizon, matching PolicySolver's MAX_SUBMISSION objective.
+public final class MctsPolicy implements MovePolicy {
+    public static final int DEFAULT_HORIZON = 200;
+    private static final double EXPLORATION = Math.sqrt(2.0);
+
+    private final Simulator sim;
+    private final SimParams params;
+    private final MctsBudget budget;
+    private final int threads;
+    private final int horizon;
+    private final double discount;
+    private final ExecutorService pool;
+    // Iterations the most recent search completed, across all workers.
+    private volatile long lastIterations;
+
+    public MctsPolicy(MoveIndex index, SimParams params, MctsBudget budget, int threads) {
+        this(index, params, budget, threads, DEFAULT_HORIZON, PolicySolver.DEFAULT_DISCOUNT);
+    }
+
+    public MctsPolicy(MoveIndex index, SimParams params, MctsBudget budget, int threads, int horizon,
+            double discount) {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be positive");
+        if (horizon < 1)
+            throw new IllegalArgumentException("horizon must be positive");
+        this.sim = new Simulator(index);
+        this.params = params;
+        this.budget = budget;
+        this.threads = threads;
+        this.horizon = horizon;
+        this.discount = discount;
+        this.pool = threads == 1 ? null
+                : Executors.newFixedThreadPool(threads, Thread.ofPlatform().daemon().name("mcts-", 0).factory());
+    }
+
+    @Override
+    public int choose(SessionCursor cursor, Move[] eligible, RandomGenerator rng) {
+        if (eligible.length == 1)
+            return 0;
+        Node root = new Node(eligible);
+        long seed = rng.nextLong();
+        long deadline = budget.deadline(System.nanoTime());
+        AtomicLong remaining = new AtomicLong(budget.iterations());
+
+        if (pool == null) {
+            search(root, cursor, seed, 0, remaining, deadline);
+        } else {
+            List<Callable<Void>> tasks = new ArrayList<>(threads);
+            for (int w = 0; w < threads; w++) {
+                int worker = w;
+                tasks.add(() -> {
+                    search(root, cursor, seed, worker, remaining, deadline);
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> f : pool.invokeAll(tasks))
+                    f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("MCTS search interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("MCTS worker failed", e.getCause());
+            }
+        }
+        lastIterations = root.total.get();
+        return root.mostVisited();
+    }
+
+    long lastIterations() {
+        return lastIterations;
+    }
+
+    private void search(Node root, SessionCursor start, long seed, int worker, AtomicLong remaining, long deadline) {
+        SplittableRandom rng = new SplittableRandom(Seeds.sessionSeed(seed, worker));
+        SessionCursor c = new SessionCursor();
+        Node[] pathNodes = new Node[horizon];
+        int[] pathActions = new int[horizon];
+        long iteration = 0;
+        while (remaining.getAndDecrement() > 0) {
+            if ((iteration++ & 15) == 0 && System.nanoTime() >= deadline)
+                break;
+            c.copyFrom(start);
+            Node node = root;
+            int depth = 0;
+            double reward = 0.0;
+            while (true) {
+                int a = node.selectAction();
+                pathNodes[depth] = node;
+                pathActions[depth] = a;
+                depth++;
+                sim.advance(c, node.moves[a], params, rng);
+                if (c.ended()) {
+                    reward = Math.pow(discount, depth);
+                    break;
+                }
+                if (depth >= horizon)
+                    break;
+                Node child = node.children.get(childKey(a, c));
+                if (child == null) {
+                    Move[] moves = sim.index().eligibleArray(c.position(), c.flags());
+                    node.children.putIfAbsent(childKey(a, c), new Node(moves));
+                    reward = rollout(c, depth, rng);
+                    break;
+                }
+                if (child.moves.length == 0)
+                    break;
+                node = child;
+            }
+            for (int i = 0; i < depth; i++)
+                pathNodes[i].addValue(pathActions[i], reward);
+        }
+    }
+
+    private double rollout(SessionCursor c, int depth, RandomGenerator rng) {
+        MoveIndex index = sim.index();
+        while (depth < horizon) {
+            Move[] eligible = index.eligibleArray(c.position(), c.flags());
+            if (eligible.length == 0)
+                return 0.0;
+            sim.advance(c, eligible[rng.nextInt(eligible.length)], params, rng);
+            depth++;
+            if (c.ended())
+                return Math.pow(discount, depth);
+        }
+        return 0.0;
+    }
+
+    private static long childKey(int action, SessionCursor c) {
+        long level = Math.round(c.riskBuffer() / TransitionModel.RISK_STEP);
+        return ((long) action << 32) | ((long) c.position() << 8) | level;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null)
+            pool.shutdownNow();
+    }
+
+    private static final class Node {
+        final Move[] moves;
+        final AtomicLongArray visits;
+        final AtomicLongArray valueBits;
+        final AtomicLong total = new AtomicLong();
+        final ConcurrentHashMap<Long, Node> children = new ConcurrentHashMap<>();
+
+        Node(Move[] moves) {
+            this.moves = moves;
+            this.visits = new AtomicLongArray(moves.length);
+            this.valueBits = new AtomicLongArray(moves.length);
+        }
+
+        // Visits are counted on the way down (a virtual loss until the value is
+        // backed up), which steers concurrent workers onto different branches.
+        int selectAction() {
+            long n = total.incrementAndGet();
+            for (int a = 0; a < moves.length; a++) {
+                if (visits.get(a) == 0 && visits.compareAndSet(a, 0, 1))
+                    return a;
+            }
+            double logN = Math.log(n);
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int a = 0; a < moves.length; a++) {
+                long v = visits.get(a);
+                double score = Double.longBitsToDouble(valueBits.get(a)) / v + EXPLORATION * Math.sqrt(logN / v);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = a;
+                }
+            }
+            visits.incrementAndGet(best);
+            return best;
+        }
+
+        void addValue(int a, double v) {
+            long cur;
+            long next;
+            do {
+                cur = valueBits.get(a);
+                next = Double.doubleToRawLongBits(Double.longBitsToDouble(cur) + v);
+            } while (!valueBits.compareAndSet(a, cur, next));
+        }
+
+        int mostVisited() {
+            int best = 0;
+            for (int a = 1; a < moves.length; a++) {
+                if (visits.get(a) > visits.get(best))
+                    best = a;
+            }
+            return best;
+        }
+    }
+}
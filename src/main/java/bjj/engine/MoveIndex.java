@@ -0,0 +1,225 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+import bjj.domain.Position;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class MoveIndex {
+    private static final Move[] NONE = new Move[0];
+    // Distinct SimParams kept compiled; older ones are recompiled on their next use.
+    static final int COMPILED_CACHE = 64;
+
+    private final Move[] moves;
+    private final Map<Move, Integer> ordinals;
+    // Per position: its moves, the flag bits any of them care about, and one eligible
+    // set per combination of those bits, built on first lookup.
+    private final Slots[] slots;
+    private final DurationTable durations;
+    private final LruCache<SimParams, CompiledParams> compiled = new LruCache<>(COMPILED_CACHE);
+    private final PolicyCache policies = new PolicyCache(this);
+
+    public MoveIndex(Collection<Move> all) {
+        this(all, Map.of());
+    }
+
+    // empiricalDurationsMs maps move ids to observed durations that replace the
+    // triangular (min, typ, max) shape for those moves.
+    public MoveIndex(Collection<Move> all, Map<String, long[]> empiricalDurationsMs) {
+        this.moves = all.toArray(NONE);
+        this.ordinals = new IdentityHashMap<>(moves.length * 2);
+        for (int i = 0; i < moves.length; i++)
+            ordinals.put(moves[i], i);
+        if (!empiricalDurationsMs.isEmpty()) {
+            Set<String> ids = new HashSet<>(moves.length * 2);
+            for (Move mv : moves)
+                ids.add(mv.id());
+            for (String id : empiricalDurationsMs.keySet()) {
+                if (!ids.contains(id))
+                    throw new IllegalArgumentException("duration samples for unknown move: " + id);
+            }
+        }
+        this.durations = new DurationTable(moves, empiricalDurationsMs);
+        this.slots = new Slots[Position.values().length];
+        for (int p = 0; p < slots.length; p++)
+            slots[p] = slots(p);
+    }
+
+    // Copy of base with one move replaced: tables for untouched positions are shared,
+    // and compiled params already cached on base are patched rather than recompiled.
+    // An edit that keeps the move's position and flags only swaps it into its position's
+    // move list; otherwise the old and new from-positions are rebuilt. Either way the
+    // touched positions start with no eligible sets built.
+    private MoveIndex(MoveIndex base, int ordinal, Move replacement) {
+        Move old = base.moves[ordinal];
+        this.moves = base.moves.clone();
+        moves[ordinal] = replacement;
+        this.ordinals = new IdentityHashMap<>(base.ordinals);
+        ordinals.remove(old);
+        ordinals.put(replacement, ordinal);
+        this.durations = base.durations.withMove(ordinal, old, replacement);
+        this.slots = base.slots.clone();
+        int from = old.fromPosition().ordinal();
+        int to = replacement.fromPosition().ordinal();
+        if (sameSlots(old, replacement)) {
+            slots[from] = slots[from].withMove(ordinal, replacement);
+        } else {
+            slots[from] = slots(from);
+            slots[to] = slots(to);
+        }
+        base.compiled.forEach((params, cp) -> compiled.put(params, cp.withMove(ordinal, replacement)));
+    }
+
+    // The moves leaving position p, in ordinal order.
+    private Slots slots(int p) {
+        int n = 0;
+        for (Move mv : moves) {
+            if (mv.fromPosition().ordinal() == p)
+                n++;
+        }
+        Move[] bucket = new Move[n];
+        int[] ords = new int[n];
+        n = 0;
+        for (int i = 0; i < moves.length; i++) {
+            if (moves[i].fromPosition().ordinal() == p) {
+                bucket[n] = moves[i];
+                ords[n++] = i;
+            }
+        }
+        return new Slots(bucket, ords);
+    }
+
+    // True if b is eligible in exactly the states a is.
+    static boolean sameSlots(Move a, Move b) {
+        return a.fromPosition() == b.fromPosition() && a.requiredMask() == b.requiredMask()
+                && a.forbiddenMask() == b.forbiddenMask();
+    }
+
+    // The replacement takes over the ordinal of the move it replaces; this index is
+    // left untouched.
+    public MoveIndex withMove(int ordinal, Move replacement) {
+        if (ordinal < 0 || ordinal >= moves.length)
+            throw new IllegalArgumentException("no move with ordinal " + ordinal);
+        if (ordinals.containsKey(replacement) && ordinals.get(replacement) != ordinal)
+            throw new IllegalArgumentException("move already in index: " + replacement.id());
+        return new MoveIndex(this, ordinal, replacement);
+    }
+
+    public int size() {
+        return moves.length;
+    }
+
+    public Move move(int ordinal) {
+        return moves[ordinal];
+    }
+
+    public int ordinal(Move move) {
+        Integer i = ordinals.get(move);
+        if (i == null)
+            throw new IllegalArgumentException("move not in index: " + move.id());
+        return i;
+    }
+
+    // -1 if the move is not part of this index.
+    int ordinalOrMissing(Move move) {
+        Integer i = ordinals.get(move);
+        return i == null ? -1 : i;
+    }
+
+    public DurationTable durations() {
+        return durations;
+    }
+
+    // Per-move constants for these params, shared by every caller while they stay in
+    // the cache of the COMPILED_CACHE most recently used params.
+    public CompiledParams compile(SimParams params) {
+        return compiled.get(params, p -> new CompiledParams(this, p));
+    }
+
+    // Solved policy tables over this index, shared by every caller. An index made by
+    // withMove starts with an empty cache, since the edit changes the optimal moves.
+    public PolicyCache policies() {
+        return policies;
+    }
+
+    public List<Move> eligible(Position position, long flagMask) {
+        return slots[position.ordinal()].eligible(flagMask).list();
+    }
+
+    // Shared, cached array: callers must not modify it.
+    public Move[] eligibleArray(int positionOrdinal, long flagMask) {
+        return slots[positionOrdinal].eligible(flagMask).moves();
+    }
+
+    // Catalog ordinals parallel to eligibleArray; shared, must not be modified.
+    public int[] eligibleOrdinals(int positionOrdinal, long flagMask) {
+        return slots[positionOrdinal].eligible(flagMask).ordinals();
+    }
+
+    // The eligible sets of one position, indexed by Long.compress(mask, relevant). A
+    // set is built on its first lookup and published through a plain array: Eligible
+    // has only final fields, so a racing reader sees either null, and builds an equal
+    // set itself, or a complete one.
+    private static final class Slots {
+        private final Move[] moves;
+        private final int[] ordinals;
+        private final long relevant;
+        private final Eligible[] byMask;
+
+        Slots(Move[] moves, int[] ordinals) {
+            long rel = 0L;
+            for (Move mv : moves)
+                rel |= mv.requiredMask() | mv.forbiddenMask();
+            this.moves = moves;
+            this.ordinals = ordinals;
+            this.relevant = rel;
+            this.byMask = new Eligible[1 << Long.bitCount(rel)];
+        }
+
+        Eligible eligible(long flagMask) {
+            int c = (int) Long.compress(flagMask, relevant);
+            Eligible e = byMask[c];
+            if (e == null) {
+                e = build(Long.expand(c, relevant));
+                byMask[c] = e;
+            }
+            return e;
+        }
+
+        private Eligible build(long mask) {
+            int n = 0;
+            for (Move mv : moves) {
+                if (mv.allowedWith(mask))
+                    n++;
+            }
+            Move[] out = new Move[n];
+            int[] ords = new int[n];
+            n = 0;
+            for (int i = 0; i < moves.length; i++) {
+                if (moves[i].allowedWith(mask)) {
+                    out[n] = moves[i];
+                    ords[n++] = ordinals[i];
+                }
+            }
+            return new Eligible(out, ords, Collections.unmodifiableList(Arrays.asList(out)));
+        }
+
+        // Same eligibility everywhere, so only the move list changes.
+        Slots withMove(int ordinal, Move replacement) {
+            Move[] swapped = moves.clone();
+            swapped[Arrays.binarySearch(ordinals, ordinal)] = replacement;
+            return new Slots(swapped, ordinals);
+        }
+    }
+
+    // list is a read-only view of moves, not a copy.
+    private record Eligible(Move[] moves, int[] ordinals, List<Move> list) {
+    }
+}
@@ -0,0 +1,19 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+
+import java.util.random.RandomGenerator;
+
+public interface MovePolicy extends AutoCloseable {
+    // Index into eligible of the chosen move.
+    int choose(SessionCursor cursor, Move[] eligible, RandomGenerator rng);
+
+    default Move select(SessionCursor cursor, Move[] eligible, RandomGenerator rng) {
+        return eligible[choose(cursor, eligible, rng)];
+    }
+
+    // Releases threads the policy owns (MctsPolicy's worker pool); most hold none.
+    @Override
+    default void close() {
+    }
+}
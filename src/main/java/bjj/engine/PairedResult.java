@@ -0,0 +1,103 @@
+package bjj.engine;
+
+import bjj.domain.Position;
+
+import java.util.List;
+
+// Per-start outcome of a paired catalog comparison: each arm's submission rate and
+// mean session time, and the per-session differences (candidate - baseline).
+public final class PairedResult {
+    private final Position start;
+    private final RunningStats baseSub = new RunningStats();
+    private final RunningStats candSub = new RunningStats();
+    private final RunningStats diffSub = new RunningStats();
+    private final RunningStats baseTime = new RunningStats();
+    private final RunningStats candTime = new RunningStats();
+    private final RunningStats diffTime = new RunningStats();
+
+    PairedResult(Position start) {
+        this.start = start;
+    }
+
+    void add(boolean baseEnded, long baseMs, boolean candEnded, long candMs) {
+        double a = baseEnded ? 1.0 : 0.0;
+        double b = candEnded ? 1.0 : 0.0;
+        baseSub.add(a);
+        candSub.add(b);
+        diffSub.add(b - a);
+        baseTime.add(baseMs);
+        candTime.add(candMs);
+        diffTime.add(candMs - baseMs);
+    }
+
+    PairedResult merge(PairedResult other) {
+        baseSub.merge(other.baseSub);
+        candSub.merge(other.candSub);
+        diffSub.merge(other.diffSub);
+        baseTime.merge(other.baseTime);
+        candTime.merge(other.candTime);
+        diffTime.merge(other.diffTime);
+        return this;
+    }
+
+    public Position start() {
+        return start;
+    }
+
+    public long sessions() {
+        return diffSub.count();
+    }
+
+    public double baselineSubmissionRate() {
+        return baseSub.mean();
+    }
+
+    public double candidateSubmissionRate() {
+        return candSub.mean();
+    }
+
+    public Interval submissionDelta(double z) {
+        return Interval.mean(diffSub, z);
+    }
+
+    public Interval timeDelta(double z) {
+        return Interval.mean(diffTime, z);
+    }
+
+    // Variance of the difference had the arms been sampled independently, over the
+    // paired variance: how many times more sessions two independent runs would need.
+    public double submissionVarianceReduction() {
+        return reduction(baseSub, candSub, diffSub);
+    }
+
+    public double timeVarianceReduction() {
+        return reduction(baseTime, candTime, diffTime);
+    }
+
+    private static double reduction(RunningStats a, RunningStats b, RunningStats diff) {
+        double independent = a.variance() + b.variance();
+        if (diff.variance() == 0.0)
+            return independent == 0.0 ? 1.0 : Double.POSITIVE_INFINITY;
+        return independent / diff.variance();
+    }
+
+    // Infinite when every pair was identical.
+    private static String gain(double g) {
+        return Double.isInfinite(g) ? "same" : String.format("%.1f", g);
+    }
+
+    public static String render(List<PairedResult> results, double z) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-22s %-8s %-8s %-28s %-8s %-30s %s\n", "Start", "P(sub) A", "P(sub) B",
+                "Delta P(sub) [CI]", "CRN gain", "Delta time ms [CI]", "CRN gain"));
+        for (PairedResult r : results) {
+            Interval ds = r.submissionDelta(z);
+            Interval dt = r.timeDelta(z);
+            sb.append(String.format("%-22s %-8.4f %-8.4f %+.4f [%+.4f, %+.4f]  %-8s %+9.1f [%+.1f, %+.1f]  %s\n",
+                    r.start, r.baselineSubmissionRate(), r.candidateSubmissionRate(), ds.estimate(), ds.low(),
+                    ds.high(), gain(r.submissionVarianceReduction()), dt.estimate(), dt.low(), dt.high(),
+                    gain(r.timeVarianceReduction())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package bjj.engine;
+
+import java.util.Collection;
+import java.util.List;
+
+// Solved policy tables per (params, objective, flag mask) over one MoveIndex, kept
+// for the capacity most recently used keys like the index's compiled params.
+public final class PolicyCache {
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final MoveIndex index;
+    private final int capacity;
+    private final LruCache<Key, PolicyTable> tables;
+
+    public PolicyCache(MoveIndex index) {
+        this(index, DEFAULT_CAPACITY);
+    }
+
+    public PolicyCache(MoveIndex index, int capacity) {
+        this.index = index;
+        this.capacity = capacity;
+        this.tables = new LruCache<>(capacity);
+    }
+
+    public PolicyTable table(SimParams params, PolicySolver.Objective objective) {
+        return table(params, objective, 0L);
+    }
+
+    public PolicyTable table(SimParams params, PolicySolver.Objective objective, long flagMask) {
+        return tables.get(new Key(params, objective, flagMask),
+                k -> PolicySolver.solve(new TransitionModel(index, k.params(), k.flagMask()), k.objective()));
+    }
+
+    // Solves the grid in parallel. Only the first capacity points are solved: any
+    // more would evict the first tables before they are used.
+    public void precompute(Collection<SimParams> grid, PolicySolver.Objective objective) {
+        List<SimParams> points = List.copyOf(grid);
+        points.subList(0, Math.min(points.size(), capacity)).parallelStream().forEach(p -> table(p, objective));
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    private record Key(SimParams params, PolicySolver.Objective objective, long flagMask) {
+    }
+}
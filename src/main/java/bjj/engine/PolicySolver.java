@@ -0,0 +1,101 @@
+package bjj.engine;
+
+import java.util.Arrays;
+
+public final class PolicySolver {
+    public static final double DEFAULT_DISCOUNT = 0.99;
+    private static final double TOLERANCE = 1e-9;
+    private static final int MAX_SWEEPS = 1_000_000;
+
+    public enum Objective {
+        MIN_TIME,
+        MAX_SUBMISSION
+    }
+
+    public static PolicyTable solve(TransitionModel model, Objective objective) {
+        return solve(model, objective, DEFAULT_DISCOUNT);
+    }
+
+    // Gauss-Seidel value iteration. MIN_TIME minimises expected ms to a submission
+    // (undiscounted stochastic shortest path); MAX_SUBMISSION maximises the
+    // per-step discounted probability of finishing, since without a clock every
+    // proper policy eventually submits with probability 1.
+    public static PolicyTable solve(TransitionModel model, Objective objective, double discount) {
+        if (discount <= 0.0 || discount > 1.0)
+            throw new IllegalArgumentException("discount must be in (0, 1]");
+        boolean minTime = objective == Objective.MIN_TIME;
+        int n = model.states();
+        double[] value = new double[n + 1];
+        int[] choice = new int[n];
+        value[model.end()] = minTime ? 0.0 : 1.0;
+        for (int s = 0; s < n; s++) {
+            if (model.actionEnd(s) == model.actionStart(s)) {
+                value[s] = minTime ? Double.POSITIVE_INFINITY : 0.0;
+                choice[s] = -1;
+            }
+        }
+
+        for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+            double delta = 0.0;
+            for (int s = 0; s < n; s++) {
+                int first = model.actionStart(s);
+                int last = model.actionEnd(s);
+                if (first == last)
+                    continue;
+                double best = minTime ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+                int bestAction = 0;
+                for (int a = first; a < last; a++) {
+                    double q = minTime ? actionTime(model, value, s, a) : actionSubmission(model, value, s, a, discount);
+                    if (minTime ? q < best : q > best) {
+                        best = q;
+                        bestAction = a - first;
+                    }
+                }
+                if (Double.isFinite(best) && Double.isFinite(value[s]))
+                    delta = Math.max(delta, Math.abs(best - value[s]) / Math.max(1.0, Math.abs(best)));
+                else if (best != value[s])
+                    delta = Double.POSITIVE_INFINITY;
+                value[s] = best;
+                choice[s] = bestAction;
+            }
+            if (delta < TOLERANCE)
+                return new PolicyTable(model, objective, choice, Arrays.copyOf(value, n));
+        }
+        throw new IllegalStateException("value iteration did not converge for " + model.params());
+    }
+
+    // Self-loops (partial/fail that leave the state unchanged) are folded in closed
+    // form, q = (cost + sum_other p V) / (1 - p_self), which speeds up convergence a lot
+    // at high resistance where most attempts fail in place.
+    private static double actionTime(TransitionModel model, double[] value, int s, int a) {
+        double q = model.meanDurationMs(a);
+        double self = 0.0;
+        for (int b = 0; b < TransitionModel.BRANCHES; b++) {
+            double p = model.prob(a, b);
+            if (p == 0.0)
+                continue;
+            int next = model.next(a, b);
+            if (next == s)
+                self += p;
+            else
+                q += p * value[next];
+        }
+        return q / (1.0 - self);
+    }
+
+    private static double actionSubmission(TransitionModel model, double[] value, int s, int a, double discount) {
+        double q = 0.0;
+        double self = 0.0;
+        for (int b = 0; b < TransitionModel.BRANCHES; b++) {
+            double p = model.prob(a, b);
+            int next = model.next(a, b);
+            if (next == model.end())
+                q += p;
+            else if (next == s)
+                self += p;
+            else
+                q += p * discount * value[next];
+        }
+        return q / (1.0 - discount * self);
+    }
+}
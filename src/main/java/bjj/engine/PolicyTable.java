@@ -0,0 +1,68 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+import bjj.domain.Position;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+public final class PolicyTable implements ExplicitPolicy {
+    private final TransitionModel model;
+    private final PolicySolver.Objective objective;
+    private final int[] choice;
+    private final double[] value;
+
+    PolicyTable(TransitionModel model, PolicySolver.Objective objective, int[] choice, double[] value) {
+        this.model = model;
+        this.objective = objective;
+        this.choice = choice;
+        this.value = value;
+    }
+
+    @Override
+    public int choose(SessionCursor cursor, Move[] eligible, RandomGenerator rng) {
+        return choice[state(cursor)];
+    }
+
+    @Override
+    public void weights(SessionCursor cursor, Move[] eligible, double[] out) {
+        Arrays.fill(out, 0, eligible.length, 0.0);
+        out[choice[state(cursor)]] = 1.0;
+    }
+
+    private int state(SessionCursor cursor) {
+        if (cursor.flags() != model.flagMask())
+            throw new IllegalArgumentException("policy table was solved for flag mask " + model.flagMask());
+        int level = model.riskLevels() == 1 ? 0 : (int) Math.round(cursor.riskBuffer() / TransitionModel.RISK_STEP);
+        return model.state(cursor.position(), level);
+    }
+
+    public PolicySolver.Objective objective() {
+        return objective;
+    }
+
+    public SimParams params() {
+        return model.params();
+    }
+
+    public Move best(Position position, int riskLevel) {
+        int s = model.state(position, riskLevel);
+        return choice[s] < 0 ? null : model.eligible(s)[choice[s]];
+    }
+
+    // Expected ms to submission (MIN_TIME) or discounted submission probability (MAX_SUBMISSION).
+    public double value(Position position, int riskLevel) {
+        return value[model.state(position, riskLevel)];
+    }
+
+    public String render() {
+        StringBuilder sb = new StringBuilder();
+        String unit = objective == PolicySolver.Objective.MIN_TIME ? "E[time] ms" : "Value";
+        sb.append(String.format("%-22s %-12s %s\n", "Position", unit, "Best move"));
+        for (Position p : Position.values()) {
+            Move best = best(p, 0);
+            sb.append(String.format("%-22s %-12.4f %s\n", p, value(p, 0), best == null ? "-" : best.id()));
+        }
+        return sb.toString();
+    }
+}
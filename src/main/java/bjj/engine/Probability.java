@@ -1,7 +1,32 @@
 package bjj.engine;
 
 public final class Probability {
+    // Linear interpolation over a table with step 1/128 on [-RANGE, RANGE]. The
+    // interpolation error is at most h^2/8 * max|sigmoid''| < 7.4e-7, and outside the
+    // range the result is clamped to 0 or 1 (error < 1e-8).
+    public static final double FAST_SIGMOID_MAX_ERROR = 1e-6;
+
+    private static final int STEPS_PER_UNIT = 128;
+    private static final double RANGE = 20.0;
+    private static final double[] TABLE = new double[(int) (2 * RANGE * STEPS_PER_UNIT) + 2];
+
+    static {
+        for (int i = 0; i < TABLE.length; i++)
+            TABLE[i] = sigmoid(i / (double) STEPS_PER_UNIT - RANGE);
+    }
+
     public static double sigmoid(double x) {
         return 1.0 / (1.0 + Math.exp(-x));
     }
+
+    public static double fastSigmoid(double x) {
+        if (x <= -RANGE)
+            return 0.0;
+        if (x >= RANGE)
+            return 1.0;
+        double t = (x + RANGE) * STEPS_PER_UNIT;
+        int i = (int) t;
+        double frac = t - i;
+        return TABLE[i] + (TABLE[i + 1] - TABLE[i]) * frac;
+    }
 }
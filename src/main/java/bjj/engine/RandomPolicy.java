@@ -0,0 +1,18 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+public final class RandomPolicy implements ExplicitPolicy {
+    @Override
+    public int choose(SessionCursor cursor, Move[] eligible, RandomGenerator rng) {
+        return rng.nextInt(eligible.length);
+    }
+
+    @Override
+    public void weights(SessionCursor cursor, Move[] eligible, double[] out) {
+        Arrays.fill(out, 0, eligible.length, 1.0 / eligible.length);
+    }
+}
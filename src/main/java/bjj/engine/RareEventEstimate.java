@@ -0,0 +1,104 @@
+package bjj.engine;
+
+// Mergeable importance-sampling accumulator: per-session likelihood-ratio weights w
+// and hit indicators h, summarised as the estimate mean(w h), its variance, and
+// Kish's effective sample size of the hit weights.
+public final class RareEventEstimate {
+    private final double tilt;
+    private long sessions;
+    private long hits;
+    private double sumWeight;
+    private double sumWeightSq;
+    private double sumHit;
+    private double sumHitSq;
+
+    RareEventEstimate(double tilt) {
+        this.tilt = tilt;
+    }
+
+    void add(boolean hit, double weight) {
+        sessions++;
+        sumWeight += weight;
+        sumWeightSq += weight * weight;
+        if (hit) {
+            hits++;
+            sumHit += weight;
+            sumHitSq += weight * weight;
+        }
+    }
+
+    RareEventEstimate merge(RareEventEstimate other) {
+        sessions += other.sessions;
+        hits += other.hits;
+        sumWeight += other.sumWeight;
+        sumWeightSq += other.sumWeightSq;
+        sumHit += other.sumHit;
+        sumHitSq += other.sumHitSq;
+        return this;
+    }
+
+    public double tilt() {
+        return tilt;
+    }
+
+    public long sessions() {
+        return sessions;
+    }
+
+    // Sessions that reached a submission under the tilted dynamics.
+    public long hits() {
+        return hits;
+    }
+
+    public double estimate() {
+        return sessions == 0 ? 0.0 : sumHit / sessions;
+    }
+
+    // Per-session variance of w h.
+    public double variance() {
+        if (sessions < 2)
+            return Double.POSITIVE_INFINITY;
+        double mean = estimate();
+        return Math.max(0.0, (sumHitSq - sessions * mean * mean) / (sessions - 1));
+    }
+
+    public double standardError() {
+        return Math.sqrt(variance() / sessions);
+    }
+
+    public Interval interval(double z) {
+        double half = z * standardError();
+        return new Interval(estimate(), Math.max(0.0, estimate() - half), estimate() + half);
+    }
+
+    // (sum w)^2 / sum w^2 over the sessions that hit.
+    public double effectiveSampleSize() {
+        return sumHitSq == 0.0 ? 0.0 : sumHit * sumHit / sumHitSq;
+    }
+
+    // Mean likelihood ratio over all sessions; close to 1 when the tilt is sound.
+    public double meanWeight() {
+        return sessions == 0 ? 0.0 : sumWeight / sessions;
+    }
+
+    // Plain Monte Carlo sessions needed for the same standard error.
+    public double equivalentPlainSessions() {
+        double p = estimate();
+        double se2 = variance() / sessions;
+        return se2 == 0.0 ? Double.POSITIVE_INFINITY : p * (1 - p) / se2;
+    }
+
+    public String render(double z) {
+        Interval ci = interval(z);
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Tilt:        %.2f\n", tilt));
+        sb.append(String.format("Sessions:    %d (%d tilted hits)\n", sessions, hits));
+        sb.append(String.format("P(sub):      %.6g [%.6g, %.6g]\n", ci.estimate(), ci.low(), ci.high()));
+        sb.append(String.format("Rel. error:  %.4f\n", ci.relativeError()));
+        sb.append(String.format("ESS:         %.1f\n", effectiveSampleSize()));
+        sb.append(String.format("Mean weight: %.4f\n", meanWeight()));
+        sb.append(String.format("Equivalent plain sessions: %.3g (%.1fx)\n", equivalentPlainSessions(),
+                equivalentPlainSessions() / sessions));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,188 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.data.MappedMoveCatalog;
+import bjj.data.MoveCatalog;
+import bjj.domain.Move;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// A catalog file (JSON, or compiled when it does not end in .json) that is reloaded
+// whenever it changes on disk. Each reload validates the new file and builds its
+// MoveIndex in the background, then publishes both as one CatalogSnapshot with a
+// single reference swap; a file that fails to load is reported and the current
+// snapshot stays. Failures on the watching thread, including listeners that throw,
+// are counted in failures() and lastError() and never stop the watch. Readers call
+// current() - a plain volatile read - once per unit of work and keep that snapshot,
+// so in-flight sessions finish on the catalog they started with. The MoveCatalog
+// methods delegate to the current snapshot.
+public final class ReloadingCatalog implements MoveCatalog, AutoCloseable {
+    // Editors often write in several steps; wait for the file to settle.
+    private static final long SETTLE_MILLIS = 200L;
+
+    private final Path file;
+    private final Function<MoveCatalog, MoveIndex> indexer;
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final List<Consumer<CatalogSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder failures = new LongAdder();
+    private volatile String lastError;
+    private WatchService watcher;
+    private Thread thread;
+
+    public ReloadingCatalog(Path file) {
+        this(file, catalog -> new MoveIndex(catalog.all()));
+    }
+
+    // indexer builds each snapshot's MoveIndex, e.g. with empirical durations.
+    // The initial load happens here and throws if the file is invalid.
+    public ReloadingCatalog(Path file, Function<MoveCatalog, MoveIndex> indexer) {
+        this.file = file.toAbsolutePath();
+        this.indexer = indexer;
+        MoveCatalog catalog = load(this.file);
+        current.set(new CatalogSnapshot(catalog, indexer.apply(catalog), 1L, System.currentTimeMillis()));
+    }
+
+    private static MoveCatalog load(Path file) {
+        return file.toString().endsWith(".json") ? new JsonMoveCatalog(file) : new MappedMoveCatalog(file);
+    }
+
+    public CatalogSnapshot current() {
+        return current.get();
+    }
+
+    // Called on the reloading thread after each successful swap. A listener that
+    // throws is recorded as a failure; the others still run.
+    public void onReload(Consumer<CatalogSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    public String lastError() {
+        return lastError;
+    }
+
+    // Loads the file now; returns false (keeping the current snapshot) if it is invalid.
+    public synchronized boolean reload() {
+        MoveCatalog catalog;
+        MoveIndex index;
+        try {
+            catalog = load(file);
+            index = indexer.apply(catalog);
+        } catch (RuntimeException e) {
+            fail("", e);
+            return false;
+        }
+        CatalogSnapshot next = new CatalogSnapshot(catalog, index, current.get().generation() + 1,
+                System.currentTimeMillis());
+        current.set(next);
+        lastError = null;
+        for (Consumer<CatalogSnapshot> l : listeners) {
+            try {
+                l.accept(next);
+            } catch (Throwable e) {
+                fail("reload listener failed: ", e);
+            }
+        }
+        return true;
+    }
+
+    private void fail(String prefix, Throwable e) {
+        failures.increment();
+        String message = e.getMessage() != null ? e.getMessage() : e.toString();
+        lastError = prefix + (e.getCause() != null ? message + ": " + e.getCause().getMessage() : message);
+    }
+
+    // Starts watching the file's directory on a daemon thread.
+    public synchronized ReloadingCatalog watch() throws IOException {
+        if (watcher != null)
+            return this;
+        watcher = FileSystems.getDefault().newWatchService();
+        // Replacing by rename shows up as CREATE, in-place edits as MODIFY.
+        file.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        thread = Thread.ofPlatform().name("catalog-watch").daemon().start(this::watchLoop);
+        return this;
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                boolean changed = touchesFile(key);
+                if (!key.reset())
+                    return;
+                if (!changed)
+                    continue;
+                // Fold the burst of events from one save into a single reload.
+                WatchKey more;
+                while ((more = watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    touchesFile(more);
+                    more.reset();
+                }
+                try {
+                    reload();
+                } catch (Throwable e) {
+                    fail("reload failed: ", e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private boolean touchesFile(WatchKey key) {
+        boolean hit = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context()))
+                hit = true;
+        }
+        return hit;
+    }
+
+    @Override
+    public String version() {
+        return current.get().version();
+    }
+
+    @Override
+    public Collection<Move> all() {
+        return current.get().catalog().all();
+    }
+
+    @Override
+    public Optional<Move> byId(String id) {
+        return current.get().catalog().byId(id);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watcher == null)
+            return;
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close catalog watcher", e);
+        } finally {
+            thread.interrupt();
+        }
+    }
+}
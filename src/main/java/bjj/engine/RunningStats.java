@@ -0,0 +1,50 @@
+package bjj.engine;
+
+// Mean and variance in one pass (Welford), mergeable across partitions with Chan's
+// pairwise update, so per-thread accumulators combine to the same answer as one.
+public final class RunningStats {
+    private long count;
+    private double mean;
+    private double m2;
+
+    public void add(double x) {
+        count++;
+        double delta = x - mean;
+        mean += delta / count;
+        m2 += delta * (x - mean);
+    }
+
+    public RunningStats merge(RunningStats other) {
+        if (other.count == 0)
+            return this;
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            return this;
+        }
+        long n = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / n;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / n);
+        count = n;
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    // Sample variance (n - 1 denominator).
+    public double variance() {
+        return count < 2 ? 0.0 : m2 / (count - 1);
+    }
+
+    public double standardError() {
+        return count == 0 ? Double.POSITIVE_INFINITY : Math.sqrt(variance() / count);
+    }
+}
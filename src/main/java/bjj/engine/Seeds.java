@@ -0,0 +1,17 @@
+package bjj.engine;
+
+public final class Seeds {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // Depends only on (masterSeed, sessionIndex), never on which worker runs the session,
+    // so a seeded batch is reproducible for any thread count or chunking.
+    public static long sessionSeed(long masterSeed, long sessionIndex) {
+        return mix64(mix64(masterSeed) + GOLDEN_GAMMA * (sessionIndex + 1));
+    }
+
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
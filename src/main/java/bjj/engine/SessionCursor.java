@@ -0,0 +1,102 @@
+package bjj.engine;
+
+import bjj.domain.ControlFlag;
+import bjj.domain.Position;
+import bjj.domain.State;
+
+import java.util.Set;
+
+public final class SessionCursor {
+    public static final int END = -1;
+
+    private static final Position[] POSITIONS = Position.values();
+
+    private int position;
+    private long flags;
+    private long timelineMs;
+    private double riskBuffer;
+    private long lastDurationMs;
+
+    public SessionCursor() {
+        this.position = END;
+    }
+
+    public SessionCursor(State state) {
+        load(state);
+    }
+
+    public SessionCursor reset(Position start, long flagMask) {
+        this.position = start.ordinal();
+        this.flags = flagMask;
+        this.timelineMs = 0L;
+        this.riskBuffer = 0.0;
+        this.lastDurationMs = 0L;
+        return this;
+    }
+
+    public SessionCursor load(State state) {
+        this.position = state.position() == null ? END : state.position().ordinal();
+        this.flags = state.flagMask();
+        this.timelineMs = state.timelineMs();
+        this.riskBuffer = state.riskBuffer();
+        this.lastDurationMs = 0L;
+        return this;
+    }
+
+    SessionCursor load(int position, long flagMask, long timelineMs, double riskBuffer) {
+        this.position = position;
+        this.flags = flagMask;
+        this.timelineMs = timelineMs;
+        this.riskBuffer = riskBuffer;
+        this.lastDurationMs = 0L;
+        return this;
+    }
+
+    public SessionCursor copyFrom(SessionCursor other) {
+        this.position = other.position;
+        this.flags = other.flags;
+        this.timelineMs = other.timelineMs;
+        this.riskBuffer = other.riskBuffer;
+        this.lastDurationMs = other.lastDurationMs;
+        return this;
+    }
+
+    public State toState(Set<ControlFlag> flagSet) {
+        return new State(positionOrNull(), flagSet, timelineMs, riskBuffer);
+    }
+
+    void advance(int newPosition, long durationMs, double newRiskBuffer) {
+        this.position = newPosition;
+        this.timelineMs += durationMs;
+        this.riskBuffer = newRiskBuffer;
+        this.lastDurationMs = durationMs;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public Position positionOrNull() {
+        return position == END ? null : POSITIONS[position];
+    }
+
+    public boolean ended() {
+        return position == END;
+    }
+
+    public long flags() {
+        return flags;
+    }
+
+    public long timelineMs() {
+        return timelineMs;
+    }
+
+    public double riskBuffer() {
+        return riskBuffer;
+    }
+
+    public long lastDurationMs() {
+        return lastDurationMs;
+    }
+}
@@ -2,8 +2,10 @@ package bjj.engine;
 
 import bjj.domain.MoveFamily;
 
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.Objects;
 
 public final class SimParams {
     private final int resistance;
@@ -16,7 +18,10 @@ public final class SimParams {
 
     public SimParams(int resistance, Map<MoveFamily, Integer> skillByFamily, int fatigueRate) {
         this.resistance = clamp01(resistance);
-        this.skillByFamily = new EnumMap<>(skillByFamily);
+        // Immutable copy: SimParams is a hash key in several caches.
+        Map<MoveFamily, Integer> skills = new EnumMap<>(MoveFamily.class);
+        skills.putAll(skillByFamily);
+        this.skillByFamily = Collections.unmodifiableMap(skills);
         this.fatigueRate = clamp01(fatigueRate);
     }
 
@@ -32,6 +37,27 @@ public final class SimParams {
         return fatigueRate;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof SimParams other))
+            return false;
+        return resistance == other.resistance
+                && fatigueRate == other.fatigueRate
+                && skillByFamily.equals(other.skillByFamily);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(resistance, skillByFamily, fatigueRate);
+    }
+
+    @Override
+    public String toString() {
+        return "SimParams{resistance=" + resistance + ", skills=" + skillByFamily + ", fatigue=" + fatigueRate + "}";
+    }
+
     private static Map<MoveFamily, Integer> defaultSkills() {
         Map<MoveFamily, Integer> map = new EnumMap<>(MoveFamily.class);
         for (MoveFamily fam : MoveFamily.values()) {
@@ -1,66 +1,124 @@
 package bjj.engine;
 
+import bjj.data.MoveCatalog;
 import bjj.domain.*;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 public final class Simulator {
+    static final double RISK_RELIEF = 0.05;
+    static final double FAIL_RISK = 0.05;
+    static final double COUNTER_RISK = 0.15;
+    static final double PARTIAL_CHANCE = 0.20;
+
+    private final MoveIndex index;
+
+    public Simulator() {
+        this.index = null;
+    }
+
+    public Simulator(MoveCatalog catalog) {
+        this(new MoveIndex(catalog.all()));
+    }
+
+    public Simulator(MoveIndex index) {
+        this.index = index;
+    }
+
+    public MoveIndex index() {
+        return index;
+    }
+
+    public List<Move> eligibleMoves(State state) {
+        if (index == null)
+            throw new IllegalStateException("simulator has no move index");
+        return index.eligible(state.position(), state.flagMask());
+    }
 
     public List<Move> eligibleMoves(State state, Collection<Move> all) {
+        long flags = state.flagMask();
         List<Move> list = new ArrayList<>();
         for (Move mv : all) {
-            if (mv.fromPosition() != state.position())
-                continue;
-            if (!state.flags().containsAll(mv.requiredFlags()))
-                continue;
-            boolean anyForbidden = false;
-            for (ControlFlag f : mv.forbiddenFlags()) {
-                if (state.flags().contains(f)) {
-                    anyForbidden = true;
-                    break;
-                }
-            }
-            if (anyForbidden)
-                continue;
-            list.add(mv);
+            if (mv.fromPosition() == state.position() && mv.allowedWith(flags))
+                list.add(mv);
         }
         return list;
     }
 
-    public StepResult step(State state, Move move, SimParams params, Random rng) {
-        long dur = DurationSampler.triangular(rng, move.minMs(), move.typMs(), move.maxMs());
+    public StepResult step(State state, Move move, SimParams params, RandomGenerator rng) {
+        SessionCursor cursor = new SessionCursor(state);
+        Outcome out = advance(cursor, move, params, rng);
+        return new StepResult(out, cursor.toState(state.flags()), cursor.lastDurationMs(), move.id());
+    }
 
-        int userSkill = params.skillByFamily().getOrDefault(move.family(), 50);
-        double diffTerm = (userSkill - move.difficulty()) / move.scale();
-        double resistanceAdj = (params.resistance() - 50.0) / 12.0;
-        double fatigueAdj = (params.fatigueRate() / 100.0) * state.riskBuffer() * 2.0;
+    public Outcome advance(SessionCursor cursor, Move move, SimParams params, RandomGenerator rng) {
+        long dur = sampleDuration(move, rng);
+        double p = successProbability(move, params, cursor.riskBuffer());
+        return resolve(cursor, move, dur, p, rng);
+    }
 
-        double p = Probability.sigmoid(diffTerm - resistanceAdj - fatigueAdj);
+    // Hot path: the move is given by its index ordinal and the probability comes from
+    // the compiled per-move tables instead of SimParams.
+    public Outcome advance(SessionCursor cursor, int ordinal, CompiledParams compiled, RandomGenerator rng) {
+        Move move = index.move(ordinal);
+        long dur = index.durations().sample(ordinal, rng);
+        double p = compiled.successProbability(ordinal, cursor.riskBuffer());
+        return resolve(cursor, move, dur, p, rng);
+    }
 
-        double roll = rng.nextDouble();
-        Outcome out;
-        State next;
+    // As above with the success probability supplied by the caller, e.g. a tilted one
+    // for importance sampling.
+    Outcome advance(SessionCursor cursor, int ordinal, double successProbability, RandomGenerator rng) {
+        Move move = index.move(ordinal);
+        long dur = index.durations().sample(ordinal, rng);
+        return resolve(cursor, move, dur, successProbability, rng);
+    }
+
+    // Indexed moves use the compiled duration tables; anything else (or a simulator
+    // without an index) falls back to sampling the triangular shape directly.
+    private long sampleDuration(Move move, RandomGenerator rng) {
+        int ordinal = index == null ? -1 : index.ordinalOrMissing(move);
+        if (ordinal < 0)
+            return DurationSampler.triangular(rng, move.minMs(), move.typMs(), move.maxMs());
+        return index.durations().sample(ordinal, rng);
+    }
 
+    private static Outcome resolve(SessionCursor cursor, Move move, long dur, double p, RandomGenerator rng) {
+        double risk = cursor.riskBuffer();
+        double roll = rng.nextDouble();
         if (roll < p) {
-            out = Outcome.SUCCESS;
-            next = state.with(move.toPosition(), state.flags(), dur, Math.max(0.0, state.riskBuffer() - 0.05));
-        } else {
-            double roll2 = rng.nextDouble();
-            if (roll2 < move.counterChance()) {
-                out = Outcome.FAIL_COUNTER;
-                next = state.with(state.position(), state.flags(), dur, Math.min(1.0, state.riskBuffer() + 0.15));
-            } else {
-                if (rng.nextDouble() < 0.20) {
-                    out = Outcome.PARTIAL;
-                    next = state.with(state.position(), state.flags(), dur, state.riskBuffer());
-                } else {
-                    out = Outcome.FAIL;
-                    next = state.with(state.position(), state.flags(), dur, Math.min(1.0, state.riskBuffer() + 0.05));
-                }
-            }
+            Position to = move.toPosition();
+            cursor.advance(to == null ? SessionCursor.END : to.ordinal(), dur, Math.max(0.0, risk - RISK_RELIEF));
+            return Outcome.SUCCESS;
+        }
+        double roll2 = rng.nextDouble();
+        if (roll2 < move.counterChance()) {
+            cursor.advance(cursor.position(), dur, Math.min(1.0, risk + COUNTER_RISK));
+            return Outcome.FAIL_COUNTER;
+        }
+        if (rng.nextDouble() < PARTIAL_CHANCE) {
+            cursor.advance(cursor.position(), dur, risk);
+            return Outcome.PARTIAL;
         }
-        return new StepResult(out, next, dur, move.id());
+        cursor.advance(cursor.position(), dur, Math.min(1.0, risk + FAIL_RISK));
+        return Outcome.FAIL;
+    }
+
+    public static double successProbability(Move move, SimParams params, double riskBuffer) {
+        int userSkill = params.skillByFamily().getOrDefault(move.family(), 50);
+        double diffTerm = (userSkill - move.difficulty()) / move.scale();
+        double resistanceAdj = (params.resistance() - 50.0) / 12.0;
+        double fatigueAdj = (params.fatigueRate() / 100.0) * riskBuffer * 2.0;
+
+        return Probability.sigmoid(diffTerm - resistanceAdj - fatigueAdj);
+    }
+
+    public Outcome advance(SessionCursor cursor, Move move, SimParams params, RandomGenerator rng, StepSink sink) {
+        Outcome out = advance(cursor, move, params, rng);
+        sink.onStep(move, out, cursor.lastDurationMs(), cursor);
+        return out;
     }
 
     public String formatEligible(List<Move> moves) {
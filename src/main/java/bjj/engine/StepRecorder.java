@@ -0,0 +1,56 @@
+package bjj.engine;
+
+import java.io.IOException;
+
+// Receives every step of a batch range in order, e.g. to archive it as a trace. One
+// recorder is opened per range and is only ever called from one thread.
+public interface StepRecorder extends AutoCloseable {
+    void step(int moveOrdinal, Outcome outcome, long durationMs, int positionAfter, long timelineMs);
+
+    void endSession(BatchResult.SessionEnd end, long timelineMs);
+
+    @Override
+    void close() throws IOException;
+
+    interface Factory {
+        StepRecorder open(long fromSession, long toSession) throws IOException;
+
+        // Feeds every range to both factories' recorders; either may be null.
+        static Factory tee(Factory first, Factory second) {
+            if (first == null)
+                return second;
+            if (second == null)
+                return first;
+            return (from, to) -> {
+                StepRecorder a = first.open(from, to);
+                StepRecorder b;
+                try {
+                    b = second.open(from, to);
+                } catch (IOException | RuntimeException e) {
+                    a.close();
+                    throw e;
+                }
+                return new StepRecorder() {
+                    @Override
+                    public void step(int moveOrdinal, Outcome outcome, long durationMs, int positionAfter, long timelineMs) {
+                        a.step(moveOrdinal, outcome, durationMs, positionAfter, timelineMs);
+                        b.step(moveOrdinal, outcome, durationMs, positionAfter, timelineMs);
+                    }
+
+                    @Override
+                    public void endSession(BatchResult.SessionEnd end, long timelineMs) {
+                        a.endSession(end, timelineMs);
+                        b.endSession(end, timelineMs);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        try (b) {
+                            a.close();
+                        }
+                    }
+                };
+            };
+        }
+    }
+}
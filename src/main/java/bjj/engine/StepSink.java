@@ -0,0 +1,8 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+
+@FunctionalInterface
+public interface StepSink {
+    void onStep(Move move, Outcome outcome, long durationMs, SessionCursor after);
+}
@@ -0,0 +1,41 @@
+package bjj.engine;
+
+import bjj.domain.MoveFamily;
+
+import java.util.Arrays;
+
+// Single-threaded, plain-array counterpart of Analytics' per-step counters, for
+// engines that record millions of steps on one thread and publish once at the end
+// via Analytics.add.
+final class StepTally {
+    private static final int OUTCOMES = Outcome.values().length;
+
+    final long[] counts = new long[MoveFamily.values().length * OUTCOMES];
+    final long[] durationBuckets = new long[LogHistogram.BUCKETS];
+    long totalMs;
+    long maxMs;
+
+    static int slot(MoveFamily family, Outcome outcome) {
+        return family.ordinal() * OUTCOMES + outcome.ordinal();
+    }
+
+    void record(MoveFamily family, Outcome outcome, long durationMs) {
+        record(slot(family, outcome), durationMs);
+    }
+
+    // slot as returned by slot(family, outcome)
+    void record(int slot, long durationMs) {
+        long v = Math.max(0L, durationMs);
+        counts[slot]++;
+        durationBuckets[LogHistogram.bucket(v)]++;
+        totalMs += v;
+        maxMs = Math.max(maxMs, v);
+    }
+
+    void clear() {
+        Arrays.fill(counts, 0L);
+        Arrays.fill(durationBuckets, 0L);
+        totalMs = 0L;
+        maxMs = 0L;
+    }
+}
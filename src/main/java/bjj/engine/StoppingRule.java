@@ -0,0 +1,47 @@
+package bjj.engine;
+
+// When a configuration's estimates are precise enough to stop sampling it: the
+// submission-rate Wilson interval is within an absolute half-width and/or the mean
+// session time is within a relative error, both at the given confidence.
+public final class StoppingRule {
+    private final double rateHalfWidth;
+    private final double timeRelativeError;
+    private final double z;
+
+    // Pass 0 to leave a criterion out; at least one must be set.
+    public StoppingRule(double rateHalfWidth, double timeRelativeError, double confidence) {
+        if (rateHalfWidth < 0 || timeRelativeError < 0)
+            throw new IllegalArgumentException("targets must not be negative");
+        if (rateHalfWidth == 0 && timeRelativeError == 0)
+            throw new IllegalArgumentException("no stopping target");
+        this.rateHalfWidth = rateHalfWidth;
+        this.timeRelativeError = timeRelativeError;
+        this.z = Interval.z(confidence);
+    }
+
+    public double z() {
+        return z;
+    }
+
+    public Interval submissionRate(BatchResult r) {
+        return Interval.wilson(r.submissions(), r.sessions(), z);
+    }
+
+    public Interval meanTime(BatchResult r) {
+        return Interval.mean(r.sessionTime(), z);
+    }
+
+    // How far from done: the largest ratio of current to target precision, <= 1 once met.
+    public double distance(BatchResult r) {
+        double d = 0.0;
+        if (rateHalfWidth > 0)
+            d = Math.max(d, submissionRate(r).halfWidth() / rateHalfWidth);
+        if (timeRelativeError > 0)
+            d = Math.max(d, meanTime(r).relativeError() / timeRelativeError);
+        return d;
+    }
+
+    public boolean satisfied(BatchResult r) {
+        return r.sessions() > 1 && distance(r) <= 1.0;
+    }
+}
@@ -0,0 +1,218 @@
+package bjj.engine;
+
+import bjj.domain.Move;
+import bjj.domain.Position;
+
+public final class TransitionModel {
+    public static final int BRANCHES = 4;
+    public static final int SUCCESS = 0;
+    public static final int COUNTER = 1;
+    public static final int PARTIAL = 2;
+    public static final int FAIL = 3;
+
+    // The risk buffer only ever moves in multiples of RISK_STEP within [0, 1], so
+    // (position, risk level) is an exact finite state space for the step model.
+    static final double RISK_STEP = Simulator.RISK_RELIEF;
+    static final int RISK_LEVELS = (int) Math.round(1.0 / RISK_STEP) + 1;
+    private static final int FAIL_LEVELS = (int) Math.round(Simulator.FAIL_RISK / RISK_STEP);
+    private static final int COUNTER_LEVELS = (int) Math.round(Simulator.COUNTER_RISK / RISK_STEP);
+
+    private final MoveIndex index;
+    private final SimParams params;
+    private final long flagMask;
+    private final int riskLevels;
+    private final int states;
+    private final int[] actionStart;
+    private final Move[] actionMove;
+    private final double[] meanMs;
+    private final double[] branchProb;
+    private final int[] branchNext;
+
+    public TransitionModel(MoveIndex index, SimParams params, long flagMask) {
+        this.index = index;
+        this.params = params;
+        this.flagMask = flagMask;
+        this.riskLevels = params.fatigueRate() == 0 ? 1 : RISK_LEVELS;
+        this.states = Position.values().length * riskLevels;
+        this.actionStart = new int[states + 1];
+
+        int actions = 0;
+        for (int s = 0; s < states; s++) {
+            actionStart[s] = actions;
+            actions += eligible(s).length;
+        }
+        actionStart[states] = actions;
+
+        this.actionMove = new Move[actions];
+        this.meanMs = new double[actions];
+        this.branchProb = new double[actions * BRANCHES];
+        this.branchNext = new int[actions * BRANCHES];
+        for (int s = 0; s < states; s++) {
+            Move[] eligible = eligible(s);
+            for (int j = 0; j < eligible.length; j++)
+                fill(s, actionStart[s] + j, eligible[j]);
+        }
+    }
+
+    // Model over an index derived from base's by MoveIndex.withMove: states at positions
+    // outside changedPosition keep base's actions verbatim, the rest are re-filled.
+    TransitionModel(TransitionModel base, MoveIndex index, boolean[] changedPosition) {
+        this.index = index;
+        this.params = base.params;
+        this.flagMask = base.flagMask;
+        this.riskLevels = base.riskLevels;
+        this.states = base.states;
+        this.actionStart = new int[states + 1];
+
+        int actions = 0;
+        for (int s = 0; s < states; s++) {
+            actionStart[s] = actions;
+            actions += changedPosition[positionOrdinal(s)] ? eligible(s).length : base.actionEnd(s) - base.actionStart(s);
+        }
+        actionStart[states] = actions;
+
+        this.actionMove = new Move[actions];
+        this.meanMs = new double[actions];
+        this.branchProb = new double[actions * BRANCHES];
+        this.branchNext = new int[actions * BRANCHES];
+        for (int s = 0; s < states; s++) {
+            if (changedPosition[positionOrdinal(s)]) {
+                Move[] eligible = eligible(s);
+                for (int j = 0; j < eligible.length; j++)
+                    fill(s, actionStart[s] + j, eligible[j]);
+                continue;
+            }
+            int from = base.actionStart(s);
+            int to = actionStart[s];
+            int len = base.actionEnd(s) - from;
+            System.arraycopy(base.actionMove, from, actionMove, to, len);
+            System.arraycopy(base.meanMs, from, meanMs, to, len);
+            System.arraycopy(base.branchProb, from * BRANCHES, branchProb, to * BRANCHES, len * BRANCHES);
+            System.arraycopy(base.branchNext, from * BRANCHES, branchNext, to * BRANCHES, len * BRANCHES);
+        }
+    }
+
+    // Copy of base over an index that differs only in the move old, whose replacement
+    // is eligible in exactly the same states: the action layout is shared and only
+    // that move's actions are re-filled.
+    TransitionModel(TransitionModel base, MoveIndex index, Move old, Move replacement) {
+        this.index = index;
+        this.params = base.params;
+        this.flagMask = base.flagMask;
+        this.riskLevels = base.riskLevels;
+        this.states = base.states;
+        this.actionStart = base.actionStart;
+        this.actionMove = base.actionMove.clone();
+        this.meanMs = base.meanMs.clone();
+        this.branchProb = base.branchProb.clone();
+        this.branchNext = base.branchNext.clone();
+        int p = old.fromPosition().ordinal();
+        for (int k = 0; k < riskLevels; k++) {
+            int s = state(p, k);
+            for (int a = actionStart[s]; a < actionStart[s + 1]; a++) {
+                if (actionMove[a] == old)
+                    fill(s, a, replacement);
+            }
+        }
+    }
+
+    void fill(int s, int a, Move move) {
+        int pos = positionOrdinal(s);
+        int level = riskLevel(s);
+        double p = Simulator.successProbability(move, params, riskBuffer(level));
+        double c = move.counterChance();
+        Position to = move.toPosition();
+
+        actionMove[a] = move;
+        meanMs[a] = index.durations().meanMs(index.ordinal(move));
+        int b = a * BRANCHES;
+        branchProb[b + SUCCESS] = p;
+        branchNext[b + SUCCESS] = to == null ? end() : state(to.ordinal(), shift(level, -1));
+        branchProb[b + COUNTER] = (1 - p) * c;
+        branchNext[b + COUNTER] = state(pos, shift(level, COUNTER_LEVELS));
+        branchProb[b + PARTIAL] = (1 - p) * (1 - c) * Simulator.PARTIAL_CHANCE;
+        branchNext[b + PARTIAL] = s;
+        branchProb[b + FAIL] = (1 - p) * (1 - c) * (1 - Simulator.PARTIAL_CHANCE);
+        branchNext[b + FAIL] = state(pos, shift(level, FAIL_LEVELS));
+    }
+
+    private int shift(int level, int delta) {
+        return Math.max(0, Math.min(riskLevels - 1, level + delta));
+    }
+
+    public MoveIndex index() {
+        return index;
+    }
+
+    public SimParams params() {
+        return params;
+    }
+
+    public long flagMask() {
+        return flagMask;
+    }
+
+    public int states() {
+        return states;
+    }
+
+    public int end() {
+        return states;
+    }
+
+    public int riskLevels() {
+        return riskLevels;
+    }
+
+    public int state(Position position, int riskLevel) {
+        return state(position.ordinal(), riskLevel);
+    }
+
+    int state(int positionOrdinal, int riskLevel) {
+        return positionOrdinal * riskLevels + riskLevel;
+    }
+
+    public int positionOrdinal(int state) {
+        return state / riskLevels;
+    }
+
+    public int riskLevel(int state) {
+        return state % riskLevels;
+    }
+
+    public double riskBuffer(int riskLevel) {
+        return riskLevel * RISK_STEP;
+    }
+
+    public Move[] eligible(int state) {
+        return index.eligibleArray(positionOrdinal(state), flagMask);
+    }
+
+    public int actionStart(int state) {
+        return actionStart[state];
+    }
+
+    public int actionEnd(int state) {
+        return actionStart[state + 1];
+    }
+
+    public int actions() {
+        return actionMove.length;
+    }
+
+    public Move move(int action) {
+        return actionMove[action];
+    }
+
+    public double meanDurationMs(int action) {
+        return meanMs[action];
+    }
+
+    public double prob(int action, int branch) {
+        return branchProb[action * BRANCHES + branch];
+    }
+
+    public int next(int action, int branch) {
+        return branchNext[action * BRANCHES + branch];
+    }
+}
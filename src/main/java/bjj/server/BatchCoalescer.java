@@ -0,0 +1,184 @@
+package bjj.server;
+
+import bjj.domain.Position;
+import bjj.engine.BatchResult;
+import bjj.engine.BatchRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Merges concurrent batch requests into larger engine batches. Requests wait in a
+// bounded queue; a dispatcher drains everything queued (up to maxBatchSessions),
+// cuts the requests' session ranges into work units of about unitSessions each -
+// packing several small requests into one unit - and runs the units on a fixed
+// engine pool. A full queue rejects new requests instead of blocking, so callers
+// see backpressure immediately. Each request's result is exactly what
+// BatchRunner.run would give for its seed.
+final class BatchCoalescer implements AutoCloseable {
+    private final BlockingQueue<Job> queue;
+    private final long maxBatchSessions;
+    private final long unitSessions;
+    private final ForkJoinPool engine;
+    private final Thread dispatcher;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder jobs = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile boolean closed;
+
+    BatchCoalescer(int queueCapacity, long maxBatchSessions, long unitSessions, int engineThreads) {
+        if (queueCapacity < 1 || maxBatchSessions < 1 || unitSessions < 1 || engineThreads < 1)
+            throw new IllegalArgumentException("coalescer limits must be positive");
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSessions = maxBatchSessions;
+        this.unitSessions = unitSessions;
+        this.engine = new ForkJoinPool(engineThreads);
+        this.dispatcher = Thread.ofPlatform().name("batch-coalescer").daemon().start(this::dispatch);
+    }
+
+    // Throws RejectedExecutionException when the queue is full or the coalescer is closed.
+    CompletableFuture<BatchResult> submit(BatchRunner runner, Position start, long sessions, long seed) {
+        if (sessions < 0)
+            throw new IllegalArgumentException("sessions negative");
+        Job job = new Job(runner, start, sessions, seed);
+        if (closed || !queue.offer(job)) {
+            rejected.increment();
+            throw new RejectedExecutionException("batch queue full");
+        }
+        return job.done;
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    long batches() {
+        return batches.sum();
+    }
+
+    long jobs() {
+        return jobs.sum();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    private void dispatch() {
+        List<Job> batch = new ArrayList<>();
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            long total = batch.get(0).sessions;
+            Job next;
+            while (total < maxBatchSessions && (next = queue.poll()) != null) {
+                batch.add(next);
+                total += next.sessions;
+            }
+            try {
+                execute(batch);
+            } catch (RuntimeException | Error e) {
+                for (Job job : batch)
+                    job.done.completeExceptionally(e);
+            }
+            batches.increment();
+            jobs.add(batch.size());
+            batch.clear();
+        }
+        for (Job job; (job = queue.poll()) != null; )
+            job.done.completeExceptionally(new RejectedExecutionException("coalescer closed"));
+    }
+
+    private void execute(List<Job> batch) {
+        List<Unit> units = new ArrayList<>();
+        Unit unit = new Unit();
+        for (Job job : batch) {
+            for (long from = 0; from < job.sessions; ) {
+                long to = Math.min(job.sessions, from + unitSessions - unit.sessions);
+                unit.add(job, from, to);
+                from = to;
+                if (unit.sessions >= unitSessions) {
+                    units.add(unit);
+                    unit = new Unit();
+                }
+            }
+        }
+        if (unit.sessions > 0)
+            units.add(unit);
+
+        List<ForkJoinTask<BatchResult[]>> tasks = new ArrayList<>(units.size());
+        for (Unit u : units)
+            tasks.add(engine.submit(u::run));
+        for (Job job : batch)
+            job.result = new BatchResult();
+        for (int i = 0; i < units.size(); i++) {
+            // Segments merge in range order, so per-request results match a single run.
+            BatchResult[] parts = tasks.get(i).join();
+            Unit u = units.get(i);
+            for (int s = 0; s < parts.length; s++)
+                u.jobs.get(s).result.merge(parts[s]);
+        }
+        for (Job job : batch)
+            job.done.complete(job.result);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        engine.shutdown();
+    }
+
+    private static final class Job {
+        private final BatchRunner runner;
+        private final Position start;
+        private final long sessions;
+        private final long seed;
+        private final CompletableFuture<BatchResult> done = new CompletableFuture<>();
+        private BatchResult result;
+
+        Job(BatchRunner runner, Position start, long sessions, long seed) {
+            this.runner = runner;
+            this.start = start;
+            this.sessions = sessions;
+            this.seed = seed;
+        }
+    }
+
+    // Consecutive segments [from, to) of one or more jobs, run on one engine thread.
+    private static final class Unit {
+        private final List<Job> jobs = new ArrayList<>();
+        private final List<long[]> ranges = new ArrayList<>();
+        private long sessions;
+
+        void add(Job job, long from, long to) {
+            jobs.add(job);
+            ranges.add(new long[] {from, to});
+            sessions += to - from;
+        }
+
+        BatchResult[] run() {
+            BatchResult[] out = new BatchResult[jobs.size()];
+            for (int i = 0; i < out.length; i++) {
+                Job job = jobs.get(i);
+                long[] r = ranges.get(i);
+                out[i] = job.runner.runRange(job.start, r[0], r[1], job.seed);
+            }
+            return out;
+        }
+    }
+}
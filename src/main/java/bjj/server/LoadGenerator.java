@@ -0,0 +1,134 @@
+package bjj.server;
+
+import bjj.engine.LogHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.atomic.LongAdder;
+
+// Drives a running SimulationServer with `concurrency` virtual-thread clients and
+// records latency in microseconds. With ratePerSecond > 0 the clients follow a fixed
+// schedule and latency counts from each request's scheduled start, so a stalled
+// server shows up in the tail instead of silently lowering the offered load
+// (coordinated omission). With 0, each client sends back to back.
+public final class LoadGenerator {
+    private final List<URI> targets;
+    private final int concurrency;
+    private final Duration duration;
+    private final double ratePerSecond;
+
+    public LoadGenerator(List<URI> targets, int concurrency, Duration duration, double ratePerSecond) {
+        if (targets.isEmpty())
+            throw new IllegalArgumentException("no target URIs");
+        if (concurrency < 1)
+            throw new IllegalArgumentException("concurrency must be positive");
+        this.targets = List.copyOf(targets);
+        this.concurrency = concurrency;
+        this.duration = duration;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public Report run() throws InterruptedException {
+        Report report = new Report();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long interval = ratePerSecond > 0 ? (long) (1e9 * concurrency / ratePerSecond) : 0L;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int w = 0; w < concurrency; w++) {
+                int worker = w;
+                workers.add(clients.submit(() -> drive(http, worker, start, end, interval, report)));
+            }
+            for (Future<?> f : workers) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("load worker failed", e.getCause());
+                }
+            }
+        }
+        report.seconds = (System.nanoTime() - start) / 1e9;
+        return report;
+    }
+
+    private void drive(HttpClient http, int worker, long start, long end, long interval, Report report) {
+        // Workers start staggered across one interval so a paced load is spread evenly.
+        long scheduled = start + (interval == 0 ? 0 : interval * worker / concurrency);
+        for (long n = worker; ; n++) {
+            if (interval > 0) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0)
+                    LockSupport.parkNanos(wait);
+            } else {
+                scheduled = System.nanoTime();
+            }
+            if (scheduled >= end)
+                return;
+            HttpRequest req = HttpRequest.newBuilder(targets.get((int) (n % targets.size()))).GET().build();
+            try {
+                int status = http.send(req, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200)
+                    report.ok.increment();
+                else if (status == 503)
+                    report.rejected.increment();
+                else
+                    report.failed.increment();
+            } catch (IOException e) {
+                report.failed.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            report.latencyMicros.record((System.nanoTime() - scheduled) / 1_000L);
+            scheduled += interval;
+        }
+    }
+
+    public static final class Report {
+        private final LogHistogram latencyMicros = new LogHistogram();
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private double seconds;
+
+        public LogHistogram latencyMicros() {
+            return latencyMicros;
+        }
+
+        public long ok() {
+            return ok.sum();
+        }
+
+        public long rejected() {
+            return rejected.sum();
+        }
+
+        public long failed() {
+            return failed.sum();
+        }
+
+        public String render() {
+            long total = latencyMicros.count();
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Requests:    %d (%.0f/s) | ok %d | rejected (503) %d | failed %d\n",
+                    total, total / seconds, ok(), rejected(), failed()));
+            sb.append(String.format("Latency ms:  mean %.2f | p50 %.2f | p90 %.2f | p99 %.2f | p99.9 %.2f | max %.2f\n",
+                    latencyMicros.mean() / 1e3, latencyMicros.percentile(0.50) / 1e3,
+                    latencyMicros.percentile(0.90) / 1e3, latencyMicros.percentile(0.99) / 1e3,
+                    latencyMicros.percentile(0.999) / 1e3, latencyMicros.max() / 1e3));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package bjj.server;
+
+import bjj.domain.ControlFlag;
+import bjj.domain.Move;
+import bjj.domain.MoveFamily;
+import bjj.domain.Position;
+import bjj.domain.State;
+import bjj.engine.BatchResult;
+import bjj.engine.BatchRunner;
+import bjj.engine.CatalogSnapshot;
+import bjj.engine.LruCache;
+import bjj.engine.MoveIndex;
+import bjj.engine.Outcome;
+import bjj.engine.RandomPolicy;
+import bjj.engine.ReloadingCatalog;
+import bjj.engine.SimParams;
+import bjj.engine.Simulator;
+import bjj.engine.StepRecorder;
+import bjj.engine.StepResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Embedded JSON-over-HTTP front end to the engine. Every request runs on its own
+// virtual thread; batch requests go through a BatchCoalescer so the engine sees a
+// few large batches on a fixed pool rather than one small batch per request. The
+// move index (and the CompiledParams it caches) is immutable and shared by all
+// requests, as is one BatchRunner per distinct SimParams. Behind a ReloadingCatalog
+// all of that is rebuilt per catalog snapshot.
+//
+//   GET /moves?position=P[&flags=A,B]                          eligible moves
+//   GET /step?position=P&move=ID[&flags=..&risk=..&seed=..]    one resolved move
+//   GET /session?start=P[&seed=..&index=..]                    one full session, step by step
+//   GET /batch?start=P&sessions=N[&seed=..]                    Monte Carlo summary
+//   GET /health                                                queue and coalescing counters
+// Simulation endpoints also take resistance, fatigue, skill and skill-<family>.
+public final class SimulationServer implements AutoCloseable {
+    public static final long DEFAULT_MAX_REQUEST_SESSIONS = 10_000_000L;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Position[] POSITIONS = Position.values();
+    // Runners kept per served catalog; params come from query strings, so this is capped.
+    private static final int RUNNER_CACHE = 64;
+
+    // Everything derived from the served catalog. Swapped as a whole when a
+    // ReloadingCatalog publishes a new snapshot; each request reads it once.
+    private volatile Served served;
+    private final int maxSteps;
+    private final long maxRequestSessions;
+    private final BatchCoalescer coalescer;
+    private HttpServer http;
+    private ExecutorService requests;
+
+    public SimulationServer(MoveIndex index, int maxSteps, int engineThreads, int queueCapacity) {
+        this(index, maxSteps, engineThreads, queueCapacity, 2_000_000L, DEFAULT_MAX_REQUEST_SESSIONS);
+    }
+
+    public SimulationServer(MoveIndex index, int maxSteps, int engineThreads, int queueCapacity,
+                            long maxBatchSessions, long maxRequestSessions) {
+        this(maxSteps, engineThreads, queueCapacity, maxBatchSessions, maxRequestSessions);
+        this.served = new Served(index, null, 1L);
+    }
+
+    // Serves whatever the catalog currently holds. Requests already running, and
+    // batches already queued, finish on the snapshot they started with.
+    public SimulationServer(ReloadingCatalog catalog, int maxSteps, int engineThreads, int queueCapacity,
+                            long maxBatchSessions, long maxRequestSessions) {
+        this(maxSteps, engineThreads, queueCapacity, maxBatchSessions, maxRequestSessions);
+        CatalogSnapshot snapshot = catalog.current();
+        this.served = new Served(snapshot.index(), snapshot.version(), snapshot.generation());
+        catalog.onReload(next -> served = new Served(next.index(), next.version(), next.generation()));
+    }
+
+    private SimulationServer(int maxSteps, int engineThreads, int queueCapacity,
+                             long maxBatchSessions, long maxRequestSessions) {
+        if (maxSteps < 1)
+            throw new IllegalArgumentException("maxSteps must be positive");
+        this.maxSteps = maxSteps;
+        this.maxRequestSessions = maxRequestSessions;
+        this.coalescer = new BatchCoalescer(queueCapacity, maxBatchSessions, 10_000L, engineThreads);
+    }
+
+    // Binds and starts serving; returns the bound port (useful with port 0).
+    public int start(InetSocketAddress address) throws IOException {
+        http = HttpServer.create(address, 1024);
+        requests = Executors.newVirtualThreadPerTaskExecutor();
+        http.setExecutor(requests);
+        http.createContext("/moves", ex -> handle(ex, this::moves));
+        http.createContext("/step", ex -> handle(ex, this::step));
+        http.createContext("/session", ex -> handle(ex, this::session));
+        http.createContext("/batch", ex -> handle(ex, this::batch));
+        http.createContext("/health", ex -> handle(ex, q -> health()));
+        http.start();
+        return http.getAddress().getPort();
+    }
+
+    private interface Endpoint {
+        Object respond(Map<String, String> query) throws Exception;
+    }
+
+    private void handle(HttpExchange ex, Endpoint endpoint) throws IOException {
+        int status = 200;
+        Object body;
+        try {
+            if (!ex.getRequestMethod().equals("GET")) {
+                status = 405;
+                body = error("use GET");
+            } else {
+                body = endpoint.respond(query(ex.getRequestURI().getRawQuery()));
+            }
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            body = error(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            status = 503;
+            body = error(e.getMessage());
+            ex.getResponseHeaders().set("Retry-After", "1");
+        } catch (Exception e) {
+            status = 500;
+            body = error(String.valueOf(e));
+        }
+        byte[] bytes = JSON.writeValueAsBytes(body);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> error(String message) {
+        return Map.of("error", message == null ? "error" : message);
+    }
+
+    private Object moves(Map<String, String> q) {
+        State state = state(q, "position");
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (Move mv : served.sim.eligibleMoves(state)) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("id", mv.id());
+            m.put("name", mv.name());
+            m.put("family", mv.family().name());
+            m.put("difficulty", mv.difficulty());
+            m.put("to", mv.toPosition() == null ? "END" : mv.toPosition().name());
+            out.add(m);
+        }
+        return out;
+    }
+
+    private Object step(Map<String, String> q) {
+        Served s = served;
+        State state = state(q, "position");
+        Move move = s.moveById(q.get("move"));
+        if (move.fromPosition() != state.position() || !move.allowedWith(state.flagMask()))
+            throw new IllegalArgumentException("move " + move.id() + " is not eligible in " + state.position());
+        StepResult r = s.sim.step(state, move, params(q), new SplittableRandom(seed(q)));
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("move", r.moveId());
+        out.put("outcome", r.outcome().name());
+        out.put("durationMs", r.durationMs());
+        out.put("position", r.newState().position() == null ? "END" : r.newState().position().name());
+        out.put("riskBuffer", r.newState().riskBuffer());
+        return out;
+    }
+
+    // Session `index` of the batch with this seed, so it can be cross-checked against /batch.
+    private Object session(Map<String, String> q) throws IOException {
+        Served served = this.served;
+        Position start = position(q, "start");
+        long seed = seed(q);
+        List<Map<String, Object>> steps = new ArrayList<>();
+        BatchResult.SessionEnd[] end = new BatchResult.SessionEnd[1];
+        try (StepRecorder recorder = new StepRecorder() {
+            @Override
+            public void step(int moveOrdinal, Outcome outcome, long durationMs, int positionAfter, long timelineMs) {
+                Map<String, Object> s = new LinkedHashMap<>();
+                s.put("move", served.index.move(moveOrdinal).id());
+                s.put("outcome", outcome.name());
+                s.put("durationMs", durationMs);
+                s.put("position", positionAfter < 0 ? "END" : POSITIONS[positionAfter].name());
+                steps.add(s);
+            }
+
+            @Override
+            public void endSession(BatchResult.SessionEnd e, long timelineMs) {
+                end[0] = e;
+            }
+
+            @Override
+            public void close() {
+            }
+        }) {
+            served.runner(params(q)).runSession(start, longParam(q, "index", 0L), seed, recorder);
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("seed", seed);
+        out.put("end", end[0].name());
+        out.put("steps", steps);
+        return out;
+    }
+
+    private Object batch(Map<String, String> q) throws InterruptedException {
+        Position start = position(q, "start");
+        long sessions = longParam(q, "sessions", 10_000L);
+        if (sessions < 1 || sessions > maxRequestSessions)
+            throw new IllegalArgumentException("sessions must be in 1.." + maxRequestSessions);
+        long seed = seed(q);
+        BatchResult r;
+        try {
+            r = coalescer.submit(served.runner(params(q)), start, sessions, seed).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("batch failed", e.getCause());
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("seed", seed);
+        out.put("sessions", r.sessions());
+        out.put("submissions", r.submissions());
+        out.put("stalls", r.stalls());
+        out.put("capped", r.capped());
+        out.put("steps", r.steps());
+        out.put("submissionRate", r.submissionRate());
+        out.put("meanTimeMs", r.sessionTime().mean());
+        return out;
+    }
+
+    private Object health() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("queued", coalescer.queued());
+        out.put("batches", coalescer.batches());
+        out.put("batchedRequests", coalescer.jobs());
+        out.put("rejected", coalescer.rejected());
+        Served s = served;
+        out.put("catalogVersion", s.version);
+        out.put("catalogGeneration", s.generation);
+        out.put("runners", s.runners.size());
+        return out;
+    }
+
+    private final class Served {
+        private final MoveIndex index;
+        private final Simulator sim;
+        private final String version;
+        private final long generation;
+        private final Map<String, Integer> ordinals;
+        private final LruCache<SimParams, BatchRunner> runners = new LruCache<>(RUNNER_CACHE);
+
+        Served(MoveIndex index, String version, long generation) {
+            this.index = index;
+            this.sim = new Simulator(index);
+            this.version = version;
+            this.generation = generation;
+            Map<String, Integer> ids = new HashMap<>();
+            for (int i = 0; i < index.size(); i++)
+                ids.put(index.move(i).id(), i);
+            this.ordinals = Map.copyOf(ids);
+        }
+
+        Move moveById(String id) {
+            if (id == null)
+                throw new IllegalArgumentException("missing move");
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null)
+                throw new IllegalArgumentException("unknown move " + id);
+            return index.move(ordinal);
+        }
+
+        BatchRunner runner(SimParams params) {
+            return runners.get(params, p -> new BatchRunner(index, p, new RandomPolicy(), maxSteps));
+        }
+    }
+
+    static Map<String, String> query(String raw) {
+        Map<String, String> q = new HashMap<>();
+        if (raw == null || raw.isEmpty())
+            return q;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            q.put(key, value);
+        }
+        return q;
+    }
+
+    private static State state(Map<String, String> q, String key) {
+        Set<ControlFlag> flags = EnumSet.noneOf(ControlFlag.class);
+        String f = q.get("flags");
+        if (f != null && !f.isBlank()) {
+            for (String name : f.split(","))
+                flags.add(ControlFlag.valueOf(name.trim()));
+        }
+        return new State(position(q, key), flags, 0L, doubleParam(q, "risk", 0.0));
+    }
+
+    private static Position position(Map<String, String> q, String key) {
+        String v = q.get(key);
+        if (v == null)
+            throw new IllegalArgumentException("missing " + key);
+        return Position.valueOf(v);
+    }
+
+    private static SimParams params(Map<String, String> q) {
+        int skill = bounded(q, "skill", 50);
+        Map<MoveFamily, Integer> skills = new EnumMap<>(MoveFamily.class);
+        for (MoveFamily fam : MoveFamily.values())
+            skills.put(fam, bounded(q, "skill-" + fam.name().toLowerCase(), skill));
+        return new SimParams(bounded(q, "resistance", 50), skills, bounded(q, "fatigue", 0));
+    }
+
+    private static int bounded(Map<String, String> q, String key, int def) {
+        long v = longParam(q, key, def);
+        if (v < 0 || v > 100)
+            throw new IllegalArgumentException(key + " must be in 0..100");
+        return (int) v;
+    }
+
+    private static long seed(Map<String, String> q) {
+        return q.containsKey("seed") ? longParam(q, "seed", 0L) : ThreadLocalRandom.current().nextLong();
+    }
+
+    private static long longParam(Map<String, String> q, String key, long def) {
+        String v = q.get(key);
+        return v == null ? def : Long.parseLong(v);
+    }
+
+    private static double doubleParam(Map<String, String> q, String key, double def) {
+        String v = q.get(key);
+        return v == null ? def : Double.parseDouble(v);
+    }
+
+    @Override
+    public void close() {
+        if (http != null)
+            http.stop(0);
+        coalescer.close();
+        if (requests != null)
+            requests.close();
+    }
+}
@@ -0,0 +1,44 @@
+package bjj.stream;
+
+import bjj.engine.BatchResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+// Subscriber that folds every batch it receives into a BatchResult, completed when
+// the stream closes. Batches dropped for this subscriber are simply missing from it.
+public final class ResultCollector implements Flow.Subscriber<StepBatch> {
+    private final BatchResult result = new BatchResult();
+    private final CompletableFuture<BatchResult> done = new CompletableFuture<>();
+    private volatile long sessions;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(StepBatch batch) {
+        batch.addTo(result);
+        sessions += batch.sessions();
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        done.completeExceptionally(error);
+    }
+
+    @Override
+    public void onComplete() {
+        done.complete(result);
+    }
+
+    // Sessions received so far; safe to read while the stream runs.
+    public long sessions() {
+        return sessions;
+    }
+
+    public CompletableFuture<BatchResult> result() {
+        return done;
+    }
+}
@@ -0,0 +1,141 @@
+package bjj.stream;
+
+import bjj.domain.Move;
+import bjj.engine.BatchResult;
+import bjj.engine.MoveIndex;
+import bjj.engine.Outcome;
+
+import java.util.Arrays;
+
+// A published run of whole sessions from one batch range: sessions
+// [firstSession, firstSession + sessions()) with their steps in order, one row per
+// step plus a marker row (no move) for a session that stalled before its first
+// step. Immutable once published.
+public final class StepBatch {
+    static final int NO_MOVE = -1;
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    private static final BatchResult.SessionEnd[] ENDS = BatchResult.SessionEnd.values();
+
+    private final MoveIndex index;
+    private final long firstSession;
+    private int rows;
+    private int steps;
+    private int sessions;
+    private int[] move;
+    private byte[] outcome;
+    private byte[] position;
+    private byte[] end;
+    private int[] duration;
+    private long[] timeline;
+
+    StepBatch(MoveIndex index, long firstSession, int capacity) {
+        this.index = index;
+        this.firstSession = firstSession;
+        this.move = new int[capacity];
+        this.outcome = new byte[capacity];
+        this.position = new byte[capacity];
+        this.end = new byte[capacity];
+        this.duration = new int[capacity];
+        this.timeline = new long[capacity];
+    }
+
+    void addStep(int moveOrdinal, Outcome out, long durationMs, int positionAfter, long timelineMs) {
+        add(moveOrdinal, (byte) out.ordinal(), (byte) positionAfter, durationMs, timelineMs);
+        steps++;
+    }
+
+    // Marks the session's last row as its end, adding a marker row if it had no steps.
+    void endSession(BatchResult.SessionEnd e, boolean hadSteps, long timelineMs) {
+        if (!hadSteps)
+            add(NO_MOVE, (byte) -1, (byte) -1, 0L, timelineMs);
+        end[rows - 1] = (byte) (e.ordinal() + 1);
+        sessions++;
+    }
+
+    private void add(int mv, byte out, byte pos, long durationMs, long timelineMs) {
+        if (rows == move.length)
+            grow();
+        move[rows] = mv;
+        outcome[rows] = out;
+        position[rows] = pos;
+        end[rows] = 0;
+        duration[rows] = (int) Math.min(durationMs, Integer.MAX_VALUE);
+        timeline[rows] = timelineMs;
+        rows++;
+    }
+
+    private void grow() {
+        int n = move.length * 2;
+        move = Arrays.copyOf(move, n);
+        outcome = Arrays.copyOf(outcome, n);
+        position = Arrays.copyOf(position, n);
+        end = Arrays.copyOf(end, n);
+        duration = Arrays.copyOf(duration, n);
+        timeline = Arrays.copyOf(timeline, n);
+    }
+
+    public long firstSession() {
+        return firstSession;
+    }
+
+    public int sessions() {
+        return sessions;
+    }
+
+    public int steps() {
+        return steps;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public boolean isStep(int row) {
+        return move[row] != NO_MOVE;
+    }
+
+    public int moveOrdinal(int row) {
+        return move[row];
+    }
+
+    public Move move(int row) {
+        return index.move(move[row]);
+    }
+
+    public Outcome outcome(int row) {
+        return OUTCOMES[outcome[row]];
+    }
+
+    public long durationMs(int row) {
+        return duration[row];
+    }
+
+    // Position ordinal after the step, SessionCursor.END once submitted.
+    public int positionAfter(int row) {
+        return position[row];
+    }
+
+    public long timelineMs(int row) {
+        return timeline[row];
+    }
+
+    // How the session ended if this is its last row, else null.
+    public BatchResult.SessionEnd sessionEnd(int row) {
+        return end[row] == 0 ? null : ENDS[end[row] - 1];
+    }
+
+    // Folds the batch into result the same way BatchRunner would have.
+    public void addTo(BatchResult result) {
+        int sessionSteps = 0;
+        for (int i = 0; i < rows; i++) {
+            if (move[i] != NO_MOVE) {
+                result.analytics().record(index.move(move[i]).family(), OUTCOMES[outcome[i]], duration[i]);
+                sessionSteps++;
+            }
+            if (end[i] != 0) {
+                result.recordSession(ENDS[end[i] - 1], sessionSteps, timeline[i]);
+                sessionSteps = 0;
+            }
+        }
+    }
+}
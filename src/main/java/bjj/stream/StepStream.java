@@ -0,0 +1,133 @@
+package bjj.stream;
+
+import bjj.engine.BatchResult;
+import bjj.engine.MoveIndex;
+import bjj.engine.Outcome;
+import bjj.engine.StepRecorder;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+// Publishes a batch's steps to any number of Flow subscribers. Plug it into
+// BatchRunner.run as the recorder factory: each worker range collects whole sessions
+// into a StepBatch and publishes once it holds batchSteps steps, so the per-step cost
+// is an array store. Every subscriber gets its own buffer of bufferCapacity batches;
+// when a slow subscriber's buffer is full the Overflow policy decides whether the
+// simulation thread waits (BLOCK), gives up on that subscriber's copy at once (DROP)
+// or after a timeout (TIMEOUT). Dropped batches are counted, never retried.
+public final class StepStream implements StepRecorder.Factory, AutoCloseable {
+    public static final int DEFAULT_BATCH_STEPS = 4096;
+
+    public enum Overflow {
+        BLOCK,
+        DROP,
+        TIMEOUT
+    }
+
+    private final MoveIndex index;
+    private final SubmissionPublisher<StepBatch> publisher;
+    private final int batchSteps;
+    private final Overflow overflow;
+    private final long timeoutNanos;
+    private final BiPredicate<Flow.Subscriber<? super StepBatch>, StepBatch> onDrop;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder droppedBatches = new LongAdder();
+    private final LongAdder droppedSteps = new LongAdder();
+
+    public StepStream(MoveIndex index, Executor executor, int bufferCapacity, int batchSteps,
+                      Overflow overflow, Duration timeout) {
+        if (batchSteps < 1)
+            throw new IllegalArgumentException("batchSteps must be positive");
+        if (overflow == Overflow.TIMEOUT && (timeout == null || timeout.isNegative()))
+            throw new IllegalArgumentException("TIMEOUT overflow needs a non-negative timeout");
+        this.index = index;
+        this.publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+        this.batchSteps = batchSteps;
+        this.overflow = overflow;
+        this.timeoutNanos = timeout == null ? 0L : timeout.toNanos();
+        this.onDrop = (subscriber, batch) -> {
+            droppedBatches.increment();
+            droppedSteps.add(batch.steps());
+            return false;
+        };
+    }
+
+    public void subscribe(Flow.Subscriber<? super StepBatch> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    @Override
+    public StepRecorder open(long fromSession, long toSession) {
+        return new Recorder(fromSession);
+    }
+
+    // Batches handed to the publisher, counting each once however many subscribers.
+    public long published() {
+        return published.sum();
+    }
+
+    // Per-subscriber copies that overflowed a full buffer.
+    public long droppedBatches() {
+        return droppedBatches.sum();
+    }
+
+    public long droppedSteps() {
+        return droppedSteps.sum();
+    }
+
+    // Completes all subscribers once their buffers drain.
+    @Override
+    public void close() {
+        publisher.close();
+    }
+
+    private void publish(StepBatch batch) {
+        published.increment();
+        switch (overflow) {
+            case BLOCK -> publisher.submit(batch);
+            case DROP -> publisher.offer(batch, onDrop);
+            case TIMEOUT -> publisher.offer(batch, timeoutNanos, TimeUnit.NANOSECONDS, onDrop);
+        }
+    }
+
+    private final class Recorder implements StepRecorder {
+        private long nextSession;
+        private StepBatch batch;
+        private boolean sessionHasSteps;
+
+        Recorder(long fromSession) {
+            this.nextSession = fromSession;
+            this.batch = new StepBatch(index, fromSession, batchSteps + 64);
+        }
+
+        @Override
+        public void step(int moveOrdinal, Outcome outcome, long durationMs, int positionAfter, long timelineMs) {
+            batch.addStep(moveOrdinal, outcome, durationMs, positionAfter, timelineMs);
+            sessionHasSteps = true;
+        }
+
+        // Batches only close between sessions, so each one is self-contained.
+        @Override
+        public void endSession(BatchResult.SessionEnd end, long timelineMs) {
+            batch.endSession(end, sessionHasSteps, timelineMs);
+            sessionHasSteps = false;
+            nextSession++;
+            if (batch.steps() >= batchSteps) {
+                publish(batch);
+                batch = new StepBatch(index, nextSession, batchSteps + 64);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (batch.sessions() > 0)
+                publish(batch);
+            batch = null;
+        }
+    }
+}
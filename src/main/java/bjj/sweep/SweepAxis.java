@@ -0,0 +1,55 @@
+package bjj.sweep;
+
+import java.util.Arrays;
+
+// One swept SimParams dimension: "resistance", "fatigue", "skill" (every family) or
+// "skill-<family>". Values come from "lo:hi:step", "a,b,c" or a single number.
+public final class SweepAxis {
+    private final String name;
+    private final int[] values;
+
+    public SweepAxis(String name, int... values) {
+        if (values.length == 0)
+            throw new IllegalArgumentException("axis " + name + " has no values");
+        this.name = name;
+        this.values = values.clone();
+    }
+
+    public static SweepAxis parse(String name, String spec) {
+        String[] range = spec.split(":");
+        if (range.length == 3) {
+            int lo = Integer.parseInt(range[0].trim());
+            int hi = Integer.parseInt(range[1].trim());
+            int step = Integer.parseInt(range[2].trim());
+            if (step <= 0 || hi < lo)
+                throw new IllegalArgumentException("bad range for " + name + ": " + spec);
+            int[] vals = new int[(hi - lo) / step + 1];
+            for (int i = 0; i < vals.length; i++)
+                vals[i] = lo + i * step;
+            return new SweepAxis(name, vals);
+        }
+        if (range.length != 1)
+            throw new IllegalArgumentException("bad range for " + name + ": " + spec);
+        return new SweepAxis(name, Arrays.stream(spec.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public int value(int i) {
+        return values[i];
+    }
+
+    public int min() {
+        return Arrays.stream(values).min().getAsInt();
+    }
+
+    public int max() {
+        return Arrays.stream(values).max().getAsInt();
+    }
+}
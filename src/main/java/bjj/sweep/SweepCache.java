@@ -0,0 +1,65 @@
+package bjj.sweep;
+
+import bjj.engine.SimParams;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+// Persistent per-point results, one small file per key under a directory. The key
+// covers everything that determines a result: catalog version, run settings
+// (policy, start, step cap), params, seed and session count. Files are named by the
+// key's SHA-256 and repeat the key on their first line to guard against collisions.
+public final class SweepCache {
+    private final Path dir;
+
+    public SweepCache(Path dir) {
+        this.dir = dir;
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new RuntimeException("cannot create sweep cache " + dir, e);
+        }
+    }
+
+    public Optional<SweepPoint> get(String key, SimParams params) {
+        Path file = file(key);
+        if (!Files.exists(file))
+            return Optional.empty();
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.size() != 2 || !lines.get(0).equals(key))
+                return Optional.empty();
+            return Optional.of(SweepPoint.decode(params, lines.get(1)));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, SweepPoint point) {
+        Path file = file(key);
+        try {
+            Path tmp = Files.createTempFile(dir, "entry", ".tmp");
+            Files.writeString(tmp, key + "\n" + point.encode() + "\n", StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("cannot write sweep cache entry " + file, e);
+        }
+    }
+
+    private Path file(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return dir.resolve(HexFormat.of().formatHex(hash) + ".point");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package bjj.sweep;
+
+import bjj.domain.MoveFamily;
+import bjj.engine.BatchResult;
+import bjj.engine.SimParams;
+
+import java.util.Locale;
+
+// Aggregate outcome of one sweep point, as written to the output CSV and the cache.
+public final class SweepPoint {
+    private final SimParams params;
+    private final long sessions;
+    private final long submissions;
+    private final long stalls;
+    private final long capped;
+    private final long steps;
+    private final long totalTimeMs;
+    private final long p50SessionMs;
+    private final long p99SessionMs;
+    private final boolean cached;
+
+    SweepPoint(SimParams params, long sessions, long submissions, long stalls, long capped, long steps,
+            long totalTimeMs, long p50SessionMs, long p99SessionMs, boolean cached) {
+        this.params = params;
+        this.sessions = sessions;
+        this.submissions = submissions;
+        this.stalls = stalls;
+        this.capped = capped;
+        this.steps = steps;
+        this.totalTimeMs = totalTimeMs;
+        this.p50SessionMs = p50SessionMs;
+        this.p99SessionMs = p99SessionMs;
+        this.cached = cached;
+    }
+
+    static SweepPoint of(SimParams params, BatchResult r) {
+        return new SweepPoint(params, r.sessions(), r.submissions(), r.stalls(), r.capped(), r.steps(),
+                r.totalTimeMs(), r.analytics().sessionLengths().percentile(0.50),
+                r.analytics().sessionLengths().percentile(0.99), false);
+    }
+
+    // Counterpart of encode(); the point comes back flagged as cached.
+    static SweepPoint decode(SimParams params, String line) {
+        String[] f = line.trim().split(",");
+        if (f.length != 8)
+            throw new IllegalArgumentException("malformed sweep cache entry: " + line);
+        long[] v = new long[f.length];
+        for (int i = 0; i < f.length; i++)
+            v[i] = Long.parseLong(f[i]);
+        return new SweepPoint(params, v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], true);
+    }
+
+    String encode() {
+        return sessions + "," + submissions + "," + stalls + "," + capped + "," + steps + "," + totalTimeMs
+                + "," + p50SessionMs + "," + p99SessionMs;
+    }
+
+    public static String csvHeader() {
+        StringBuilder sb = new StringBuilder("resistance,fatigue");
+        for (MoveFamily fam : MoveFamily.values())
+            sb.append(",skill_").append(fam.name().toLowerCase(Locale.ROOT));
+        return sb.append(",sessions,submission_rate,stall_rate,capped_rate,mean_steps,mean_time_ms")
+                .append(",p50_session_ms,p99_session_ms,cached").toString();
+    }
+
+    public String csvRow() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(params.resistance()).append(',').append(params.fatigueRate());
+        for (MoveFamily fam : MoveFamily.values())
+            sb.append(',').append(params.skillByFamily().getOrDefault(fam, 50));
+        sb.append(',').append(sessions);
+        sb.append(String.format(Locale.ROOT, ",%.6f,%.6f,%.6f,%.3f,%.1f", rate(submissions), rate(stalls),
+                rate(capped), rate(steps), rate(totalTimeMs)));
+        return sb.append(',').append(p50SessionMs).append(',').append(p99SessionMs).append(',').append(cached)
+                .toString();
+    }
+
+    private double rate(long count) {
+        return sessions == 0 ? 0.0 : count / (double) sessions;
+    }
+
+    public SimParams params() {
+        return params;
+    }
+
+    public long sessions() {
+        return sessions;
+    }
+
+    public long submissions() {
+        return submissions;
+    }
+
+    public long stalls() {
+        return stalls;
+    }
+
+    public long capped() {
+        return capped;
+    }
+
+    public long steps() {
+        return steps;
+    }
+
+    public long totalTimeMs() {
+        return totalTimeMs;
+    }
+
+    public double submissionRate() {
+        return rate(submissions);
+    }
+
+    public boolean cached() {
+        return cached;
+    }
+}
@@ -0,0 +1,128 @@
+package bjj.sweep;
+
+import bjj.domain.Position;
+import bjj.engine.BatchResult;
+import bjj.engine.BatchRunner;
+import bjj.engine.MoveIndex;
+import bjj.engine.MovePolicy;
+import bjj.engine.SimParams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Runs a batch per sweep point. Each point's sessions are cut into `replicates`
+// contiguous ranges and every (point, range) pair is a separate task on a
+// work-stealing pool; because sessions are seeded individually, the merged ranges
+// equal a single BatchRunner.run of the point. Points found in the cache are not
+// run at all, and each finished point is cached and handed to the sink (serially)
+// as soon as its last range completes.
+public final class SweepRunner {
+    private final MoveIndex index;
+    // Describe everything results depend on: catalog content, policy parameters.
+    private final String catalogKey;
+    private final String policyKey;
+    private final Function<SimParams, MovePolicy> policies;
+    private final Position start;
+    private final int maxSteps;
+    private final int lanes;
+    private final SweepCache cache;
+
+    public SweepRunner(MoveIndex index, String catalogKey, String policyKey,
+            Function<SimParams, MovePolicy> policies, Position start, int maxSteps, int lanes, SweepCache cache) {
+        this.index = index;
+        this.catalogKey = catalogKey;
+        this.policyKey = policyKey;
+        this.policies = policies;
+        this.start = start;
+        this.maxSteps = maxSteps;
+        this.lanes = lanes;
+        this.cache = cache;
+    }
+
+    public List<SweepPoint> run(List<SimParams> points, long sessions, int replicates, long seed, int threads,
+            Consumer<SweepPoint> sink) {
+        if (replicates < 1)
+            throw new IllegalArgumentException("replicates must be positive");
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be positive");
+        SweepPoint[] results = new SweepPoint[points.size()];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (int p = 0; p < points.size(); p++) {
+                SimParams params = points.get(p);
+                String key = key(params, seed, sessions);
+                SweepPoint hit = cache == null ? null : cache.get(key, params).orElse(null);
+                if (hit != null) {
+                    results[p] = hit;
+                    emit(sink, hit);
+                    continue;
+                }
+                MovePolicy policy = policies.apply(params);
+                Cell cell = new Cell(p, params, key, policy, replicates, results, sink);
+                BatchRunner runner = new BatchRunner(index, params, policy, maxSteps, lanes);
+                for (int r = 0; r < replicates; r++) {
+                    long from = sessions * r / replicates;
+                    long to = sessions * (r + 1) / replicates;
+                    tasks.add(pool.submit(() -> cell.add(runner.runRange(start, from, to, seed))));
+                }
+            }
+            for (ForkJoinTask<?> t : tasks)
+                t.join();
+        } finally {
+            pool.shutdown();
+        }
+        return List.of(results);
+    }
+
+    String key(SimParams params, long seed, long sessions) {
+        return "sweep-v2|catalog=" + catalogKey + "|policy=" + policyKey + "|start=" + start
+                + "|maxSteps=" + maxSteps + "|" + params + "|seed=" + seed + "|sessions=" + sessions;
+    }
+
+    private synchronized void emit(Consumer<SweepPoint> sink, SweepPoint point) {
+        sink.accept(point);
+    }
+
+    private final class Cell {
+        private final int slot;
+        private final SimParams params;
+        private final String key;
+        private final MovePolicy policy;
+        private final AtomicInteger remaining;
+        private final SweepPoint[] results;
+        private final Consumer<SweepPoint> sink;
+        private final BatchResult total = new BatchResult();
+
+        Cell(int slot, SimParams params, String key, MovePolicy policy, int parts, SweepPoint[] results,
+                Consumer<SweepPoint> sink) {
+            this.slot = slot;
+            this.params = params;
+            this.key = key;
+            this.policy = policy;
+            this.remaining = new AtomicInteger(parts);
+            this.results = results;
+            this.sink = sink;
+        }
+
+        void add(BatchResult part) {
+            synchronized (this) {
+                total.merge(part);
+            }
+            if (remaining.decrementAndGet() != 0)
+                return;
+            // The point's last range is done: release its policy (an MCTS worker pool).
+            policy.close();
+            SweepPoint point = SweepPoint.of(params, total);
+            if (cache != null)
+                cache.put(key, point);
+            results[slot] = point;
+            emit(sink, point);
+        }
+    }
+}
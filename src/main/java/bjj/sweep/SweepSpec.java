@@ -0,0 +1,113 @@
+package bjj.sweep;
+
+import bjj.domain.MoveFamily;
+import bjj.engine.SimParams;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Turns swept axes into SimParams points. Dimensions not swept keep the defaults
+// (resistance 50, skill 50, fatigue 0); "skill" is applied before "skill-<family>".
+public final class SweepSpec {
+    private final List<SweepAxis> axes;
+
+    public SweepSpec(List<SweepAxis> axes) {
+        for (SweepAxis axis : axes)
+            validate(axis.name());
+        this.axes = List.copyOf(axes);
+    }
+
+    public List<SweepAxis> axes() {
+        return axes;
+    }
+
+    // Full cartesian product, first axis varying slowest.
+    public List<SimParams> grid() {
+        List<SimParams> out = new ArrayList<>();
+        int[] idx = new int[axes.size()];
+        int[] vals = new int[axes.size()];
+        while (true) {
+            for (int d = 0; d < axes.size(); d++)
+                vals[d] = axes.get(d).value(idx[d]);
+            out.add(toParams(vals));
+            int d = axes.size() - 1;
+            while (d >= 0 && ++idx[d] == axes.get(d).size()) {
+                idx[d] = 0;
+                d--;
+            }
+            if (d < 0)
+                return out;
+        }
+    }
+
+    // Latin hypercube over each axis' [min, max]: every axis is cut into `samples`
+    // equal strata and each stratum is hit exactly once.
+    public List<SimParams> latinHypercube(int samples, long seed) {
+        if (samples < 1)
+            throw new IllegalArgumentException("samples must be positive");
+        SplittableRandom rng = new SplittableRandom(seed);
+        int[][] vals = new int[samples][axes.size()];
+        for (int d = 0; d < axes.size(); d++) {
+            SweepAxis axis = axes.get(d);
+            int[] perm = new int[samples];
+            for (int i = 0; i < samples; i++)
+                perm[i] = i;
+            for (int i = samples - 1; i > 0; i--) {
+                int j = rng.nextInt(i + 1);
+                int t = perm[i];
+                perm[i] = perm[j];
+                perm[j] = t;
+            }
+            double width = axis.max() - axis.min();
+            for (int i = 0; i < samples; i++)
+                vals[i][d] = (int) Math.round(axis.min() + (perm[i] + rng.nextDouble()) / samples * width);
+        }
+        List<SimParams> out = new ArrayList<>(samples);
+        for (int[] v : vals)
+            out.add(toParams(v));
+        return out;
+    }
+
+    private SimParams toParams(int[] vals) {
+        int resistance = 50;
+        int fatigue = 0;
+        Map<MoveFamily, Integer> skills = new EnumMap<>(MoveFamily.class);
+        for (MoveFamily fam : MoveFamily.values())
+            skills.put(fam, 50);
+        for (int d = 0; d < axes.size(); d++) {
+            switch (axes.get(d).name()) {
+                case "resistance" -> resistance = vals[d];
+                case "fatigue" -> fatigue = vals[d];
+                case "skill" -> {
+                    for (MoveFamily fam : MoveFamily.values())
+                        skills.put(fam, vals[d]);
+                }
+                default -> { }
+            }
+        }
+        for (int d = 0; d < axes.size(); d++) {
+            String name = axes.get(d).name();
+            if (name.startsWith("skill-"))
+                skills.put(family(name), vals[d]);
+        }
+        return new SimParams(resistance, skills, fatigue);
+    }
+
+    private static void validate(String name) {
+        if (name.equals("resistance") || name.equals("fatigue") || name.equals("skill"))
+            return;
+        if (name.startsWith("skill-")) {
+            family(name);
+            return;
+        }
+        throw new IllegalArgumentException("unknown sweep axis: " + name);
+    }
+
+    private static MoveFamily family(String axisName) {
+        return MoveFamily.valueOf(axisName.substring("skill-".length()).toUpperCase(Locale.ROOT));
+    }
+}
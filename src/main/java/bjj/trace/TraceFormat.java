@@ -0,0 +1,26 @@
+package bjj.trace;
+
+// Trace file layout (big-endian):
+//   header  magic, format, header length, catalog version (int length, UTF-8),
+//           move count, then per move: family ordinal (byte), id (short length, UTF-8)
+//   blocks  records, raw length, compressed length, CRC32 of the raw bytes, then the
+//           Deflate-compressed raw block
+// A raw block stores its records column by column, each column fixed width:
+//   move ordinal (int, NO_MOVE for a marker record that only ends a session that
+//   stalled before its first step),
+//   outcome ordinal (byte), position after (byte, END = -1), flags (byte: SESSION_END
+//   plus the SessionEnd ordinal in the bits above it), duration ms (int), timeline ms
+//   after the step (long). Columns compress far better than interleaved records.
+final class TraceFormat {
+    static final int MAGIC = 0x424A4A54;
+    static final int FORMAT = 1;
+    static final int BLOCK_HEADER_BYTES = 4 * Integer.BYTES;
+    static final int RECORD_BYTES = Integer.BYTES + 3 + Integer.BYTES + Long.BYTES;
+    static final int DEFAULT_BLOCK_RECORDS = 1 << 16;
+    static final int NO_MOVE = -1;
+    static final int SESSION_END = 1;
+    static final int END_KIND_SHIFT = 1;
+
+    private TraceFormat() {
+    }
+}
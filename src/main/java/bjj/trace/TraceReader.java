@@ -0,0 +1,212 @@
+package bjj.trace;
+
+import bjj.domain.MoveFamily;
+import bjj.engine.BatchResult;
+import bjj.engine.Outcome;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static bjj.trace.TraceFormat.*;
+
+// Reads a trace written by TraceWriter. Blocks are memory-mapped and inflated
+// straight into a reusable direct buffer; replay() rebuilds the BatchResult and
+// Analytics of the recorded run without simulating anything.
+public final class TraceReader implements AutoCloseable {
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    private static final MoveFamily[] FAMILIES = MoveFamily.values();
+    private static final BatchResult.SessionEnd[] ENDS = BatchResult.SessionEnd.values();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long size;
+    private final int headerBytes;
+    private final String catalogVersion;
+    private final String[] moveIds;
+    private final MoveFamily[] moveFamilies;
+
+    public TraceReader(Path file) {
+        this.file = file;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.size = channel.size();
+            MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, 3 * Integer.BYTES));
+            if (size < 3 * Integer.BYTES || head.getInt(0) != MAGIC)
+                throw new IllegalArgumentException("not a trace file: " + file);
+            if (head.getInt(4) != FORMAT)
+                throw new IllegalArgumentException("unsupported trace format " + head.getInt(4) + " in " + file);
+            this.headerBytes = head.getInt(8);
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerBytes);
+            header.position(3 * Integer.BYTES);
+            this.catalogVersion = string(header, header.getInt());
+            int moves = header.getInt();
+            this.moveIds = new String[moves];
+            this.moveFamilies = new MoveFamily[moves];
+            for (int i = 0; i < moves; i++) {
+                moveFamilies[i] = FAMILIES[header.get()];
+                moveIds[i] = string(header, header.getShort());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open trace " + file, e);
+        }
+    }
+
+    private static String string(ByteBuffer buf, int length) {
+        byte[] b = new byte[length];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    public String catalogVersion() {
+        return catalogVersion;
+    }
+
+    public int moveCount() {
+        return moveIds.length;
+    }
+
+    public String moveId(int ordinal) {
+        return moveIds[ordinal];
+    }
+
+    public MoveFamily moveFamily(int ordinal) {
+        return moveFamilies[ordinal];
+    }
+
+    // Visits every record; returns the number of steps.
+    public long forEach(TraceVisitor visitor) {
+        Inflater inflater = new Inflater();
+        CRC32 crc = new CRC32();
+        ByteBuffer raw = ByteBuffer.allocateDirect(DEFAULT_BLOCK_RECORDS * RECORD_BYTES);
+        long steps = 0;
+        try {
+            long pos = headerBytes;
+            while (pos < size) {
+                MappedByteBuffer bh = channel.map(FileChannel.MapMode.READ_ONLY, pos, BLOCK_HEADER_BYTES);
+                int n = bh.getInt(0);
+                int rawBytes = bh.getInt(4);
+                int packedBytes = bh.getInt(8);
+                int checksum = bh.getInt(12);
+                if (rawBytes != n * RECORD_BYTES || packedBytes < 0 || packedBytes > size - pos - BLOCK_HEADER_BYTES)
+                    throw new IllegalStateException("corrupt trace block at " + pos + " in " + file);
+                if (raw.capacity() < rawBytes)
+                    raw = ByteBuffer.allocateDirect(rawBytes);
+                raw.clear().limit(rawBytes);
+                inflater.reset();
+                inflater.setInput(channel.map(FileChannel.MapMode.READ_ONLY, pos + BLOCK_HEADER_BYTES, packedBytes));
+                while (raw.hasRemaining() && !inflater.finished()) {
+                    // A truncated or corrupt stream stalls: no output and no more input.
+                    if (inflater.inflate(raw) == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                        throw new IllegalStateException("corrupt trace block at " + pos + " in " + file);
+                }
+                raw.flip();
+                crc.reset();
+                crc.update(raw);
+                if (raw.limit() != rawBytes || (int) crc.getValue() != checksum)
+                    throw new IllegalStateException("trace block checksum mismatch at " + pos + " in " + file);
+                steps += visitBlock(raw, n, visitor);
+                pos += BLOCK_HEADER_BYTES + packedBytes;
+            }
+            return steps;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read trace " + file, e);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("corrupt trace data in " + file, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static long visitBlock(ByteBuffer raw, int n, TraceVisitor visitor) {
+        int outcomeAt = n * Integer.BYTES;
+        int positionAt = outcomeAt + n;
+        int flagsAt = positionAt + n;
+        int durationAt = flagsAt + n;
+        int timelineAt = durationAt + n * Integer.BYTES;
+        long steps = 0;
+        for (int i = 0; i < n; i++) {
+            int mv = raw.getInt(i * Integer.BYTES);
+            int flag = raw.get(flagsAt + i);
+            long timeline = raw.getLong(timelineAt + i * Long.BYTES);
+            if (mv != NO_MOVE) {
+                visitor.step(mv, OUTCOMES[raw.get(outcomeAt + i)], raw.getInt(durationAt + i * Integer.BYTES),
+                        raw.get(positionAt + i), timeline);
+                steps++;
+            }
+            if ((flag & SESSION_END) != 0)
+                visitor.sessionEnd(ENDS[flag >>> END_KIND_SHIFT], timeline);
+        }
+        return steps;
+    }
+
+    // Rebuilds the recorded run's BatchResult, Analytics included.
+    public BatchResult replay() {
+        BatchResult result = new BatchResult();
+        forEach(new TraceVisitor() {
+            private long sessionSteps;
+
+            @Override
+            public void step(int moveOrdinal, Outcome outcome, long durationMs, int positionAfter, long timelineMs) {
+                result.analytics().record(moveFamilies[moveOrdinal], outcome, durationMs);
+                sessionSteps++;
+            }
+
+            @Override
+            public void sessionEnd(BatchResult.SessionEnd end, long timelineMs) {
+                result.recordSession(end, sessionSteps, timelineMs);
+                sessionSteps = 0;
+            }
+        });
+        return result;
+    }
+
+    // Replays every *.trace file under dir, one file per task, and merges the results.
+    public static BatchResult replayAll(Path dir, int threads) {
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            files = s.filter(p -> p.getFileName().toString().endsWith(".trace")).sorted().toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list traces in " + dir, e);
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<java.util.concurrent.ForkJoinTask<BatchResult>> tasks = new ArrayList<>();
+            for (Path f : files) {
+                tasks.add(pool.submit(() -> {
+                    try (TraceReader r = new TraceReader(f)) {
+                        return r.replay();
+                    }
+                }));
+            }
+            BatchResult total = new BatchResult();
+            for (var t : tasks)
+                total.merge(t.join());
+            return total;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close trace " + file, e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package bjj.trace;
+
+import bjj.engine.BatchResult;
+import bjj.engine.Outcome;
+
+// Callbacks for TraceReader.forEach, in recording order.
+public interface TraceVisitor {
+    void step(int moveOrdinal, Outcome outcome, long durationMs, int positionAfter, long timelineMs);
+
+    void sessionEnd(BatchResult.SessionEnd end, long timelineMs);
+}
@@ -0,0 +1,173 @@
+package bjj.trace;
+
+import bjj.domain.Move;
+import bjj.engine.BatchResult;
+import bjj.engine.MoveIndex;
+import bjj.engine.Outcome;
+import bjj.engine.StepRecorder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import static bjj.trace.TraceFormat.*;
+
+// Appends steps to a trace file. Records collect in column arrays; each full block is
+// laid out into a direct buffer, deflated into a second direct buffer and written
+// through the channel, so steady-state recording allocates nothing.
+public final class TraceWriter implements StepRecorder {
+    private final FileChannel channel;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final int blockRecords;
+    private final ByteBuffer raw;
+    private final ByteBuffer packed;
+
+    private final int[] move;
+    private final byte[] outcome;
+    private final byte[] position;
+    private final byte[] flags;
+    private final int[] duration;
+    private final long[] timeline;
+    private int count;
+    private boolean sessionHasSteps;
+    private long steps;
+
+    public TraceWriter(Path file, String catalogVersion, MoveIndex index) throws IOException {
+        this(file, catalogVersion, index, DEFAULT_BLOCK_RECORDS, Deflater.BEST_SPEED);
+    }
+
+    public TraceWriter(Path file, String catalogVersion, MoveIndex index, int blockRecords, int level)
+            throws IOException {
+        if (blockRecords < 1)
+            throw new IllegalArgumentException("blockRecords must be positive");
+        this.blockRecords = blockRecords;
+        this.move = new int[blockRecords];
+        this.outcome = new byte[blockRecords];
+        this.position = new byte[blockRecords];
+        this.flags = new byte[blockRecords];
+        this.duration = new int[blockRecords];
+        this.timeline = new long[blockRecords];
+        this.raw = ByteBuffer.allocateDirect(blockRecords * RECORD_BYTES);
+        // Deflate output is bounded by input + 5 bytes per 16 KiB stored block + framing.
+        this.packed = ByteBuffer.allocateDirect(BLOCK_HEADER_BYTES + raw.capacity() + raw.capacity() / 16_000 * 5 + 64);
+        this.deflater = new Deflater(level);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        writeHeader(catalogVersion, index);
+    }
+
+    private void writeHeader(String catalogVersion, MoveIndex index) throws IOException {
+        byte[] version = catalogVersion.getBytes(StandardCharsets.UTF_8);
+        byte[][] ids = new byte[index.size()][];
+        int length = 3 * Integer.BYTES + Integer.BYTES + version.length + Integer.BYTES;
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = index.move(i).id().getBytes(StandardCharsets.UTF_8);
+            length += 1 + Short.BYTES + ids[i].length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(length);
+        header.putInt(MAGIC).putInt(FORMAT).putInt(length);
+        header.putInt(version.length).put(version);
+        header.putInt(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            Move mv = index.move(i);
+            header.put((byte) mv.family().ordinal()).putShort((short) ids[i].length).put(ids[i]);
+        }
+        header.flip();
+        while (header.hasRemaining())
+            channel.write(header);
+    }
+
+    @Override
+    public void step(int moveOrdinal, Outcome out, long durationMs, int positionAfter, long timelineMs) {
+        if (count == blockRecords)
+            flushBlock();
+        append(moveOrdinal, (byte) out.ordinal(), (byte) positionAfter, 0, durationMs, timelineMs);
+        sessionHasSteps = true;
+        steps++;
+    }
+
+    @Override
+    public void endSession(BatchResult.SessionEnd end, long timelineMs) {
+        int mark = SESSION_END | end.ordinal() << END_KIND_SHIFT;
+        if (sessionHasSteps) {
+            // A step always lands in the open block, so the session's last step is still here.
+            flags[count - 1] |= (byte) mark;
+        } else {
+            if (count == blockRecords)
+                flushBlock();
+            append(NO_MOVE, (byte) -1, (byte) -1, mark, 0L, timelineMs);
+        }
+        sessionHasSteps = false;
+    }
+
+    // Steps written so far (not counting empty-session markers).
+    public long steps() {
+        return steps;
+    }
+
+    private void append(int mv, byte out, byte pos, int flag, long durationMs, long timelineMs) {
+        move[count] = mv;
+        outcome[count] = out;
+        position[count] = pos;
+        flags[count] = (byte) flag;
+        duration[count] = (int) Math.min(durationMs, Integer.MAX_VALUE);
+        timeline[count] = timelineMs;
+        count++;
+    }
+
+    private void flushBlock() {
+        if (count == 0)
+            return;
+        raw.clear();
+        for (int i = 0; i < count; i++)
+            raw.putInt(move[i]);
+        raw.put(outcome, 0, count);
+        raw.put(position, 0, count);
+        raw.put(flags, 0, count);
+        for (int i = 0; i < count; i++)
+            raw.putInt(duration[i]);
+        for (int i = 0; i < count; i++)
+            raw.putLong(timeline[i]);
+        raw.flip();
+        int rawBytes = raw.remaining();
+        crc.reset();
+        crc.update(raw);
+        raw.flip();
+
+        packed.clear();
+        packed.position(BLOCK_HEADER_BYTES);
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        while (!deflater.finished()) {
+            if (deflater.deflate(packed) == 0 && !packed.hasRemaining())
+                throw new IllegalStateException("trace block does not fit its output buffer");
+        }
+        int packedBytes = packed.position() - BLOCK_HEADER_BYTES;
+        packed.putInt(0, count).putInt(4, rawBytes).putInt(8, packedBytes).putInt(12, (int) crc.getValue());
+        packed.flip();
+        try {
+            while (packed.hasRemaining())
+                channel.write(packed);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write trace block", e);
+        }
+        count = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package bjj.catalog;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.ControlFlag;
+import bjj.domain.Move;
+import bjj.domain.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+class CatalogGeneratorTest {
+
+    @Test
+    void generatedCatalogsAreValidAndDeterministic(@TempDir Path dir) throws Exception {
+        for (int size : new int[] {1, 19, 1_000, 20_000}) {
+            MoveCatalogLoader.Catalog cat = CatalogGenerator.generate(size, 11L);
+            assertEquals(size, cat.moves.size());
+            MoveCatalogLoader.validate(cat);
+        }
+        Path a = dir.resolve("a.json");
+        Path b = dir.resolve("b.json");
+        CatalogGenerator.write(CatalogGenerator.generate(5_000, 3L), a);
+        CatalogGenerator.write(CatalogGenerator.generate(5_000, 3L), b);
+        assertEquals(Files.readString(a), Files.readString(b));
+        assertEquals(5_000, MoveCatalogLoader.load(a).moves.size());
+    }
+
+    @Test
+    void fanOutCoversEveryPositionInProportion() {
+        int[] counts = CatalogGenerator.apportion(100_000);
+        assertEquals(100_000, Arrays.stream(counts).sum());
+        for (int c : counts)
+            assertTrue(c > 0);
+        // Open guard bottom has the widest fan-out, the knee-on-belly / north-south bottoms the narrowest.
+        assertEquals(Arrays.stream(counts).max().getAsInt(), counts[Position.OPEN_GUARD_BOTTOM.ordinal()]);
+    }
+
+    @Test
+    void flagGatesReachTheDomainModel() {
+        JsonMoveCatalog catalog = new JsonMoveCatalog(CatalogGenerator.generate(10_000, 5L));
+        long gated = catalog.all().stream().filter(m -> m.requiredMask() != 0L).count();
+        long forbidding = catalog.all().stream().filter(m -> m.forbiddenMask() != 0L).count();
+        assertTrue(gated > 3_000 && gated < 5_500, "gated " + gated);
+        assertTrue(forbidding > 500 && forbidding < 1_500, "forbidding " + forbidding);
+        for (Move m : catalog.all())
+            assertEquals(0L, m.requiredMask() & m.forbiddenMask(), m.id());
+        Move back = catalog.all().stream()
+                .filter(m -> m.fromPosition() == Position.BACK_CONTROL_TOP && !m.requiredFlags().isEmpty())
+                .findFirst().orElseThrow();
+        assertFalse(back.allowedWith(0L));
+        assertTrue(back.allowedWith(ControlFlag.mask(back.requiredFlags())) || back.forbiddenMask() != 0L);
+    }
+
+    @Test
+    void rejectsUnknownOrConflictingFlags() {
+        MoveCatalogLoader.Catalog cat = CatalogGenerator.generate(10, 1L);
+        cat.moves.get(0).requires = List.of("UNDERHOOK");
+        cat.moves.get(0).forbids = List.of("UNDERHOOK");
+        assertThrows(IllegalArgumentException.class, () -> MoveCatalogLoader.validate(cat));
+        cat.moves.get(0).forbids = List.of("WRISTLOCK");
+        assertThrows(IllegalArgumentException.class, () -> MoveCatalogLoader.validate(cat));
+    }
+}
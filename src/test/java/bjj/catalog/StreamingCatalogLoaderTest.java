@@ -0,0 +1,111 @@
+package bjj.catalog;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.Move;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+class StreamingCatalogLoaderTest {
+
+    @Test
+    void streamedCatalogMatchesTreeLoadedOne(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("gen.json");
+        MoveCatalogLoader.Catalog generated = CatalogGenerator.generate(3_000, 4L);
+        CatalogGenerator.write(generated, file);
+
+        JsonMoveCatalog streamed = new JsonMoveCatalog(file);
+        JsonMoveCatalog tree = new JsonMoveCatalog(MoveCatalogLoader.load(file));
+        assertEquals(tree.version(), streamed.version());
+        assertEquals(tree.all().size(), streamed.all().size());
+        Iterator<Move> a = tree.all().iterator();
+        for (Move s : streamed.all()) {
+            Move t = a.next();
+            assertEquals(t.id(), s.id());
+            assertEquals(t.fromPosition(), s.fromPosition());
+            assertEquals(t.toPosition(), s.toPosition());
+            assertEquals(t.family(), s.family());
+            assertEquals(t.difficulty(), s.difficulty());
+            assertEquals(t.skillTags(), s.skillTags());
+            assertEquals(t.requiredMask(), s.requiredMask());
+            assertEquals(t.forbiddenMask(), s.forbiddenMask());
+            assertEquals(t.minMs(), s.minMs());
+            assertEquals(t.maxMs(), s.maxMs());
+        }
+        assertEquals(MoveCatalogLoader.loadFromResources().moves.size(), new JsonMoveCatalog().all().size());
+    }
+
+    @Test
+    void rejectsWhatTheTreeLoaderRejects() throws Exception {
+        String move = """
+                {"id": "%s", "name": "Armbar", "family": "SUBMISSION", "from": "MOUNT_TOP",
+                 "prob": {"success": 0.4, "partial": 0.1},
+                 "outcomes": {"success": {"to": "END"}, "partial": null, "fail": {"to": "MOUNT_TOP"}},
+                 "points": 0, "tags": ["gi"], "duration": {"min": 2, "max": 5}%s}""";
+        String ok = move.formatted("a", "");
+
+        assertEquals("v1", read("{\"version\": \"v1\", \"moves\": [" + ok + "]}"));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"version\": \"v1\", \"moves\": [" + ok + "," + ok + "]}"));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"moves\": [" + ok + "]}"));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"version\": \"v1\", \"moves\": []}"));
+        assertThrows(IllegalArgumentException.class,
+                () -> read("{\"version\": \"v1\", \"moves\": [" + move.formatted("a", ", \"requires\": [\"GRIP\"]") + "]}"));
+        assertThrows(IllegalArgumentException.class,
+                () -> read("{\"version\": \"v1\", \"moves\": [" + ok.replace("\"END\"", "\"MOUNT_BOTTOM\"") + "]}"));
+        assertThrows(JsonParseException.class,
+                () -> read("{\"version\": \"v1\", \"moves\": [" + move.formatted("a", ", \"extra\": 1") + "]}"));
+        assertThrows(JsonParseException.class,
+                () -> read("{\"version\": \"v1\", \"moves\": [" + ok.replace("\"points\": 0", "\"points\": \"many\"") + "]}"));
+        assertThrows(JsonParseException.class,
+                () -> read("{\"version\": \"v1\", \"moves\": [" + ok.replace("\"points\": 0", "\"points\": true") + "]}"));
+    }
+
+    @Test
+    void coercesScalarsLikeTheTreeLoader(@TempDir Path dir) throws Exception {
+        String json = """
+                {"version": 2, "moves": [{"id": 7, "name": "Armbar", "family": "SUBMISSION", "from": "MOUNT_TOP",
+                 "prob": {"success": "0.4", "partial": null},
+                 "outcomes": {"success": {"to": "END"}, "partial": null, "fail": {"to": "MOUNT_TOP"}},
+                 "points": " 3", "tags": ["gi", 1], "duration": {"min": 2.9, "max": "5"}}]}""";
+        Path file = dir.resolve("coerced.json");
+        Files.writeString(file, json);
+        MoveCatalogLoader.MoveDTO tree = MoveCatalogLoader.load(file).moves.get(0);
+        List<MoveCatalogLoader.MoveDTO> streamed = new ArrayList<>();
+        String version = StreamingCatalogLoader.load(file, dto -> {
+            MoveCatalogLoader.MoveDTO copy = new MoveCatalogLoader.MoveDTO();
+            copy.id = dto.id;
+            copy.points = dto.points;
+            copy.tags = List.copyOf(dto.tags);
+            copy.prob = new MoveCatalogLoader.Prob();
+            copy.prob.success = dto.prob.success;
+            copy.prob.partial = dto.prob.partial;
+            copy.duration = new MoveCatalogLoader.Duration();
+            copy.duration.min = dto.duration.min;
+            copy.duration.max = dto.duration.max;
+            return streamed.add(copy);
+        });
+        MoveCatalogLoader.MoveDTO s = streamed.get(0);
+
+        assertEquals("2", version);
+        assertEquals(tree.id, s.id);
+        assertEquals(tree.points, s.points);
+        assertEquals(tree.tags, s.tags);
+        assertEquals(tree.prob.success, s.prob.success);
+        assertEquals(tree.prob.partial, s.prob.partial);
+        assertEquals(tree.duration.min, s.duration.min);
+        assertEquals(tree.duration.max, s.duration.max);
+    }
+
+    private static String read(String json) throws IOException {
+        Set<String> ids = new HashSet<>();
+        return StreamingCatalogLoader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                dto -> ids.add(dto.id));
+    }
+}
@@ -0,0 +1,79 @@
+package bjj.data;
+
+import bjj.domain.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+class BinaryCatalogTest {
+
+    @Test
+    void roundTripsShippedCatalog(@TempDir Path dir) throws Exception {
+        MoveCatalog json = new JsonMoveCatalog();
+        Path bin = dir.resolve("moves.bin");
+        BinaryCatalog.write(json, bin);
+        MoveCatalog mapped = new MappedMoveCatalog(bin);
+
+        assertEquals(json.version(), mapped.version());
+        assertEquals(json.all().size(), mapped.all().size());
+        Iterator<Move> it = mapped.all().iterator();
+        for (Move a : json.all())
+            assertSameMove(a, it.next());
+    }
+
+    @Test
+    void keepsFlagsCountersAndEndTargets(@TempDir Path dir) throws Exception {
+        Move sub = new Move("sub.x", "Über Choke", Position.BACK_CONTROL_TOP, null, MoveFamily.SUBMISSION, 40,
+                Set.of("gi", "nogi"), Set.of(ControlFlag.SEATBELT, ControlFlag.HOOKS_IN), Set.of(ControlFlag.UNDERHOOK),
+                2_000L, 5_000L, 9_000L, 7.5, "esc.y", 0.25);
+        Move esc = new Move("esc.y", "Escape", Position.BACK_CONTROL_BOTTOM, Position.TURTLE_BOTTOM, MoveFamily.ESCAPE,
+                60, Set.of(), Set.of(), Set.of(), 1_000L, 1_000L, 1_000L, 10.0, null, 0.0);
+        MoveCatalog src = new MoveCatalog() {
+            public String version() {
+                return "test-1";
+            }
+
+            public Collection<Move> all() {
+                return List.of(sub, esc);
+            }
+
+            public Optional<Move> byId(String id) {
+                return all().stream().filter(m -> m.id().equals(id)).findFirst();
+            }
+        };
+        Path bin = dir.resolve("tiny.bin");
+        BinaryCatalog.write(src, bin);
+        MoveCatalog mapped = new MappedMoveCatalog(bin);
+        assertSameMove(sub, mapped.byId("sub.x").orElseThrow());
+        assertSameMove(esc, mapped.byId("esc.y").orElseThrow());
+        assertEquals("test-1", mapped.version());
+    }
+
+    @Test
+    void rejectsForeignFiles(@TempDir Path dir) throws Exception {
+        Path junk = dir.resolve("junk.bin");
+        Files.write(junk, new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> new MappedMoveCatalog(junk));
+    }
+
+    private static void assertSameMove(Move a, Move b) {
+        assertEquals(a.id(), b.id());
+        assertEquals(a.name(), b.name());
+        assertEquals(a.fromPosition(), b.fromPosition());
+        assertEquals(a.toPosition(), b.toPosition());
+        assertEquals(a.family(), b.family());
+        assertEquals(a.difficulty(), b.difficulty());
+        assertEquals(a.skillTags(), b.skillTags());
+        assertEquals(a.requiredFlags(), b.requiredFlags());
+        assertEquals(a.forbiddenFlags(), b.forbiddenFlags());
+        assertEquals(a.minMs(), b.minMs());
+        assertEquals(a.typMs(), b.typMs());
+        assertEquals(a.maxMs(), b.maxMs());
+        assertEquals(a.scale(), b.scale());
+        assertEquals(a.counterMoveId(), b.counterMoveId());
+        assertEquals(a.counterChance(), b.counterChance());
+    }
+}
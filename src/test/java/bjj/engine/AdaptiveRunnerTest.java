@@ -0,0 +1,66 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.Position;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class AdaptiveRunnerTest {
+
+    @Test
+    void mergedWelfordMatchesTwoPass() {
+        SplittableRandom rng = new SplittableRandom(5);
+        double[] xs = new double[10_000];
+        RunningStats left = new RunningStats();
+        RunningStats right = new RunningStats();
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = 1e6 + rng.nextGaussian() * 30;
+            (i % 3 == 0 ? left : right).add(xs[i]);
+        }
+        double mean = Arrays.stream(xs).average().orElseThrow();
+        double var = Arrays.stream(xs).map(x -> (x - mean) * (x - mean)).sum() / (xs.length - 1);
+        RunningStats merged = left.merge(right);
+        assertEquals(xs.length, merged.count());
+        assertEquals(mean, merged.mean(), 1e-6);
+        assertEquals(var, merged.variance(), var * 1e-9);
+    }
+
+    @Test
+    void wilsonIntervalAndNormalQuantile() {
+        assertEquals(1.959964, Interval.z(0.95), 1e-6);
+        assertEquals(2.575829, Interval.z(0.99), 1e-6);
+        Interval none = Interval.wilson(0, 10, Interval.z(0.95));
+        assertEquals(0.0, none.low(), 1e-12);
+        assertEquals(0.2775, none.high(), 1e-4);
+        Interval half = Interval.wilson(50, 100, 1.96);
+        assertEquals(0.4038, half.low(), 1e-4);
+        assertEquals(0.5962, half.high(), 1e-4);
+    }
+
+    @Test
+    void stopsConvergedArmsAndSpendsTheRestOnNoisyOnes() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        BatchRunner easy = new BatchRunner(index, new SimParams(30), new RandomPolicy(), BatchRunner.DEFAULT_MAX_STEPS);
+        BatchRunner hard = new BatchRunner(index, new SimParams(90), new RandomPolicy(), BatchRunner.DEFAULT_MAX_STEPS);
+        List<AdaptiveRunner.Arm> arms = List.of(new AdaptiveRunner.Arm("easy", easy, Position.STANDING),
+                new AdaptiveRunner.Arm("hard", hard, Position.STANDING));
+        StoppingRule rule = new StoppingRule(0.01, 0, 0.95);
+        new AdaptiveRunner(rule, 2_000, 2).run(arms, 1_000_000, 8L);
+
+        for (AdaptiveRunner.Arm arm : arms) {
+            assertTrue(arm.converged(), arm.label());
+            assertTrue(rule.submissionRate(arm.result()).halfWidth() <= 0.01);
+        }
+        assertTrue(arms.get(1).result().sessions() > arms.get(0).result().sessions());
+
+        // The first n sessions are the same batch a fixed-N run would produce.
+        long n = arms.get(1).result().sessions();
+        assertEquals(hard.run(Position.STANDING, n, 8L, 1).submissions(), arms.get(1).result().submissions());
+
+        List<AdaptiveRunner.Arm> capped = List.of(new AdaptiveRunner.Arm("hard", hard, Position.STANDING));
+        new AdaptiveRunner(new StoppingRule(1e-5, 0, 0.95), 2_000, 1).run(capped, 5_000, 8L);
+        assertEquals(5_000, capped.get(0).result().sessions());
+        assertFalse(capped.get(0).converged());
+    }
+}
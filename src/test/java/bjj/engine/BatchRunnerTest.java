@@ -0,0 +1,88 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.data.MoveCatalog;
+import bjj.domain.MoveFamily;
+import bjj.domain.Position;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class BatchRunnerTest {
+
+    @Test
+    void seededBatchIsIndependentOfThreadCount() {
+        MoveCatalog catalog = new JsonMoveCatalog();
+        BatchRunner runner = new BatchRunner(catalog, new SimParams(55), new RandomPolicy());
+
+        BatchResult one = runner.run(Position.OPEN_GUARD_BOTTOM, 20_000, 42L, 1);
+        assertEquals(20_000, one.sessions());
+        for (int threads : new int[] { 2, 4, 6 }) {
+            BatchResult many = runner.run(Position.OPEN_GUARD_BOTTOM, 20_000, 42L, threads);
+            assertEquals(one.submissions(), many.submissions(), threads + " threads");
+            assertEquals(one.stalls(), many.stalls(), threads + " threads");
+            assertEquals(one.capped(), many.capped(), threads + " threads");
+            assertEquals(one.steps(), many.steps(), threads + " threads");
+            assertEquals(one.totalTimeMs(), many.totalTimeMs(), threads + " threads");
+            assertEquals(one.analytics().render(), many.analytics().render(), threads + " threads");
+        }
+    }
+
+    @Test
+    void runsExactlyTheRequestedSessions() {
+        BatchRunner runner = new BatchRunner(new JsonMoveCatalog(), new SimParams(55), new RandomPolicy());
+        for (long sessions : new long[] { 0, 1, 999, 12_345 }) {
+            BatchResult r = runner.run(Position.STANDING, sessions, 5L, 3);
+            assertEquals(sessions, r.sessions());
+            assertEquals(sessions, r.submissions() + r.stalls() + r.capped());
+        }
+        assertThrows(IllegalArgumentException.class, () -> runner.run(Position.STANDING, -1, 5L, 1));
+        assertThrows(IllegalArgumentException.class, () -> runner.run(Position.STANDING, 10, 5L, 0));
+    }
+
+    @Test
+    void maxStepsCapsEverySession() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        for (int maxSteps : new int[] { 1, 3 }) {
+            BatchResult r = new BatchRunner(index, new SimParams(55), new RandomPolicy(), maxSteps)
+                    .run(Position.STANDING, 5_000, 11L, 2);
+            assertTrue(r.capped() > 0, "maxSteps " + maxSteps);
+            assertTrue(r.steps() <= r.sessions() * maxSteps, "maxSteps " + maxSteps);
+        }
+        BatchResult shortCap = new BatchRunner(index, new SimParams(55), new RandomPolicy(), 3)
+                .run(Position.STANDING, 5_000, 11L, 2);
+        BatchResult longer = new BatchRunner(index, new SimParams(55), new RandomPolicy(), BatchRunner.DEFAULT_MAX_STEPS)
+                .run(Position.STANDING, 5_000, 11L, 2);
+        assertTrue(longer.capped() < shortCap.capped());
+        assertThrows(IllegalArgumentException.class, () -> new BatchRunner(index, new SimParams(55), new RandomPolicy(), 0));
+    }
+
+    @Test
+    void differentSeedsDiverge() {
+        BatchRunner runner = new BatchRunner(new JsonMoveCatalog(), new SimParams(55), new RandomPolicy());
+        BatchResult a = runner.run(Position.STANDING, 5_000, 1L, 2);
+        BatchResult b = runner.run(Position.STANDING, 5_000, 2L, 2);
+        assertNotEquals(a.totalTimeMs(), b.totalTimeMs());
+    }
+
+    @Test
+    void lockstepEngineMatchesScalarLoop() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        Map<MoveFamily, Integer> skills = new SimParams(0).skillByFamily();
+        for (SimParams params : List.of(new SimParams(55), new SimParams(40, skills, 70))) {
+            for (int maxSteps : new int[] { 3, BatchRunner.DEFAULT_MAX_STEPS }) {
+                BatchRunner scalar = new BatchRunner(index, params, new RandomPolicy(), maxSteps);
+                BatchRunner lockstep = new BatchRunner(index, params, new RandomPolicy(), maxSteps, 64);
+                BatchResult a = scalar.run(Position.STANDING, 10_000, 9L, 3);
+                BatchResult b = lockstep.run(Position.STANDING, 10_000, 9L, 3);
+                assertEquals(a.sessions(), b.sessions());
+                assertEquals(a.submissions(), b.submissions());
+                assertEquals(a.stalls(), b.stalls());
+                assertEquals(a.capped(), b.capped());
+                assertEquals(a.steps(), b.steps());
+                assertEquals(a.totalTimeMs(), b.totalTimeMs());
+                assertEquals(a.analytics().render(), b.analytics().render());
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.Position;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.*;
+
+class CatalogComparisonTest {
+
+    @Test
+    void identicalCatalogsPairExactly() {
+        MoveIndex a = new MoveIndex(new JsonMoveCatalog().all());
+        MoveIndex b = new MoveIndex(new JsonMoveCatalog().all());
+        CatalogComparison cmp = new CatalogComparison(a, new RandomPolicy(), b, new RandomPolicy(),
+                new SimParams(60), BatchRunner.DEFAULT_MAX_STEPS);
+        PairedResult r = cmp.run(List.of(Position.STANDING), 5_000, 3L, 2).get(0);
+        assertEquals(0.0, r.submissionDelta(1.96).halfWidth());
+        assertEquals(0.0, r.timeDelta(1.96).estimate());
+    }
+
+    @Test
+    void pairedDeltaMatchesExactShiftWithLargeVarianceReduction(@TempDir Path dir) throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        ObjectNode root;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("catalog/moves.json")) {
+            root = (ObjectNode) json.readTree(in);
+        }
+        root.put("version", "candidate");
+        for (var move : root.get("moves")) {
+            if (move.get("from").asText().equals("MOUNT_BOTTOM")) {
+                ObjectNode prob = (ObjectNode) move.get("prob");
+                prob.put("success", Math.min(0.95, prob.get("success").asDouble() + 0.05));
+            }
+        }
+        Path file = dir.resolve("candidate.json");
+        json.writeValue(file.toFile(), root);
+
+        JsonMoveCatalog candidate = new JsonMoveCatalog(file);
+        assertEquals("candidate", candidate.version());
+        SimParams params = new SimParams(60);
+        MoveIndex a = new MoveIndex(new JsonMoveCatalog().all());
+        MoveIndex b = new MoveIndex(candidate.all());
+        double exact = MarkovSolver.solve(new TransitionModel(b, params, 0L), new RandomPolicy())
+                .expectedTimeMs(Position.MOUNT_BOTTOM)
+                - MarkovSolver.solve(new TransitionModel(a, params, 0L), new RandomPolicy())
+                        .expectedTimeMs(Position.MOUNT_BOTTOM);
+
+        CatalogComparison cmp = new CatalogComparison(a, new RandomPolicy(), b, new RandomPolicy(), params, 1_000_000);
+        PairedResult r = cmp.run(List.of(Position.MOUNT_BOTTOM), 20_000, 5L, 2).get(0);
+        Interval delta = r.timeDelta(Interval.z(0.999));
+        assertTrue(delta.low() <= exact && exact <= delta.high(), exact + " not in [" + delta.low() + ", " + delta.high() + "]");
+        assertTrue(delta.high() < 0, "easier escapes should shorten the match");
+        assertTrue(r.timeVarianceReduction() > 5, "CRN gain " + r.timeVarianceReduction());
+    }
+}
@@ -0,0 +1,74 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class CompiledParamsTest {
+
+    @Test
+    void fastSigmoidStaysWithinErrorBound() {
+        for (double x = -30.0; x <= 30.0; x += 0.000731) {
+            double err = Math.abs(Probability.fastSigmoid(x) - Probability.sigmoid(x));
+            assertTrue(err < Probability.FAST_SIGMOID_MAX_ERROR, "x=" + x + " err=" + err);
+        }
+    }
+
+    @Test
+    void matchesDirectComputationForEveryMove() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        Map<MoveFamily, Integer> skills = new EnumMap<>(new SimParams(50).skillByFamily());
+        skills.put(MoveFamily.values()[0], 80);
+        for (SimParams params : List.of(new SimParams(50),
+                new SimParams(70, skills, 0), new SimParams(35, skills, 60))) {
+            CompiledParams compiled = index.compile(params);
+            for (int i = 0; i < index.size(); i++) {
+                Move move = index.move(i);
+                assertEquals(i, index.ordinal(move));
+                for (double risk = 0.0; risk <= 1.0; risk += 0.05) {
+                    double expected = Simulator.successProbability(move, params, risk);
+                    double actual = compiled.successProbability(i, risk);
+                    if (params.fatigueRate() == 0)
+                        assertEquals(expected, actual, 0.0);
+                    else
+                        assertEquals(expected, actual, Probability.FAST_SIGMOID_MAX_ERROR);
+                }
+            }
+        }
+    }
+
+    @Test
+    void cachesOnePerParams() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        Map<MoveFamily, Integer> skills = new SimParams(50).skillByFamily();
+        CompiledParams a = index.compile(new SimParams(50, skills, 10));
+        assertSame(a, index.compile(new SimParams(50, skills, 10)));
+        assertNotSame(a, index.compile(new SimParams(50, skills, 20)));
+        assertThrows(UnsupportedOperationException.class, () -> skills.put(MoveFamily.values()[0], 90));
+    }
+
+    @Test
+    void cacheIsBounded() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        CompiledParams first = index.compile(new SimParams(0));
+        for (int r = 1; r <= MoveIndex.COMPILED_CACHE; r++)
+            index.compile(new SimParams(r));
+        CompiledParams last = index.compile(new SimParams(MoveIndex.COMPILED_CACHE));
+        assertSame(last, index.compile(new SimParams(MoveIndex.COMPILED_CACHE)));
+        assertNotSame(first, index.compile(new SimParams(0)));
+    }
+
+    @Test
+    void eligibleOrdinalsLineUpWithMoves() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        for (Position p : Position.values()) {
+            Move[] moves = index.eligibleArray(p.ordinal(), 0L);
+            int[] ords = index.eligibleOrdinals(p.ordinal(), 0L);
+            assertEquals(moves.length, ords.length);
+            for (int j = 0; j < moves.length; j++)
+                assertSame(moves[j], index.move(ords[j]));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class DurationSolverTest {
+
+    @Test
+    void fftRoundTrips() {
+        SplittableRandom rng = new SplittableRandom(3);
+        double[] re = new double[64];
+        double[] im = new double[64];
+        for (int i = 0; i < re.length; i++)
+            re[i] = rng.nextDouble();
+        double[] copy = re.clone();
+        Fft.forward(re, im);
+        double sum = 0.0;
+        for (double v : copy)
+            sum += v;
+        assertEquals(sum, re[0], 1e-12);
+        Fft.inverse(re, im);
+        for (int i = 0; i < re.length; i++) {
+            assertEquals(copy[i], re[i], 1e-12);
+            assertEquals(0.0, im[i], 1e-12);
+        }
+        assertThrows(IllegalArgumentException.class, () -> Fft.forward(new double[12], new double[12]));
+    }
+
+    @Test
+    void agreesWithExactMeansAndMonteCarlo() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        SimParams params = new SimParams(50);
+        TransitionModel model = new TransitionModel(index, params, 0L);
+        MarkovSolution exact = MarkovSolver.solve(model, new RandomPolicy());
+        DurationDistribution dist = DurationSolver.solve(model, new RandomPolicy(), 100, 7_200_000);
+
+        for (Position p : Position.values()) {
+            double[] cdf = dist.lengthCdf(p);
+            double mean = 0.0;
+            for (int t = 0; t < cdf.length; t++)
+                mean += (1.0 - cdf[t]) * dist.gridMs();
+            assertEquals(exact.expectedTimeMs(p), mean, 1e-4 * exact.expectedTimeMs(p), p + " mean");
+            assertEquals(exact.submissionProbability(p), dist.submissionCdf(p, dist.horizonMs()), 1e-6, p + " P(sub)");
+            assertEquals(1.0, dist.lengthCdf(p, dist.horizonMs()), 1e-6, p + " P(over)");
+        }
+
+        Position start = Position.HALF_GUARD_BOTTOM;
+        List<Long> times = new ArrayList<>();
+        BatchRunner runner = new BatchRunner(index, params, new RandomPolicy(), 1_000_000);
+        runner.run(start, 20_000, 11L, 1, (from, to) -> new StepRecorder() {
+            @Override
+            public void step(int moveOrdinal, Outcome outcome, long durationMs, int positionAfter, long timelineMs) {
+            }
+
+            @Override
+            public void endSession(BatchResult.SessionEnd end, long timelineMs) {
+                times.add(timelineMs);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        Collections.sort(times);
+        for (double q : new double[] { 0.1, 0.5, 0.9, 0.99 }) {
+            long mc = times.get((int) (q * times.size()));
+            long analytic = dist.lengthQuantileMs(start, q);
+            assertEquals(mc, analytic, 0.05 * mc + 2 * dist.gridMs(), "q" + q);
+        }
+        assertEquals(-1, DurationSolver.solve(model, new RandomPolicy(), 1000, 10_000).lengthQuantileMs(start, 0.5));
+    }
+}
@@ -0,0 +1,64 @@
+package bjj.engine;
+
+import bjj.domain.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class DurationTableTest {
+
+    @Test
+    void triangularTableMatchesExactDistribution() {
+        Move mv = move("t", 2_000, 3_000, 10_000);
+        DurationTable table = new MoveIndex(List.of(mv)).durations();
+        assertEquals((2_000 + 3_000 + 10_000) / 3.0, table.meanMs(0), 5.0);
+
+        SplittableRandom rng = new SplittableRandom(7);
+        int n = 200_000;
+        long below = 0;
+        for (int i = 0; i < n; i++) {
+            long d = table.sample(0, rng);
+            assertTrue(d >= 2_000 && d <= 10_000);
+            if (d < 3_000)
+                below++;
+        }
+        // P(X < typ) = (typ - min) / (max - min) = 0.125
+        assertEquals(0.125, below / (double) n, 0.005);
+    }
+
+    @Test
+    void zeroWidthRangeIsAPointMass() {
+        Move mv = move("fixed", 4_000, 4_000, 4_000);
+        assertEquals(4_000, DurationSampler.triangular(new SplittableRandom(1), 4_000, 4_000, 4_000));
+        DurationTable table = new MoveIndex(List.of(mv)).durations();
+        SplittableRandom rng = new SplittableRandom(1);
+        for (int i = 0; i < 1_000; i++)
+            assertEquals(4_000, table.sample(0, rng));
+        assertEquals(4_000.0, table.meanMs(0));
+    }
+
+    @Test
+    void empiricalSamplesReplaceTriangle() {
+        Move a = move("a", 1_000, 2_000, 3_000);
+        Move b = move("b", 1_000, 2_000, 3_000);
+        long[] observed = {500, 500, 500, 9_500};
+        MoveIndex index = new MoveIndex(List.of(a, b), Map.of("a", observed));
+        DurationTable table = index.durations();
+        assertEquals(2_750.0, table.meanMs(0), 1e-9);
+        assertEquals(2_000.0, table.meanMs(1), 5.0);
+
+        Set<Long> seen = new HashSet<>();
+        SplittableRandom rng = new SplittableRandom(3);
+        for (int i = 0; i < 1_000; i++)
+            seen.add(table.sample(0, rng));
+        assertEquals(Set.of(500L, 9_500L), seen);
+
+        assertThrows(IllegalArgumentException.class, () -> new MoveIndex(List.of(a), Map.of("zzz", observed)));
+        assertThrows(IllegalArgumentException.class, () -> new MoveIndex(List.of(a), Map.of("a", new long[0])));
+    }
+
+    private static Move move(String id, long min, long typ, long max) {
+        return new Move(id, id, Position.MOUNT_TOP, null, MoveFamily.values()[0], 50, Set.of(),
+                Set.of(), Set.of(), min, typ, max, 10.0, null, 0.0);
+    }
+}
@@ -0,0 +1,50 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.Move;
+import bjj.domain.Position;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportanceSamplerTest {
+
+    @Test
+    void tiltedEstimateIsUnbiasedAndTighter() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        SimParams params = new SimParams(100);
+        int horizon = 12;
+        double exact = submissionWithin(new TransitionModel(index, params, 0L), Position.MOUNT_BOTTOM, horizon);
+        assertTrue(exact > 0 && exact < 0.01, "exact " + exact);
+
+        ImportanceSampler sampler = new ImportanceSampler(index, params, new RandomPolicy(), horizon);
+        RareEventEstimate plain = sampler.run(Position.MOUNT_BOTTOM, 0.0, 100_000, 21L, 2);
+        RareEventEstimate tilted = sampler.run(Position.MOUNT_BOTTOM, 3.0, 100_000, 21L, 2);
+
+        assertEquals(1.0, plain.meanWeight(), 1e-12);
+        assertEquals(exact, plain.estimate(), 4 * plain.standardError());
+        assertEquals(exact, tilted.estimate(), 4 * tilted.standardError());
+        assertTrue(tilted.standardError() * 3 < plain.standardError());
+        assertTrue(tilted.effectiveSampleSize() > 5 * plain.effectiveSampleSize());
+    }
+
+    // P(reach END within `horizon` steps) under the uniform random policy, by backward induction.
+    private static double submissionWithin(TransitionModel model, Position start, int horizon) {
+        int n = model.states();
+        double[] v = new double[n];
+        for (int h = 0; h < horizon; h++) {
+            double[] next = new double[n];
+            for (int s = 0; s < n; s++) {
+                Move[] eligible = model.eligible(s);
+                for (int j = 0; j < eligible.length; j++) {
+                    int a = model.actionStart(s) + j;
+                    for (int b = 0; b < TransitionModel.BRANCHES; b++) {
+                        int to = model.next(a, b);
+                        next[s] += model.prob(a, b) / eligible.length * (to == model.end() ? 1.0 : v[to]);
+                    }
+                }
+            }
+            v = next;
+        }
+        return v[model.state(start, 0)];
+    }
+}
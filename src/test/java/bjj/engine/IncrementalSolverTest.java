@@ -0,0 +1,78 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class IncrementalSolverTest {
+
+    @Test
+    void patchedSolutionMatchesFullSolve() {
+        List<Move> all = new ArrayList<>(new JsonMoveCatalog().all());
+        SimParams params = new SimParams(55, Map.of(MoveFamily.PASS, 65), 40);
+        MoveIndex index = new MoveIndex(all);
+        IncrementalSolver solver = new IncrementalSolver(index, params, 0L, new RandomPolicy());
+        MarkovSolution before = solver.solution();
+
+        SplittableRandom rng = new SplittableRandom(7);
+        for (int i = 0; i < IncrementalSolver.REFRESH_EVERY + 6; i++) {
+            int ord = rng.nextInt(all.size());
+            Move old = all.get(ord);
+            Move edited = tuned(old, old.difficulty() + rng.nextInt(-20, 21), old.counterChance() * rng.nextDouble(),
+                    old.minMs() + rng.nextInt(500), old.toPosition());
+            all.set(ord, edited);
+            MarkovSolution patched = solver.update(edited);
+            if (i % 10 == 0 || i == IncrementalSolver.REFRESH_EVERY - 1)
+                assertSameSolution(MarkovSolver.solve(new TransitionModel(new MoveIndex(all), params, 0L),
+                        new RandomPolicy()), patched);
+        }
+        assertSameSolution(MarkovSolver.solve(new TransitionModel(new MoveIndex(all), params, 0L), new RandomPolicy()),
+                solver.solution());
+        assertSameSolution(MarkovSolver.solve(new TransitionModel(index, params, 0L), new RandomPolicy()), before);
+        assertSame(index, before.model().index());
+        assertSameSolution(MarkovSolver.solve(before.model(), new RandomPolicy()), before);
+    }
+
+    @Test
+    void retargetingAMoveRewiresTheGraph() {
+        List<Move> all = new ArrayList<>(new JsonMoveCatalog().all());
+        SimParams params = new SimParams(50);
+        IncrementalSolver solver = new IncrementalSolver(new MoveIndex(all), params, 0L, new RandomPolicy());
+        int ord = 0;
+        while (all.get(ord).toPosition() == null)
+            ord++;
+        Move old = all.get(ord);
+        Move edited = tuned(old, old.difficulty(), old.counterChance(), old.minMs(), Position.BACK_CONTROL_TOP);
+        all.set(ord, edited);
+
+        assertEquals(solver.model().riskLevels(), solver.dependentStates(old.id()).length);
+        MarkovSolution patched = solver.update(edited);
+        assertSameSolution(MarkovSolver.solve(new TransitionModel(new MoveIndex(all), params, 0L), new RandomPolicy()),
+                patched);
+        assertSame(edited, solver.model().index().move(ord));
+        assertTrue(solver.model().index().eligible(old.fromPosition(), 0L).contains(edited));
+        assertThrows(IllegalArgumentException.class, () -> solver.update(tuned(
+                new Move("nope", "nope", Position.STANDING, null, MoveFamily.SUBMISSION, 50, Set.of(), Set.of(),
+                        Set.of(), 100, 200, 300, 10, null, 0.1), 50, 0.1, 100, null)));
+    }
+
+    private static Move tuned(Move m, int difficulty, double counterChance, long minMs, Position to) {
+        long typ = Math.max(minMs, m.typMs());
+        return new Move(m.id(), m.name(), m.fromPosition(), to, m.family(), difficulty, m.skillTags(),
+                m.requiredFlags(), m.forbiddenFlags(), minMs, typ, Math.max(typ, m.maxMs()), m.scale(),
+                m.counterMoveId(), counterChance);
+    }
+
+    private static void assertSameSolution(MarkovSolution expected, MarkovSolution actual) {
+        for (Position p : Position.values()) {
+            assertEquals(expected.submissionProbability(p), actual.submissionProbability(p), 1e-9, p + " P(sub)");
+            assertEquals(expected.stallProbability(p), actual.stallProbability(p), 1e-9, p + " P(stall)");
+            assertEquals(expected.expectedSteps(p), actual.expectedSteps(p), 1e-7 * (1 + expected.expectedSteps(p)),
+                    p + " steps");
+            assertEquals(expected.expectedTimeMs(p), actual.expectedTimeMs(p), 1e-7 * (1 + expected.expectedTimeMs(p)),
+                    p + " time");
+        }
+    }
+}
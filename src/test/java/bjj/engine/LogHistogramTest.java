@@ -0,0 +1,60 @@
+package bjj.engine;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+class LogHistogramTest {
+
+    @Test
+    void percentilesStayWithinBucketPrecision() {
+        SplittableRandom rng = new SplittableRandom(5);
+        long[] values = new long[100_000];
+        LogHistogram h = new LogHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(rng.nextDouble() * 16);
+            h.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double q : new double[] { 0.01, 0.5, 0.9, 0.99, 0.999 }) {
+            long exact = values[(int) Math.ceil(q * values.length) - 1];
+            long approx = h.percentile(q);
+            assertTrue(approx >= exact && approx <= exact + exact / 64 + 1, q + ": " + exact + " vs " + approx);
+        }
+        assertEquals(values[values.length - 1], h.max());
+        assertEquals(values.length, h.count());
+    }
+
+    @Test
+    void bucketsCoverEveryValueMonotonically() {
+        int last = -1;
+        for (long v = 0; v < 1 << 20; v++) {
+            int b = LogHistogram.bucket(v);
+            assertTrue(b == last || b == last + 1, "gap at " + v);
+            assertTrue(LogHistogram.highestIn(b) >= v);
+            last = b;
+        }
+        assertTrue(LogHistogram.bucket(Long.MAX_VALUE) >= last);
+    }
+
+    @Test
+    void mergeIsAssociative() {
+        LogHistogram a = new LogHistogram();
+        LogHistogram b = new LogHistogram();
+        LogHistogram c = new LogHistogram();
+        LogHistogram all = new LogHistogram();
+        for (long v = 1; v < 50_000; v += 7) {
+            (v % 3 == 0 ? a : v % 3 == 1 ? b : c).record(v);
+            all.record(v);
+        }
+        LogHistogram left = new LogHistogram().merge(a).merge(b).merge(c);
+        LogHistogram right = new LogHistogram().merge(c).merge(new LogHistogram().merge(b).merge(a));
+        for (double q : new double[] { 0.1, 0.5, 0.99 }) {
+            assertEquals(all.percentile(q), left.percentile(q));
+            assertEquals(all.percentile(q), right.percentile(q));
+        }
+        assertEquals(all.count(), right.count());
+        assertEquals(all.mean(), left.mean(), 1e-9);
+    }
+}
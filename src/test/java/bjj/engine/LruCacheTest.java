@@ -0,0 +1,23 @@
+package bjj.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+    @Test
+    void evictsLeastRecentlyUsed() {
+        LruCache<Integer, String> cache = new LruCache<>(2);
+        List<Integer> computed = new ArrayList<>();
+        cache.get(1, k -> { computed.add(k); return "one"; });
+        cache.get(2, k -> { computed.add(k); return "two"; });
+        assertEquals("one", cache.get(1, k -> { computed.add(k); return "again"; }));
+        cache.get(3, k -> { computed.add(k); return "three"; });
+        assertEquals(2, cache.size());
+        assertEquals("one", cache.get(1, k -> { computed.add(k); return "again"; }));
+        assertEquals("two!", cache.get(2, k -> { computed.add(k); return "two!"; }));
+        assertEquals(List.of(1, 2, 3, 2), computed);
+    }
+}
@@ -0,0 +1,78 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.data.MoveCatalog;
+import bjj.domain.Move;
+import bjj.domain.MoveFamily;
+import bjj.domain.Position;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class MarkovSolverTest {
+
+    @Test
+    void agreesWithMonteCarlo() {
+        MoveCatalog catalog = new JsonMoveCatalog();
+        Map<MoveFamily, Integer> skills = new EnumMap<>(MoveFamily.class);
+        for (MoveFamily f : MoveFamily.values())
+            skills.put(f, 60);
+        SimParams params = new SimParams(45, skills, 50);
+
+        TransitionModel model = new TransitionModel(new MoveIndex(catalog.all()), params, 0L);
+        MarkovSolution exact = MarkovSolver.solve(model, new RandomPolicy());
+        BatchRunner runner = new BatchRunner(catalog, params, new RandomPolicy(), 1_000_000);
+
+        for (Position start : new Position[] { Position.STANDING, Position.HALF_GUARD_BOTTOM }) {
+            BatchResult mc = runner.run(start, 20_000, 99L, 2);
+            double steps = mc.steps() / (double) mc.sessions();
+            double timeMs = mc.totalTimeMs() / (double) mc.sessions();
+            assertEquals(exact.expectedSteps(start), steps, 0.04 * exact.expectedSteps(start), start + " steps");
+            assertEquals(exact.expectedTimeMs(start), timeMs, 0.04 * exact.expectedTimeMs(start), start + " time");
+        }
+    }
+
+    @Test
+    void matchesHandSolvedChain() {
+        // STANDING -> MOUNT_TOP (a) or TURTLE_BOTTOM (b, no moves: stall); MOUNT_TOP ends
+        // with s. Without fatigue every failed attempt stays put, so from STANDING the
+        // chain leaves with pA + pB per two attempts and submits with pA / (pA + pB).
+        Move a = move("a", Position.STANDING, Position.MOUNT_TOP, 40);
+        Move b = move("b", Position.STANDING, Position.TURTLE_BOTTOM, 60);
+        Move s = move("s", Position.MOUNT_TOP, null, 55);
+        SimParams params = new SimParams(50);
+        double pA = Simulator.successProbability(a, params, 0.0);
+        double pB = Simulator.successProbability(b, params, 0.0);
+        double pS = Simulator.successProbability(s, params, 0.0);
+
+        TransitionModel model = new TransitionModel(new MoveIndex(List.of(a, b, s)), params, 0L);
+        MarkovSolution exact = MarkovSolver.solve(model, new RandomPolicy());
+        assertEquals(pA / (pA + pB), exact.submissionProbability(Position.STANDING), 1e-12);
+        assertEquals(pB / (pA + pB), exact.stallProbability(Position.STANDING), 1e-12);
+        assertEquals(2 / (pA + pB) + pA / (pA + pB) / pS, exact.expectedSteps(Position.STANDING), 1e-9);
+        assertEquals(1.0, exact.submissionProbability(Position.MOUNT_TOP), 1e-12);
+        assertEquals(1 / pS, exact.expectedSteps(Position.MOUNT_TOP), 1e-9);
+        assertEquals(0.0, exact.submissionProbability(Position.TURTLE_BOTTOM), 1e-12);
+        assertEquals(1.0, exact.stallProbability(Position.TURTLE_BOTTOM), 1e-12);
+    }
+
+    @Test
+    void visitsAccountForExpectedSteps() {
+        TransitionModel model = new TransitionModel(new MoveIndex(new JsonMoveCatalog().all()), new SimParams(50), 0L);
+        MarkovSolution exact = MarkovSolver.solve(model, new RandomPolicy());
+        for (Position start : Position.values()) {
+            double visits = 0.0;
+            for (Position at : Position.values())
+                visits += exact.expectedVisits(start, at);
+            assertEquals(exact.expectedSteps(start), visits, 1e-6);
+        }
+    }
+
+    private static Move move(String id, Position from, Position to, int difficulty) {
+        return new Move(id, id, from, to, to == null ? MoveFamily.SUBMISSION : MoveFamily.PASS, difficulty, Set.of(),
+                Set.of(), Set.of(), 1000L, 2000L, 3000L, 10.0, null, 0.3);
+    }
+}
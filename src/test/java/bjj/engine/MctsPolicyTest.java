@@ -0,0 +1,95 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class MctsPolicyTest {
+
+    @Test
+    void iterationBudgetIsExactAcrossWorkers() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        SessionCursor cursor = cursor(Position.CLOSED_GUARD_BOTTOM);
+        Move[] eligible = index.eligibleArray(Position.CLOSED_GUARD_BOTTOM.ordinal(), 0L);
+        for (int threads : new int[] { 1, 3 }) {
+            try (MctsPolicy mcts = new MctsPolicy(index, new SimParams(50), MctsBudget.iterations(500), threads)) {
+                mcts.choose(cursor, eligible, new SplittableRandom(1));
+                assertEquals(500, mcts.lastIterations(), threads + " threads");
+            }
+        }
+    }
+
+    @Test
+    void timeBudgetStopsTheSearch() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        SessionCursor cursor = cursor(Position.CLOSED_GUARD_BOTTOM);
+        Move[] eligible = index.eligibleArray(Position.CLOSED_GUARD_BOTTOM.ordinal(), 0L);
+        for (int threads : new int[] { 1, 2 }) {
+            try (MctsPolicy mcts = new MctsPolicy(index, new SimParams(50), MctsBudget.millis(50), threads)) {
+                long t0 = System.nanoTime();
+                mcts.choose(cursor, eligible, new SplittableRandom(1));
+                long ms = (System.nanoTime() - t0) / 1_000_000;
+                assertTrue(ms < 2_000, "search ran " + ms + " ms");
+                assertTrue(mcts.lastIterations() > 0);
+            }
+        }
+    }
+
+    @Test
+    void singleThreadIsDeterministicForASeed() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        SimParams params = new SimParams(60);
+        try (MctsPolicy a = new MctsPolicy(index, params, MctsBudget.iterations(300), 1);
+                MctsPolicy b = new MctsPolicy(index, params, MctsBudget.iterations(300), 1)) {
+            for (Position p : Position.values()) {
+                Move[] eligible = index.eligibleArray(p.ordinal(), 0L);
+                if (eligible.length == 0)
+                    continue;
+                for (long seed = 0; seed < 5; seed++) {
+                    assertEquals(a.choose(cursor(p), eligible, new SplittableRandom(seed)),
+                            b.choose(cursor(p), eligible, new SplittableRandom(seed)), p + " seed " + seed);
+                }
+            }
+        }
+    }
+
+    @Test
+    void agreesWithMaxSubmissionPolicyOnSmallModel() {
+        // From STANDING: a dead end with no moves, a detour through side control, or
+        // straight to the submission position (last, so a default of 0 cannot pass).
+        List<Move> moves = List.of(
+                move("dead-end", Position.STANDING, Position.TURTLE_BOTTOM),
+                move("detour", Position.STANDING, Position.SIDE_CONTROL_TOP),
+                move("direct", Position.STANDING, Position.MOUNT_TOP),
+                move("climb", Position.SIDE_CONTROL_TOP, Position.MOUNT_TOP),
+                move("finish", Position.MOUNT_TOP, null));
+        MoveIndex index = new MoveIndex(moves);
+        SimParams params = new SimParams(50);
+        double discount = 0.9;
+        PolicyTable table = PolicySolver.solve(new TransitionModel(index, params, 0L),
+                PolicySolver.Objective.MAX_SUBMISSION, discount);
+
+        Move[] eligible = index.eligibleArray(Position.STANDING.ordinal(), 0L);
+        int expected = table.choose(cursor(Position.STANDING), eligible, new SplittableRandom(0));
+        assertEquals("direct", eligible[expected].id());
+        for (int threads : new int[] { 1, 2 }) {
+            try (MctsPolicy mcts = new MctsPolicy(index, params, MctsBudget.iterations(5_000), threads, 50, discount)) {
+                assertEquals(expected, mcts.choose(cursor(Position.STANDING), eligible, new SplittableRandom(9)),
+                        threads + " threads");
+            }
+        }
+    }
+
+    private static SessionCursor cursor(Position p) {
+        SessionCursor c = new SessionCursor();
+        c.load(p.ordinal(), 0L, 0L, 0.0);
+        return c;
+    }
+
+    private static Move move(String id, Position from, Position to) {
+        return new Move(id, id, from, to, to == null ? MoveFamily.SUBMISSION : MoveFamily.PASS, 40, Set.of(),
+                Set.of(), Set.of(), 1000L, 2000L, 3000L, 10.0, null, 0.2);
+    }
+}
@@ -0,0 +1,92 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class MoveIndexTest {
+
+    @Test
+    void matchesLinearScanOnShippedCatalog() {
+        Collection<Move> all = new JsonMoveCatalog().all();
+        assertMatchesScan(all);
+    }
+
+    @Test
+    void honoursRequiredAndForbiddenFlags() {
+        List<Move> all = List.of(
+                move("a", Set.of(), Set.of()),
+                move("b", Set.of(ControlFlag.UNDERHOOK), Set.of()),
+                move("c", Set.of(ControlFlag.UNDERHOOK, ControlFlag.CROSSFACE), Set.of()),
+                move("d", Set.of(), Set.of(ControlFlag.KNEE_SHIELD)));
+        MoveIndex index = new MoveIndex(all);
+
+        assertEquals(List.of("a", "d"), ids(index.eligible(Position.HALF_GUARD_TOP, 0L)));
+        assertEquals(List.of("a", "b", "d"),
+                ids(index.eligible(Position.HALF_GUARD_TOP, ControlFlag.UNDERHOOK.bit())));
+        assertEquals(List.of("a", "b", "c"), ids(index.eligible(Position.HALF_GUARD_TOP,
+                ControlFlag.mask(Set.of(ControlFlag.UNDERHOOK, ControlFlag.CROSSFACE, ControlFlag.KNEE_SHIELD)))));
+        assertTrue(index.eligible(Position.MOUNT_TOP, 0L).isEmpty());
+        assertMatchesScan(all);
+    }
+
+    @Test
+    void withMoveMatchesAFreshIndex() {
+        List<Move> all = new ArrayList<>(List.of(
+                move("a", Set.of(), Set.of()),
+                move("b", Set.of(ControlFlag.UNDERHOOK), Set.of()),
+                move("c", Set.of(), Set.of(ControlFlag.KNEE_SHIELD))));
+        MoveIndex base = new MoveIndex(all);
+        Move a = new Move("a", "a", Position.HALF_GUARD_TOP, Position.MOUNT_TOP, MoveFamily.PASS, 70, Set.of(),
+                Set.of(), Set.of(), 500L, 900L, 4000L, 10.0, null, 0.3);
+        Move b = new Move("b", "b", Position.MOUNT_TOP, Position.SIDE_CONTROL_TOP, MoveFamily.PASS, 50, Set.of(),
+                Set.of(ControlFlag.CROSSFACE), Set.of(), 1000L, 2000L, 3000L, 10.0, null, 0.0);
+        MoveIndex patched = base.withMove(0, a).withMove(1, b);
+        all.set(0, a);
+        all.set(1, b);
+        MoveIndex fresh = new MoveIndex(all);
+
+        int combos = 1 << ControlFlag.values().length;
+        for (Position p : Position.values()) {
+            for (int mask = 0; mask < combos; mask++) {
+                assertEquals(fresh.eligible(p, mask), patched.eligible(p, mask), p + " / " + mask);
+                assertArrayEquals(fresh.eligibleOrdinals(p.ordinal(), mask), patched.eligibleOrdinals(p.ordinal(), mask));
+            }
+        }
+        for (int i = 0; i < all.size(); i++)
+            assertEquals(fresh.durations().meanMs(i), patched.durations().meanMs(i), 1e-9);
+        assertEquals(1, patched.ordinal(b));
+        assertEquals(List.of("a", "c"), ids(base.eligible(Position.HALF_GUARD_TOP, 0L)));
+        assertThrows(IllegalArgumentException.class, () -> base.withMove(2, base.move(0)));
+    }
+
+    private static void assertMatchesScan(Collection<Move> all) {
+        MoveIndex index = new MoveIndex(all);
+        Simulator sim = new Simulator();
+        int combos = 1 << ControlFlag.values().length;
+        for (Position p : Position.values()) {
+            for (int mask = 0; mask < combos; mask++) {
+                Set<ControlFlag> flags = EnumSet.noneOf(ControlFlag.class);
+                for (ControlFlag f : ControlFlag.values())
+                    if ((mask & f.bit()) != 0)
+                        flags.add(f);
+                State state = new State(p, flags, 0L, 0.0);
+                assertEquals(sim.eligibleMoves(state, all), index.eligible(p, mask), p + " / " + flags);
+            }
+        }
+    }
+
+    private static Move move(String id, Set<ControlFlag> required, Set<ControlFlag> forbidden) {
+        return new Move(id, id, Position.HALF_GUARD_TOP, Position.SIDE_CONTROL_TOP, MoveFamily.PASS, 50,
+                Set.of(), required, forbidden, 1000L, 2000L, 3000L, 10.0, null, 0.0);
+    }
+
+    private static List<String> ids(List<Move> moves) {
+        List<String> out = new ArrayList<>();
+        for (Move m : moves)
+            out.add(m.id());
+        return out;
+    }
+}
@@ -0,0 +1,50 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.Position;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class PolicySolverTest {
+
+    @Test
+    void minTimeValuesMatchExactEvaluationAndBeatRandom() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        SimParams params = new SimParams(65, new SimParams(0).skillByFamily(), 40);
+        TransitionModel model = new TransitionModel(index, params, 0L);
+
+        PolicyTable best = PolicySolver.solve(model, PolicySolver.Objective.MIN_TIME);
+        MarkovSolution optimal = MarkovSolver.solve(model, best);
+        MarkovSolution random = MarkovSolver.solve(model, new RandomPolicy());
+
+        for (Position p : Position.values()) {
+            assertEquals(optimal.expectedTimeMs(p), best.value(p, 0), 1e-5 * optimal.expectedTimeMs(p), p.name());
+            assertTrue(optimal.expectedTimeMs(p) <= random.expectedTimeMs(p) + 1e-6, p.name());
+        }
+    }
+
+    @Test
+    void cacheReusesTablesForEqualParams() {
+        PolicyCache cache = new PolicyCache(new MoveIndex(new JsonMoveCatalog().all()));
+        PolicyTable a = cache.table(new SimParams(70), PolicySolver.Objective.MAX_SUBMISSION);
+        PolicyTable b = cache.table(new SimParams(70), PolicySolver.Objective.MAX_SUBMISSION);
+        PolicyTable c = cache.table(new SimParams(30), PolicySolver.Objective.MAX_SUBMISSION);
+        assertSame(a, b);
+        assertNotSame(a, c);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void precomputedGridIsBoundedAndServedFromTheCache() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        PolicyCache cache = new PolicyCache(index, 3);
+        List<SimParams> grid = List.of(new SimParams(20), new SimParams(40), new SimParams(60), new SimParams(80));
+        cache.precompute(grid, PolicySolver.Objective.MIN_TIME);
+        assertEquals(3, cache.size());
+        PolicyTable t = cache.table(new SimParams(40), PolicySolver.Objective.MIN_TIME);
+        assertSame(t, cache.table(new SimParams(40), PolicySolver.Objective.MIN_TIME));
+        assertSame(index.policies(), index.policies());
+        assertNotSame(index.policies(), index.withMove(0, index.move(0)).policies());
+    }
+}
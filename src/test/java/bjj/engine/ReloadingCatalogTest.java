@@ -0,0 +1,98 @@
+package bjj.engine;
+
+import bjj.catalog.CatalogGenerator;
+import bjj.domain.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class ReloadingCatalogTest {
+
+    @Test
+    void watchedEditPublishesNewSnapshotAndOldOneStaysIntact(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("moves.json");
+        CatalogGenerator.write(CatalogGenerator.generate(500, 1L), file);
+        try (ReloadingCatalog catalog = new ReloadingCatalog(file).watch()) {
+            CatalogSnapshot first = catalog.current();
+            assertEquals(1, first.generation());
+            assertEquals("synthetic-500-1", first.version());
+            BatchRunner runner = new BatchRunner(first.index(), new SimParams(50), new RandomPolicy(), 50);
+            BatchResult before = runner.run(Position.STANDING, 2_000, 3L, 1);
+
+            // Replace the file the way editors and deploy scripts do: write aside, then rename.
+            Path tmp = dir.resolve("moves.json.tmp");
+            CatalogGenerator.write(CatalogGenerator.generate(800, 2L), tmp);
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            long deadline = System.nanoTime() + 20_000_000_000L;
+            while (catalog.current().generation() == 1 && System.nanoTime() < deadline)
+                Thread.sleep(20);
+            CatalogSnapshot second = catalog.current();
+            assertEquals(2, second.generation());
+            assertEquals("synthetic-800-2", second.version());
+            assertEquals(800, second.index().size());
+            assertEquals(800, catalog.all().size());
+
+            // Work holding the old snapshot is unaffected by the swap.
+            assertEquals(500, first.index().size());
+            BatchResult after = runner.run(Position.STANDING, 2_000, 3L, 1);
+            assertEquals(before.steps(), after.steps());
+            assertEquals(before.totalTimeMs(), after.totalTimeMs());
+        }
+    }
+
+    @Test
+    void invalidFileKeepsCurrentSnapshot(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("moves.json");
+        CatalogGenerator.write(CatalogGenerator.generate(100, 1L), file);
+        try (ReloadingCatalog catalog = new ReloadingCatalog(file)) {
+            List<CatalogSnapshot> published = new ArrayList<>();
+            catalog.onReload(published::add);
+
+            Files.writeString(file, "{\"version\": \"broken\", \"moves\": [");
+            assertFalse(catalog.reload());
+            assertEquals(1, catalog.failures());
+            assertNotNull(catalog.lastError());
+            assertEquals("synthetic-100-1", catalog.current().version());
+            assertTrue(published.isEmpty());
+
+            CatalogGenerator.write(CatalogGenerator.generate(100, 9L), file);
+            assertTrue(catalog.reload());
+            assertNull(catalog.lastError());
+            assertEquals(2, catalog.current().generation());
+            assertEquals(List.of(catalog.current()), published);
+        }
+    }
+
+    @Test
+    void throwingListenerIsRecordedAndWatchingContinues(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("moves.json");
+        CatalogGenerator.write(CatalogGenerator.generate(100, 1L), file);
+        try (ReloadingCatalog catalog = new ReloadingCatalog(file).watch()) {
+            List<Long> seen = new CopyOnWriteArrayList<>();
+            catalog.onReload(s -> {
+                throw new AssertionError("listener " + s.generation());
+            });
+            catalog.onReload(s -> seen.add(s.generation()));
+
+            for (long gen = 2; gen <= 3; gen++) {
+                Path tmp = dir.resolve("moves.json.tmp");
+                CatalogGenerator.write(CatalogGenerator.generate(100, gen), tmp);
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                long deadline = System.nanoTime() + 20_000_000_000L;
+                // The second listener runs after the first one's failure is recorded.
+                while (seen.size() < gen - 1 && System.nanoTime() < deadline)
+                    Thread.sleep(20);
+                assertEquals(gen, catalog.current().generation());
+                assertEquals("reload listener failed: listener " + gen, catalog.lastError());
+            }
+            assertEquals(2, catalog.failures());
+            assertEquals(List.of(2L, 3L), seen);
+        }
+    }
+}
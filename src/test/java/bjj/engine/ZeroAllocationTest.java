@@ -0,0 +1,91 @@
+package bjj.engine;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+class ZeroAllocationTest {
+
+    @Test
+    void cursorStepsDoNotAllocate() {
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        assumeTrue(mx instanceof com.sun.management.ThreadMXBean t && t.isThreadAllocatedMemorySupported(),
+                "per-thread allocation counting is not supported on this JVM");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) mx;
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Simulator sim = new Simulator(new JsonMoveCatalog());
+        SimParams params = new SimParams(60, defaultSkills(), 40);
+        MovePolicy policy = new RandomPolicy();
+        Random rng = new Random(7);
+        SessionCursor cursor = new SessionCursor();
+        long[] counts = new long[Outcome.values().length];
+        StepSink sink = (move, outcome, durationMs, after) -> counts[outcome.ordinal()]++;
+
+        run(sim, params, policy, rng, cursor, sink, 500_000);
+
+        long tid = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(tid);
+        long steps = run(sim, params, policy, rng, cursor, sink, 2_000_000);
+        long allocated = threads.getThreadAllocatedBytes(tid) - before;
+
+        assertEquals(2_000_000, steps);
+        assertTrue(allocated < 16 * 1024, "allocated " + allocated + " bytes over " + steps + " steps");
+    }
+
+    @Test
+    void stateWrapperMatchesCursorPath() {
+        Simulator sim = new Simulator(new JsonMoveCatalog());
+        SimParams params = new SimParams(40, defaultSkills(), 70);
+        Random a = new Random(11);
+        Random b = new Random(11);
+        State state = new State(Position.STANDING, Set.of(), 0L, 0.0);
+        SessionCursor cursor = new SessionCursor().reset(Position.STANDING, 0L);
+        for (int i = 0; i < 10_000; i++) {
+            if (state.position() == null) {
+                state = new State(Position.STANDING, Set.of(), 0L, 0.0);
+                cursor.reset(Position.STANDING, 0L);
+            }
+            List<Move> eligible = sim.eligibleMoves(state);
+            Move mv = eligible.get(i % eligible.size());
+            StepResult r = sim.step(state, mv, params, a);
+            Outcome out = sim.advance(cursor, mv, params, b);
+            state = r.newState();
+            assertEquals(r.outcome(), out);
+            assertEquals(r.durationMs(), cursor.lastDurationMs());
+            assertEquals(state.position(), cursor.positionOrNull());
+            assertEquals(state.timelineMs(), cursor.timelineMs());
+            assertEquals(state.riskBuffer(), cursor.riskBuffer());
+        }
+    }
+
+    private static long run(Simulator sim, SimParams params, MovePolicy policy, Random rng,
+            SessionCursor cursor, StepSink sink, int steps) {
+        MoveIndex index = sim.index();
+        long done = 0;
+        cursor.reset(Position.STANDING, 0L);
+        while (done < steps) {
+            Move[] eligible = index.eligibleArray(cursor.position(), cursor.flags());
+            if (eligible.length == 0 || cursor.timelineMs() > 600_000L) {
+                cursor.reset(Position.STANDING, 0L);
+                continue;
+            }
+            sim.advance(cursor, policy.select(cursor, eligible, rng), params, rng, sink);
+            done++;
+            if (cursor.ended())
+                cursor.reset(Position.STANDING, 0L);
+        }
+        return done;
+    }
+
+    private static Map<MoveFamily, Integer> defaultSkills() {
+        Map<MoveFamily, Integer> map = new EnumMap<>(MoveFamily.class);
+        for (MoveFamily fam : MoveFamily.values())
+            map.put(fam, 50);
+        return map;
+    }
+}
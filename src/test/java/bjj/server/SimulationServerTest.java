@@ -0,0 +1,129 @@
+package bjj.server;
+
+import bjj.catalog.CatalogGenerator;
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.Position;
+import bjj.engine.BatchResult;
+import bjj.engine.BatchRunner;
+import bjj.engine.MoveIndex;
+import bjj.engine.RandomPolicy;
+import bjj.engine.ReloadingCatalog;
+import bjj.engine.SimParams;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+class SimulationServerTest {
+    private static final MoveIndex INDEX = new MoveIndex(new JsonMoveCatalog().all());
+
+    @Test
+    void batchEndpointMatchesDirectRunUnderConcurrency() throws Exception {
+        BatchRunner direct = new BatchRunner(INDEX, new SimParams(60), new RandomPolicy(), 200);
+        try (SimulationServer server = new SimulationServer(INDEX, 200, 2, 64);
+             HttpClient http = HttpClient.newHttpClient()) {
+            int port = server.start(new InetSocketAddress("127.0.0.1", 0));
+            List<CompletableFuture<HttpResponse<String>>> calls = new ArrayList<>();
+            for (int seed = 0; seed < 24; seed++)
+                calls.add(http.sendAsync(get(port, "/batch?start=STANDING&resistance=60&sessions=3000&seed=" + seed),
+                        HttpResponse.BodyHandlers.ofString()));
+            for (int seed = 0; seed < 24; seed++) {
+                HttpResponse<String> resp = calls.get(seed).join();
+                assertEquals(200, resp.statusCode(), resp.body());
+                JsonNode body = new ObjectMapper().readTree(resp.body());
+                BatchResult expected = direct.run(Position.STANDING, 3000, seed, 1);
+                assertEquals(expected.submissions(), body.get("submissions").asLong());
+                assertEquals(expected.steps(), body.get("steps").asLong());
+            }
+            JsonNode health = new ObjectMapper().readTree(
+                    http.send(get(port, "/health"), HttpResponse.BodyHandlers.ofString()).body());
+            assertEquals(24, health.get("batchedRequests").asLong());
+            assertEquals(1, health.get("runners").asLong());
+        }
+    }
+
+    @Test
+    void queryEndpointsAndErrors() throws Exception {
+        try (SimulationServer server = new SimulationServer(INDEX, 200, 1, 8);
+             HttpClient http = HttpClient.newHttpClient()) {
+            int port = server.start(new InetSocketAddress("127.0.0.1", 0));
+            ObjectMapper json = new ObjectMapper();
+
+            JsonNode moves = json.readTree(send(http, port, "/moves?position=CLOSED_GUARD_BOTTOM").body());
+            assertEquals(INDEX.eligible(Position.CLOSED_GUARD_BOTTOM, 0L).size(), moves.size());
+
+            String move = moves.get(0).get("id").asText();
+            HttpResponse<String> step = send(http, port, "/step?position=CLOSED_GUARD_BOTTOM&seed=3&move=" + move);
+            assertEquals(200, step.statusCode(), step.body());
+            assertEquals(move, json.readTree(step.body()).get("move").asText());
+
+            JsonNode session = json.readTree(send(http, port, "/session?start=STANDING&seed=9&index=4").body());
+            BatchResult one = new BatchRunner(INDEX, new SimParams(50), new RandomPolicy(), 200)
+                    .runRange(Position.STANDING, 4, 5, 9);
+            assertEquals(one.steps(), session.get("steps").size());
+
+            assertEquals(400, send(http, port, "/moves?position=NOWHERE").statusCode());
+            assertEquals(400, send(http, port, "/batch?start=STANDING&sessions=0").statusCode());
+            assertEquals(400, send(http, port, "/step?position=STANDING&move=nope").statusCode());
+        }
+    }
+
+    @Test
+    void fullQueueRejectsInsteadOfBlocking() {
+        BatchRunner runner = new BatchRunner(INDEX, new SimParams(50), new RandomPolicy(), 200);
+        try (BatchCoalescer coalescer = new BatchCoalescer(2, 1_000_000L, 10_000L, 1)) {
+            List<CompletableFuture<BatchResult>> accepted = new ArrayList<>();
+            int rejected = 0;
+            for (int i = 0; i < 12; i++) {
+                try {
+                    accepted.add(coalescer.submit(runner, Position.STANDING, 100_000, i));
+                } catch (RejectedExecutionException e) {
+                    rejected++;
+                }
+            }
+            assertTrue(rejected > 0);
+            for (CompletableFuture<BatchResult> f : accepted)
+                assertEquals(100_000, f.join().sessions());
+            assertEquals(rejected, coalescer.rejected());
+        }
+    }
+
+    @Test
+    void reloadedCatalogIsServedToNewRequests(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("moves.json");
+        CatalogGenerator.write(CatalogGenerator.generate(300, 1L), file);
+        try (ReloadingCatalog catalog = new ReloadingCatalog(file);
+             SimulationServer server = new SimulationServer(catalog, 100, 1, 8, 100_000L, 1_000_000L);
+             HttpClient http = HttpClient.newHttpClient()) {
+            int port = server.start(new InetSocketAddress("127.0.0.1", 0));
+            ObjectMapper json = new ObjectMapper();
+            assertEquals("synthetic-300-1", json.readTree(send(http, port, "/health").body()).get("catalogVersion").asText());
+
+            CatalogGenerator.write(CatalogGenerator.generate(300, 2L), file);
+            assertTrue(catalog.reload());
+            JsonNode health = json.readTree(send(http, port, "/health").body());
+            assertEquals("synthetic-300-2", health.get("catalogVersion").asText());
+            assertEquals(2, health.get("catalogGeneration").asLong());
+            int expected = catalog.current().index().eligible(Position.OPEN_GUARD_BOTTOM, 0L).size();
+            assertEquals(expected, json.readTree(send(http, port, "/moves?position=OPEN_GUARD_BOTTOM").body()).size());
+        }
+    }
+
+    private static HttpRequest get(int port, String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path)).build();
+    }
+
+    private static HttpResponse<String> send(HttpClient http, int port, String path) throws Exception {
+        return http.send(get(port, path), HttpResponse.BodyHandlers.ofString());
+    }
+}
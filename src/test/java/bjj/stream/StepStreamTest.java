@@ -0,0 +1,131 @@
+package bjj.stream;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.Position;
+import bjj.engine.BatchResult;
+import bjj.engine.BatchRunner;
+import bjj.engine.MoveIndex;
+import bjj.engine.RandomPolicy;
+import bjj.engine.SimParams;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+
+class StepStreamTest {
+    private static final MoveIndex INDEX = new MoveIndex(new JsonMoveCatalog().all());
+
+    @Test
+    void blockingStreamDeliversEverySession() {
+        BatchRunner runner = new BatchRunner(INDEX, new SimParams(55), new RandomPolicy(), 40, 0);
+        BatchResult direct = runner.run(Position.STANDING, 20_000, 5L, 3);
+
+        try (ExecutorService exec = Executors.newFixedThreadPool(2)) {
+            StepStream stream = new StepStream(INDEX, exec, 2, 256, StepStream.Overflow.BLOCK, null);
+            ResultCollector a = new ResultCollector();
+            ResultCollector b = new ResultCollector();
+            stream.subscribe(a);
+            stream.subscribe(b);
+            BatchResult streamed = runner.run(Position.STANDING, 20_000, 5L, 3, stream);
+            stream.close();
+
+            for (ResultCollector c : List.of(a, b)) {
+                BatchResult seen = c.result().join();
+                assertEquals(direct.sessions(), seen.sessions());
+                assertEquals(direct.submissions(), seen.submissions());
+                assertEquals(direct.steps(), seen.steps());
+                assertEquals(direct.analytics().render(), seen.analytics().render());
+            }
+            assertEquals(direct.steps(), streamed.steps());
+            assertEquals(0, stream.droppedBatches());
+        }
+    }
+
+    @Test
+    void stalledSubscriberNeverStallsTheSimulation() throws Exception {
+        BatchRunner runner = new BatchRunner(INDEX, new SimParams(55), new RandomPolicy(), 40, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService exec = Executors.newFixedThreadPool(2)) {
+            for (StepStream.Overflow overflow : List.of(StepStream.Overflow.DROP, StepStream.Overflow.TIMEOUT)) {
+                StepStream stream = new StepStream(INDEX, exec, 1, 128, overflow, Duration.ofMillis(1));
+                ResultCollector fast = new ResultCollector();
+                stream.subscribe(new Flow.Subscriber<StepBatch>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription s) {
+                        s.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(StepBatch batch) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+                stream.subscribe(fast);
+
+                BatchResult result = runner.run(Position.STANDING, 10_000, 9L, 2, stream);
+                assertEquals(10_000, result.sessions());
+                assertTrue(stream.droppedBatches() > 0, overflow.name());
+                assertTrue(stream.droppedSteps() <= stream.droppedBatches() * (128L + 40));
+                stream.close();
+            }
+            release.countDown();
+        }
+    }
+
+    @Test
+    void batchesHoldWholeSessions() {
+        BatchRunner runner = new BatchRunner(INDEX, new SimParams(55), new RandomPolicy(), 40, 0);
+        List<StepBatch> seen = Collections.synchronizedList(new ArrayList<>());
+        try (ExecutorService exec = Executors.newSingleThreadExecutor()) {
+            StepStream stream = new StepStream(INDEX, exec, 8, 100, StepStream.Overflow.BLOCK, null);
+            ResultCollector done = new ResultCollector();
+            stream.subscribe(new Flow.Subscriber<StepBatch>() {
+                @Override
+                public void onSubscribe(Flow.Subscription s) {
+                    s.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(StepBatch batch) {
+                    seen.add(batch);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            stream.subscribe(done);
+            runner.run(Position.STANDING, 3_000, 1L, 1, stream);
+            stream.close();
+            done.result().join();
+        }
+        long next = 0;
+        seen.sort(Comparator.comparingLong(StepBatch::firstSession));
+        for (StepBatch b : seen) {
+            assertEquals(next, b.firstSession());
+            assertNotNull(b.sessionEnd(b.rows() - 1));
+            next += b.sessions();
+        }
+        assertEquals(3_000, next);
+    }
+}
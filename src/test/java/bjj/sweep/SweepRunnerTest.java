@@ -0,0 +1,94 @@
+package bjj.sweep;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.data.MoveCatalog;
+import bjj.domain.Position;
+import bjj.engine.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Path;
+import java.util.*;
+
+class SweepRunnerTest {
+
+    @Test
+    void gridAndHypercubeCoverTheAxes() {
+        SweepSpec spec = new SweepSpec(List.of(SweepAxis.parse("resistance", "0:100:25"),
+                SweepAxis.parse("fatigue", "0,50"), SweepAxis.parse("skill-pass", "80")));
+        List<SimParams> grid = spec.grid();
+        assertEquals(10, grid.size());
+        assertEquals(new HashSet<>(grid).size(), grid.size());
+        assertEquals(Integer.valueOf(80), grid.get(0).skillByFamily().get(bjj.domain.MoveFamily.PASS));
+
+        int n = 20;
+        List<SimParams> lhs = spec.latinHypercube(n, 3L);
+        boolean[] hit = new boolean[n];
+        for (SimParams p : lhs) {
+            assertTrue(p.resistance() >= 0 && p.resistance() <= 100);
+            hit[Math.min(n - 1, (int) (p.resistance() / 100.0 * n))] = true;
+        }
+        int covered = 0;
+        for (boolean h : hit)
+            covered += h ? 1 : 0;
+        assertTrue(covered >= n - 2, "strata covered: " + covered);
+        assertThrows(IllegalArgumentException.class, () -> new SweepSpec(List.of(new SweepAxis("speed", 1))));
+    }
+
+    @Test
+    void replicatesMatchSingleBatchAndCacheSkipsKnownPoints(@TempDir Path dir) {
+        MoveCatalog catalog = new JsonMoveCatalog();
+        MoveIndex index = new MoveIndex(catalog.all());
+        int[] built = new int[1];
+        SweepRunner runner = new SweepRunner(index, catalog.version(), "random", p -> {
+            built[0]++;
+            return new RandomPolicy();
+        }, Position.STANDING, BatchRunner.DEFAULT_MAX_STEPS, 0, new SweepCache(dir));
+
+        List<SimParams> first = new SweepSpec(List.of(new SweepAxis("resistance", 30, 60))).grid();
+        List<SweepPoint> a = runner.run(first, 4_000, 3, 11L, 2, p -> { });
+        assertEquals(2, built[0]);
+        BatchResult direct = new BatchRunner(index, first.get(1), new RandomPolicy(), BatchRunner.DEFAULT_MAX_STEPS)
+                .run(Position.STANDING, 4_000, 11L, 1);
+        assertEquals(direct.submissions(), a.get(1).submissions());
+        assertEquals(direct.steps(), a.get(1).steps());
+        assertEquals(direct.totalTimeMs(), a.get(1).totalTimeMs());
+
+        List<SimParams> grown = new SweepSpec(List.of(new SweepAxis("resistance", 30, 60, 90))).grid();
+        List<SweepPoint> b = runner.run(grown, 4_000, 3, 11L, 2, p -> { });
+        assertEquals(3, built[0]);
+        assertTrue(b.get(0).cached() && b.get(1).cached() && !b.get(2).cached());
+        assertEquals(a.get(0).csvRow().replace("false", "true"), b.get(0).csvRow());
+
+        runner.run(first, 4_000, 3, 12L, 2, p -> { });
+        assertEquals(5, built[0]);
+    }
+
+    @Test
+    void eachPointClosesItsPolicyOnceItFinishes() {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        List<int[]> closes = Collections.synchronizedList(new ArrayList<>());
+        SweepRunner runner = new SweepRunner(index, "v", "random", p -> {
+            int[] closed = new int[1];
+            closes.add(closed);
+            return new MovePolicy() {
+                private final RandomPolicy random = new RandomPolicy();
+
+                @Override
+                public int choose(SessionCursor cursor, bjj.domain.Move[] eligible, java.util.random.RandomGenerator rng) {
+                    return random.choose(cursor, eligible, rng);
+                }
+
+                @Override
+                public void close() {
+                    closed[0]++;
+                }
+            };
+        }, Position.STANDING, BatchRunner.DEFAULT_MAX_STEPS, 0, null);
+
+        runner.run(new SweepSpec(List.of(new SweepAxis("resistance", 20, 50, 80))).grid(), 1_000, 4, 5L, 3, p -> { });
+        assertEquals(3, closes.size());
+        for (int[] closed : closes)
+            assertEquals(1, closed[0]);
+    }
+}
@@ -0,0 +1,99 @@
+package bjj.trace;
+
+import bjj.data.JsonMoveCatalog;
+import bjj.domain.Position;
+import bjj.engine.BatchResult;
+import bjj.engine.BatchRunner;
+import bjj.engine.MoveIndex;
+import bjj.engine.RandomPolicy;
+import bjj.engine.SimParams;
+import bjj.engine.StepRecorder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.Deflater;
+
+class TraceRoundTripTest {
+
+    @Test
+    void replayReproducesRecordedBatch(@TempDir Path dir) {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        BatchRunner runner = new BatchRunner(index, new SimParams(55), new RandomPolicy(), 40, 0);
+        // Tiny blocks so sessions regularly straddle block boundaries.
+        StepRecorder.Factory traces = (from, to) -> new TraceWriter(
+                dir.resolve(String.format("part-%08d-%08d.trace", from, to)), "test", index, 7, Deflater.BEST_SPEED);
+
+        BatchResult recorded = runner.run(Position.STANDING, 5_000, 42L, 3, traces);
+        BatchResult replayed = TraceReader.replayAll(dir, 2);
+
+        assertEquals(recorded.sessions(), replayed.sessions());
+        assertEquals(recorded.submissions(), replayed.submissions());
+        assertEquals(recorded.stalls(), replayed.stalls());
+        assertEquals(recorded.capped(), replayed.capped());
+        assertEquals(recorded.steps(), replayed.steps());
+        assertEquals(recorded.totalTimeMs(), replayed.totalTimeMs());
+        assertEquals(recorded.analytics().render(), replayed.analytics().render());
+    }
+
+    @Test
+    void headerCarriesCatalogIdentity(@TempDir Path dir) throws IOException {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        Path file = dir.resolve("one.trace");
+        new TraceWriter(file, "v-test", index).close();
+
+        try (TraceReader reader = new TraceReader(file)) {
+            assertEquals("v-test", reader.catalogVersion());
+            assertEquals(index.size(), reader.moveCount());
+            assertEquals(index.move(3).id(), reader.moveId(3));
+            assertEquals(index.move(3).family(), reader.moveFamily(3));
+            assertEquals(0, reader.replay().sessions());
+        }
+    }
+
+    @Test
+    void corruptBlockIsRejected(@TempDir Path dir) throws IOException {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        BatchRunner runner = new BatchRunner(index, new SimParams(55), new RandomPolicy(), 40, 0);
+        Path file = dir.resolve("one.trace");
+        runner.run(Position.STANDING, 200, 7L, 1, (from, to) -> new TraceWriter(file, "test", index));
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long at = ch.size() - 2;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            ch.read(b, at);
+            b.put(0, (byte) (b.get(0) ^ 0x5A)).rewind();
+            ch.write(b, at);
+        }
+        try (TraceReader reader = new TraceReader(file)) {
+            assertThrows(IllegalStateException.class, reader::replay);
+        }
+    }
+
+    @Test
+    void truncatedBlockIsRejected(@TempDir Path dir) throws IOException {
+        MoveIndex index = new MoveIndex(new JsonMoveCatalog().all());
+        BatchRunner runner = new BatchRunner(index, new SimParams(55), new RandomPolicy(), 40, 0);
+        Path file = dir.resolve("one.trace");
+        runner.run(Position.STANDING, 200, 7L, 1, (from, to) -> new TraceWriter(file, "test", index));
+
+        // Halve the first block's compressed length so the deflate stream ends early.
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(Integer.BYTES);
+            ch.read(b, 8);
+            long packedAt = b.getInt(0) + 8L;
+            ch.read(b.clear(), packedAt);
+            b.putInt(0, b.getInt(0) / 2).rewind();
+            ch.write(b, packedAt);
+        }
+        try (TraceReader reader = new TraceReader(file)) {
+            IllegalStateException e = assertThrows(IllegalStateException.class, reader::replay);
+            assertTrue(e.getMessage().startsWith("corrupt trace block"), e.getMessage());
+        }
+    }
+}